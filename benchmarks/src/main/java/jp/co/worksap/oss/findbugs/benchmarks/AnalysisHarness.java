@@ -0,0 +1,44 @@
+package jp.co.worksap.oss.findbugs.benchmarks;
+
+import java.io.File;
+import java.net.URL;
+
+import javax.annotation.Nonnull;
+
+import jp.co.worksap.oss.findbugs.corpus.AnalysisSetup;
+import jp.co.worksap.oss.findbugs.jpa.JpaDetector;
+
+import edu.umd.cs.findbugs.BugReporter;
+import edu.umd.cs.findbugs.Plugin;
+import edu.umd.cs.findbugs.PluginException;
+
+/**
+ * <p>Prepares FindBugs for current thread, and loads this plugin to register bug patterns which detectors report.
+ * Call it in the thread which runs benchmark.</p>
+ *
+ * @author Kengo TODA
+ * @see AnalysisSetup
+ */
+final class AnalysisHarness {
+    private static boolean pluginLoaded;
+
+    private AnalysisHarness() {
+    }
+
+    /**
+     * @param codeBases JAR files to analyze in addition to classpath, like generated corpus
+     */
+    static void setUp(@Nonnull BugReporter bugReporter, @Nonnull File... codeBases) throws Exception {
+        loadPlugin();
+        AnalysisSetup.setUpCurrentThread(bugReporter, codeBases);
+    }
+
+    private static synchronized void loadPlugin() throws PluginException {
+        if (pluginLoaded) {
+            return;
+        }
+        URL pluginJar = JpaDetector.class.getProtectionDomain().getCodeSource().getLocation();
+        Plugin.addCustomPlugin(pluginJar);
+        pluginLoaded = true;
+    }
+}
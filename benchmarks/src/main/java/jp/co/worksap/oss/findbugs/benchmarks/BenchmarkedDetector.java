@@ -0,0 +1,138 @@
+package jp.co.worksap.oss.findbugs.benchmarks;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+
+import jp.co.worksap.oss.findbugs.ForbiddenSystemClass;
+import jp.co.worksap.oss.findbugs.findbugs.UndocumentedSuppressFBWarningsDetector;
+import jp.co.worksap.oss.findbugs.guava.UnexpectedAccessDetector;
+import jp.co.worksap.oss.findbugs.guava.VisibleForTestingPackageCollector;
+import jp.co.worksap.oss.findbugs.jpa.ColumnDefinitionDetector;
+import jp.co.worksap.oss.findbugs.jpa.ImplicitLengthDetector;
+import jp.co.worksap.oss.findbugs.jpa.ImplicitNullnessDetector;
+import jp.co.worksap.oss.findbugs.jpa.JpaDetector;
+import jp.co.worksap.oss.findbugs.jpa.LongColumnNameDetector;
+import jp.co.worksap.oss.findbugs.jpa.LongIndexNameDetector;
+import jp.co.worksap.oss.findbugs.jpa.LongTableNameDetector;
+import jp.co.worksap.oss.findbugs.jpa.NullablePrimitiveDetector;
+import jp.co.worksap.oss.findbugs.jsr305.BrokenImmutableClassDetector;
+import jp.co.worksap.oss.findbugs.jsr305.nullness.UnknownNullnessDetector;
+import jp.co.worksap.oss.findbugs.junit.UndocumentedIgnoreDetector;
+
+import edu.umd.cs.findbugs.BugReporter;
+import edu.umd.cs.findbugs.Detector;
+
+/**
+ * <p>Detectors in this plugin, and corpus which each of them visits in benchmark.</p>
+ *
+ * @author Kengo TODA
+ */
+public enum BenchmarkedDetector {
+    JPA(Corpus.ENTITIES) {
+        @Override
+        Detector create(BugReporter bugReporter) {
+            return new JpaDetector(bugReporter);
+        }
+    },
+    COLUMN_DEFINITION(Corpus.ENTITIES) {
+        @Override
+        Detector create(BugReporter bugReporter) {
+            return new ColumnDefinitionDetector(bugReporter);
+        }
+    },
+    IMPLICIT_LENGTH(Corpus.ENTITIES) {
+        @Override
+        Detector create(BugReporter bugReporter) {
+            return new ImplicitLengthDetector(bugReporter);
+        }
+    },
+    IMPLICIT_NULLNESS(Corpus.ENTITIES) {
+        @Override
+        Detector create(BugReporter bugReporter) {
+            return new ImplicitNullnessDetector(bugReporter);
+        }
+    },
+    LONG_COLUMN_NAME(Corpus.GETTER_ENTITIES) {
+        @Override
+        Detector create(BugReporter bugReporter) {
+            return new LongColumnNameDetector(bugReporter);
+        }
+    },
+    LONG_INDEX_NAME(Corpus.INDEXED_ENTITIES) {
+        @Override
+        Detector create(BugReporter bugReporter) {
+            return new LongIndexNameDetector(bugReporter);
+        }
+    },
+    LONG_TABLE_NAME(Corpus.ENTITIES) {
+        @Override
+        Detector create(BugReporter bugReporter) {
+            return new LongTableNameDetector(bugReporter);
+        }
+    },
+    NULLABLE_PRIMITIVE(Corpus.ENTITIES) {
+        @Override
+        Detector create(BugReporter bugReporter) {
+            return new NullablePrimitiveDetector(bugReporter);
+        }
+    },
+    BROKEN_IMMUTABLE_CLASS(Corpus.IMMUTABLES) {
+        @Override
+        Detector create(BugReporter bugReporter) {
+            return new BrokenImmutableClassDetector(bugReporter);
+        }
+    },
+    UNKNOWN_NULLNESS(Corpus.APIS) {
+        @Override
+        Detector create(BugReporter bugReporter) {
+            return new UnknownNullnessDetector(bugReporter);
+        }
+    },
+    UNDOCUMENTED_IGNORE(Corpus.IGNORED_TESTS) {
+        @Override
+        Detector create(BugReporter bugReporter) {
+            return new UndocumentedIgnoreDetector(bugReporter);
+        }
+    },
+    UNDOCUMENTED_SUPPRESS_FB_WARNINGS(Corpus.SUPPRESSIONS) {
+        @Override
+        Detector create(BugReporter bugReporter) {
+            return new UndocumentedSuppressFBWarningsDetector(bugReporter);
+        }
+    },
+    VISIBLE_FOR_TESTING_PACKAGE_COLLECTOR(Corpus.INVOCATIONS) {
+        @Override
+        Detector create(BugReporter bugReporter) {
+            return new VisibleForTestingPackageCollector(bugReporter);
+        }
+    },
+    UNEXPECTED_ACCESS(Corpus.INVOCATIONS) {
+        @Override
+        Detector create(BugReporter bugReporter) {
+            return new UnexpectedAccessDetector(bugReporter);
+        }
+    },
+    FORBIDDEN_SYSTEM(Corpus.SYSTEM_USERS) {
+        @Override
+        Detector create(BugReporter bugReporter) {
+            return new ForbiddenSystemClass(bugReporter);
+        }
+    };
+
+    @Nonnull
+    private final Corpus corpus;
+
+    private BenchmarkedDetector(@Nonnull Corpus corpus) {
+        this.corpus = corpus;
+    }
+
+    @Nonnull
+    @CheckReturnValue
+    Corpus getCorpus() {
+        return corpus;
+    }
+
+    @Nonnull
+    @CheckReturnValue
+    abstract Detector create(@Nonnull BugReporter bugReporter);
+}
@@ -0,0 +1,94 @@
+package jp.co.worksap.oss.findbugs.benchmarks;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+
+import edu.umd.cs.findbugs.classfile.ClassDescriptor;
+import edu.umd.cs.findbugs.classfile.DescriptorFactory;
+
+/**
+ * <p>Classes which benchmarks visit. They are fixtures of plugin tests, which are in test JAR of plugin.</p>
+ *
+ * @author Kengo TODA
+ */
+enum Corpus {
+    /**
+     * entities which have JPA annotations on fields and getters.
+     */
+    ENTITIES("jpa.ColumnWithLength", "jpa.ColumnWithLongLengthAndLob", "jpa.ColumnWithNegativeLength",
+            "jpa.ColumnWithNullable", "jpa.ColumnWithTooLongLength", "jpa.ColumnWithoutElement",
+            "jpa.GetterWithLongLengthAndLob", "jpa.GetterWithTooLongLength", "jpa.GetterWithoutElement",
+            "jpa.LongColumnName", "jpa.LongColumnNameByAnnotatedMethod", "jpa.LongColumnNameWithoutAnnotationParameter",
+            "jpa.LongIndexNameForHibernate", "jpa.LongIndexNameForOpenJPA", "jpa.LongTableName",
+            "jpa.LongTableNameWithoutAnnotationParameter", "jpa.NonNullablePrimitiveColumn", "jpa.NullableBooleanColumn",
+            "jpa.NullableBooleanGetter", "jpa.NullableByteColumn", "jpa.NullableDoubleColumn", "jpa.NullableFloatColumn",
+            "jpa.NullableIntColumn", "jpa.NullableLongColumn", "jpa.NullableShortColumn", "jpa.ShortColumnName",
+            "jpa.ShortColumnNameWithoutAnnotationParameter", "jpa.ShortIndexNameForHibernate",
+            "jpa.ShortIndexNameForOpenJPA", "jpa.ShortTableName", "jpa.ShortTableNameNoAnnotationPara",
+            "jpa.UseColumnDefinition"),
+    /**
+     * entities which have JPA annotations on getters.
+     */
+    GETTER_ENTITIES("jpa.GetterWithLongLengthAndLob", "jpa.GetterWithTooLongLength", "jpa.GetterWithoutElement",
+            "jpa.LongColumnNameByAnnotatedMethod", "jpa.NullableBooleanGetter"),
+    /**
+     * entities which have {@code @Index} of Hibernate and OpenJPA.
+     */
+    INDEXED_ENTITIES("jpa.LongIndexNameForHibernate", "jpa.LongIndexNameForOpenJPA",
+            "jpa.ShortIndexNameForHibernate", "jpa.ShortIndexNameForOpenJPA"),
+    /**
+     * classes which invoke methods in the same package, including {@code @VisibleForTesting} ones.
+     */
+    INVOCATIONS("guava.ClassWhichCallsInheritedVisibleMethodForTesting", "guava.ClassWhichCallsNormalMethod",
+            "guava.ClassWhichCallsOverriddenMethod", "guava.ClassWhichCallsPublicVisibleMethodForTesting",
+            "guava.ClassWhichCallsStaticVisibleMethodForTesting", "guava.ClassWhichCallsVisibleMethodForTesting",
+            "guava.InheritedMethodWithVisibleForTesting", "guava.MethodWithVisibleForTesting",
+            "guava.MethodWithoutVisibleForTesting", "guava.OverriddenMethodWithoutVisibleForTesting"),
+    /**
+     * classes which declare methods with and without nullness annotations.
+     */
+    APIS("jsr305.nullness.AnnotatedArgument", "jsr305.nullness.AnnotatedClass", "jsr305.nullness.AnnotatedMethod",
+            "jsr305.nullness.AnnotatedReturnValue", "jsr305.nullness.NoAnnotation", "jsr305.nullness.PrimitiveArgument",
+            "jsr305.nullness.UnannotatedReturnValue", "jsr305.nullness.annotatedpackage.AnnotatedPackage"),
+    /**
+     * classes annotated by {@code @Immutable}.
+     */
+    IMMUTABLES("jsr305.ExtendsMutableClass", "jsr305.MutableClass"),
+    /**
+     * classes annotated by {@code @SuppressFBWarnings} and {@code @SuppressWarnings}.
+     */
+    SUPPRESSIONS("findbugs.DocumentedSuppressFBWarnings", "findbugs.DocumentedSuppressWarnings",
+            "findbugs.UndocumentedSuppressFBWarnings", "findbugs.UndocumentedSuppressWarnings"),
+    /**
+     * tests which have {@code @Ignore}.
+     */
+    IGNORED_TESTS("junit.IgnoreClassWithEmptyExplanation", "junit.IgnoreClassWithExplanation",
+            "junit.IgnoreClassWithoutExplanation", "junit.IgnoreMethodWithEmptyExplanation",
+            "junit.IgnoreMethodWithExplanation", "junit.IgnoreMethodWithoutExplanation"),
+    /**
+     * classes which refer {@code System}.
+     */
+    SYSTEM_USERS("UseSystemErr", "UseSystemNanoTime", "UseSystemOut");
+
+    private static final String PACKAGE = "jp.co.worksap.oss.findbugs.";
+
+    @Nonnull
+    private final String[] classNames;
+
+    private Corpus(@Nonnull String... classNames) {
+        this.classNames = classNames;
+    }
+
+    /**
+     * @return new array of classes in this corpus
+     */
+    @Nonnull
+    @CheckReturnValue
+    ClassDescriptor[] getDescriptors() {
+        ClassDescriptor[] descriptors = new ClassDescriptor[classNames.length];
+        for (int i = 0; i < classNames.length; ++i) {
+            descriptors[i] = DescriptorFactory.createClassDescriptorFromDottedClassName(PACKAGE + classNames[i]);
+        }
+        return descriptors;
+    }
+}
@@ -0,0 +1,71 @@
+package jp.co.worksap.oss.findbugs.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import jp.co.worksap.oss.findbugs.corpus.CountingBugReporter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.umd.cs.findbugs.Detector2;
+import edu.umd.cs.findbugs.DetectorToDetector2Adapter;
+import edu.umd.cs.findbugs.classfile.CheckedAnalysisException;
+import edu.umd.cs.findbugs.classfile.ClassDescriptor;
+
+/**
+ * <p>Measures how many classes each detector visits per second. One operation is one visit of a class,
+ * so {@code gc.alloc.rate.norm} of {@code -prof gc} means allocated bytes per class.</p>
+ * <p>Classes in corpus are loaded and parsed by FindBugs in setup, so it measures detector and analysis
+ * which detector requests, not I/O.</p>
+ *
+ * @author Kengo TODA
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DetectorBenchmark {
+    @Param({ "JPA", "COLUMN_DEFINITION", "IMPLICIT_LENGTH", "IMPLICIT_NULLNESS", "LONG_COLUMN_NAME",
+            "LONG_INDEX_NAME", "LONG_TABLE_NAME", "NULLABLE_PRIMITIVE", "BROKEN_IMMUTABLE_CLASS", "UNKNOWN_NULLNESS",
+            "UNDOCUMENTED_IGNORE", "UNDOCUMENTED_SUPPRESS_FB_WARNINGS", "VISIBLE_FOR_TESTING_PACKAGE_COLLECTOR",
+            "UNEXPECTED_ACCESS", "FORBIDDEN_SYSTEM" })
+    public BenchmarkedDetector detector;
+
+    private Detector2 visitor;
+    private ClassDescriptor[] corpus;
+    private int next;
+
+    @Setup
+    public void setUp() throws Exception {
+        CountingBugReporter bugReporter = new CountingBugReporter();
+        AnalysisHarness.setUp(bugReporter);
+        visitor = new DetectorToDetector2Adapter(detector.create(bugReporter));
+        corpus = detector.getCorpus().getDescriptors();
+        for (ClassDescriptor descriptor : corpus) {
+            visitor.visitClass(descriptor);
+        }
+    }
+
+    @Benchmark
+    public void visitClass() throws CheckedAnalysisException {
+        visitor.visitClass(corpus[next]);
+        next = (next + 1) % corpus.length;
+    }
+
+    @TearDown
+    public void tearDown() {
+        visitor.finishPass();
+    }
+}
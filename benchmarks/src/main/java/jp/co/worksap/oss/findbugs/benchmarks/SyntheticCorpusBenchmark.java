@@ -0,0 +1,91 @@
+package jp.co.worksap.oss.findbugs.benchmarks;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import jp.co.worksap.oss.findbugs.corpus.CountingBugReporter;
+import jp.co.worksap.oss.findbugs.corpus.SyntheticCorpus;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.umd.cs.findbugs.Detector2;
+import edu.umd.cs.findbugs.DetectorToDetector2Adapter;
+import edu.umd.cs.findbugs.classfile.CheckedAnalysisException;
+import edu.umd.cs.findbugs.classfile.ClassDescriptor;
+import edu.umd.cs.findbugs.classfile.DescriptorFactory;
+
+/**
+ * <p>Measures how many classes each detector visits per second, over {@link SyntheticCorpus} which has
+ * every kind of classes. Unlike {@link DetectorBenchmark}, most of visited classes are not target of detector,
+ * so it also measures how fast detector skips them.</p>
+ *
+ * @author Kengo TODA
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SyntheticCorpusBenchmark {
+    @Param({ "JPA", "BROKEN_IMMUTABLE_CLASS", "UNKNOWN_NULLNESS", "UNDOCUMENTED_IGNORE",
+            "UNDOCUMENTED_SUPPRESS_FB_WARNINGS", "VISIBLE_FOR_TESTING_PACKAGE_COLLECTOR", "UNEXPECTED_ACCESS",
+            "FORBIDDEN_SYSTEM" })
+    public BenchmarkedDetector detector;
+    /**
+     * number of classes or hierarchies for each kind.
+     */
+    @Param("1000")
+    public int size;
+    @Param("42")
+    public long seed;
+
+    private File jar;
+    private Detector2 visitor;
+    private ClassDescriptor[] corpus;
+    private int next;
+
+    @Setup
+    public void setUp() throws Exception {
+        SyntheticCorpus generated = SyntheticCorpus.ofEveryKind(seed, size);
+        jar = File.createTempFile("synthetic", ".jar");
+        generated.writeJar(jar);
+
+        CountingBugReporter bugReporter = new CountingBugReporter();
+        AnalysisHarness.setUp(bugReporter, jar);
+        visitor = new DetectorToDetector2Adapter(detector.create(bugReporter));
+        corpus = new ClassDescriptor[generated.getClasses().size()];
+        int i = 0;
+        for (String className : generated.getClasses().keySet()) {
+            corpus[i++] = DescriptorFactory.createClassDescriptor(className);
+        }
+        for (ClassDescriptor descriptor : corpus) {
+            visitor.visitClass(descriptor);
+        }
+    }
+
+    @Benchmark
+    public void visitClass() throws CheckedAnalysisException {
+        visitor.visitClass(corpus[next]);
+        next = (next + 1) % corpus.length;
+    }
+
+    @TearDown
+    public void tearDown() {
+        visitor.finishPass();
+        if (!jar.delete()) {
+            jar.deleteOnExit();
+        }
+    }
+}
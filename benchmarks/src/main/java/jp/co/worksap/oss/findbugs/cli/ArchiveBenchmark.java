@@ -0,0 +1,130 @@
+package jp.co.worksap.oss.findbugs.cli;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import jp.co.worksap.oss.findbugs.corpus.SyntheticCorpus;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>Measures how many class files command line runner reads from jar per second, by {@link MappedJarArchive}
+ * and by {@link JarArchive} which uses {@link java.util.zip.ZipFile}. It is in package of runner to access its
+ * archives, run it with {@code -t} option to see how they scale when threads share one jar.</p>
+ *
+ * @author Kengo TODA
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArchiveBenchmark {
+    public enum Reader {
+        JAR_FILE {
+            @Override
+            Archive open(File jar) {
+                return new JarArchive(jar);
+            }
+        },
+        MAPPED {
+            @Override
+            Archive open(File jar) throws IOException {
+                return MappedJarArchive.open(jar);
+            }
+        };
+
+        abstract Archive open(File jar) throws IOException;
+    }
+
+    @Param({ "JAR_FILE", "MAPPED" })
+    public Reader reader;
+    @Param({ "DEFLATED", "STORED" })
+    public String compression;
+    /**
+     * number of classes or hierarchies for each kind.
+     */
+    @Param("1000")
+    public int size;
+    @Param("42")
+    public long seed;
+
+    private File jar;
+    private Archive archive;
+    private String[] classNames;
+
+    @Setup
+    public void setUp() throws IOException {
+        jar = File.createTempFile("synthetic", ".jar");
+        write(SyntheticCorpus.ofEveryKind(seed, size).getClasses(), "STORED".equals(compression) ? ZipEntry.STORED : ZipEntry.DEFLATED);
+        archive = reader.open(jar);
+        List<String> listed = archive.listClasses();
+        classNames = listed.toArray(new String[listed.size()]);
+    }
+
+    @Benchmark
+    public byte[] read(Cursor cursor) throws IOException {
+        return archive.read(classNames[cursor.next(classNames.length)]);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        archive.close();
+        if (!jar.delete()) {
+            jar.deleteOnExit();
+        }
+    }
+
+    /**
+     * <p>Position of each thread, so threads read different entries at the same time.</p>
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next = (int) Thread.currentThread().getId();
+
+        int next(int length) {
+            next = (next + 1) % length;
+            return next;
+        }
+    }
+
+    /**
+     * <p>{@link SyntheticCorpus#writeJar(File)} deflates all entries, so we write jar by ourselves to store them.</p>
+     */
+    private void write(Map<String, byte[]> classes, int method) throws IOException {
+        try (ZipOutputStream output = new ZipOutputStream(new FileOutputStream(jar))) {
+            for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+                ZipEntry zipEntry = new ZipEntry(entry.getKey() + ".class");
+                zipEntry.setMethod(method);
+                if (method == ZipEntry.STORED) {
+                    CRC32 crc = new CRC32();
+                    crc.update(entry.getValue());
+                    zipEntry.setSize(entry.getValue().length);
+                    zipEntry.setCrc(crc.getValue());
+                }
+                output.putNextEntry(zipEntry);
+                output.write(entry.getValue());
+                output.closeEntry();
+            }
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package jp.co.worksap.oss.findbugs.benchmarks.generated;
+public class DetectorBenchmark_jmhType extends DetectorBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package jp.co.worksap.oss.findbugs.benchmarks.generated;
+public class SyntheticCorpusBenchmark_jmhType extends SyntheticCorpusBenchmark_jmhType_B3 {
+}
+
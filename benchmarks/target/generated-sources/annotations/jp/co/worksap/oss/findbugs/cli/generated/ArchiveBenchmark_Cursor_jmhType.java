@@ -0,0 +1,4 @@
+package jp.co.worksap.oss.findbugs.cli.generated;
+public class ArchiveBenchmark_Cursor_jmhType extends ArchiveBenchmark_Cursor_jmhType_B3 {
+}
+
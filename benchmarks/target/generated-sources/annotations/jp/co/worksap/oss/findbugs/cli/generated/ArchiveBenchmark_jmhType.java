@@ -0,0 +1,4 @@
+package jp.co.worksap.oss.findbugs.cli.generated;
+public class ArchiveBenchmark_jmhType extends ArchiveBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,76 @@
+package jp.co.worksap.oss.findbugs.cli;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+import javax.annotation.Nonnull;
+
+import jp.co.worksap.oss.findbugs.rules.ClassHierarchies;
+import jp.co.worksap.oss.findbugs.rules.ClassHierarchy;
+import jp.co.worksap.oss.findbugs.rules.Rule;
+
+/**
+ * <p>Verifies a range of classes. Task splits its range into halves until it gets small enough,
+ * so idle thread in fork/join pool steals the other half from busy thread, even when
+ * some archives have much more classes or some classes take more time than others.</p>
+ *
+ * @author Kengo TODA
+ */
+final class AnalysisTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    /**
+     * Verification of one class takes only some micro seconds, so we verify some classes
+     * in one task to reduce overhead of forking.
+     */
+    private static final int THRESHOLD = 32;
+
+    @Nonnull
+    private final Rule rule;
+    @Nonnull
+    private final ClassHierarchies hierarchies;
+    @Nonnull
+    private final List<String> classNames;
+    @Nonnull
+    private final Report report;
+
+    /**
+     * @param classNames names of classes to verify, which list should not be modified while task runs
+     */
+    AnalysisTask(@Nonnull Rule rule, @Nonnull ClassHierarchies hierarchies, @Nonnull List<String> classNames, @Nonnull Report report) {
+        this.rule = checkNotNull(rule);
+        this.hierarchies = checkNotNull(hierarchies);
+        this.classNames = checkNotNull(classNames);
+        this.report = checkNotNull(report);
+    }
+
+    @Override
+    protected void compute() {
+        int size = classNames.size();
+        if (size > THRESHOLD) {
+            int middle = size / 2;
+            invokeAll(new AnalysisTask(rule, hierarchies, classNames.subList(0, middle), report),
+                    new AnalysisTask(rule, hierarchies, classNames.subList(middle, size), report));
+            return;
+        }
+        for (String className : classNames) {
+            verify(className);
+        }
+    }
+
+    /**
+     * <p>Broken class is reported as error, and we continue to verify other classes.</p>
+     */
+    private void verify(@Nonnull String className) {
+        try {
+            ClassHierarchy hierarchy = hierarchies.get(className);
+            if (hierarchy != null) {
+                rule.verify(hierarchy, report);
+            }
+        } catch (IOException | RuntimeException e) {
+            report.reportError(className, e);
+        }
+    }
+}
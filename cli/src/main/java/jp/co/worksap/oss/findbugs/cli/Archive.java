@@ -0,0 +1,35 @@
+package jp.co.worksap.oss.findbugs.cli;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * <p>Jar file or directory which contains class files. Threads in fork/join pool read classes
+ * from the same archive at once, so implementation should not block them each other.</p>
+ *
+ * @author Kengo TODA
+ * @see ClassPath
+ */
+@ThreadSafe
+interface Archive extends Closeable {
+    /**
+     * @return names of class files in this archive, like {@code java/lang/String}
+     */
+    @Nonnull
+    @CheckReturnValue
+    List<String> listClasses() throws IOException;
+
+    /**
+     * @param className name of class like {@code java/lang/String}
+     * @return content of class file, or {@code null} if this archive does not have it
+     */
+    @CheckForNull
+    @CheckReturnValue
+    byte[] read(@Nonnull String className) throws IOException;
+}
@@ -0,0 +1,119 @@
+package jp.co.worksap.oss.findbugs.cli;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+/**
+ * <p>Category and description of bug types, which are read from {@code findbugs.xml} and
+ * {@code messages.xml} in plugin jar. So this runner reports the same text as FindBugs does.</p>
+ *
+ * @author Kengo TODA
+ */
+@Immutable
+final class BugPatterns {
+    @Nonnull
+    private final Map<String, String> categories;
+    @Nonnull
+    private final Map<String, String> descriptions;
+
+    private BugPatterns(@Nonnull Map<String, String> categories, @Nonnull Map<String, String> descriptions) {
+        this.categories = ImmutableMap.copyOf(categories);
+        this.descriptions = ImmutableMap.copyOf(descriptions);
+    }
+
+    /**
+     * @return bug patterns which are defined in plugin jar in class path of specified loader
+     */
+    @Nonnull
+    @CheckReturnValue
+    static BugPatterns load(@Nonnull ClassLoader loader) throws IOException {
+        Map<String, String> categories = Maps.newHashMap();
+        Map<String, String> descriptions = Maps.newHashMap();
+        for (Element pattern : read(loader, "findbugs.xml")) {
+            put(categories, pattern.getAttribute("type"), pattern.getAttribute("category"));
+        }
+        for (Element pattern : read(loader, "messages.xml")) {
+            NodeList shortDescription = pattern.getElementsByTagName("ShortDescription");
+            if (shortDescription.getLength() > 0) {
+                put(descriptions, pattern.getAttribute("type"),
+                        shortDescription.item(0).getTextContent().trim().replaceAll("\\s+", " "));
+            }
+        }
+        return new BugPatterns(categories, descriptions);
+    }
+
+    /**
+     * @return category like {@code CORRECTNESS}, or {@code null} if type is not defined
+     */
+    @CheckForNull
+    @CheckReturnValue
+    String getCategory(@Nonnull String type) {
+        return categories.get(type);
+    }
+
+    /**
+     * @return short description, or {@code null} if type is not defined
+     */
+    @CheckForNull
+    @CheckReturnValue
+    String getDescription(@Nonnull String type) {
+        return descriptions.get(type);
+    }
+
+    /**
+     * <p>The first definition wins, like the first class wins in class path.</p>
+     */
+    private static void put(@Nonnull Map<String, String> map, @Nonnull String type, @Nonnull String value) {
+        if (!type.isEmpty() && !map.containsKey(type)) {
+            map.put(type, value);
+        }
+    }
+
+    /**
+     * @return {@code BugPattern} elements in all resources which have specified name
+     */
+    @Nonnull
+    private static Iterable<Element> read(@Nonnull ClassLoader loader, @Nonnull String resourceName) throws IOException {
+        DocumentBuilder builder;
+        try {
+            builder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+        } catch (ParserConfigurationException e) {
+            throw new IllegalStateException(e);
+        }
+        List<Element> patterns = Lists.newArrayList();
+        for (Enumeration<URL> resources = loader.getResources(resourceName); resources.hasMoreElements();) {
+            Document document;
+            try (InputStream input = resources.nextElement().openStream()) {
+                document = builder.parse(input);
+            } catch (SAXException e) {
+                throw new IOException("Cannot parse " + resourceName, e);
+            }
+            NodeList nodes = document.getElementsByTagName("BugPattern");
+            for (int i = 0; i < nodes.getLength(); ++i) {
+                patterns.add((Element) nodes.item(i));
+            }
+        }
+        return patterns;
+    }
+}
@@ -0,0 +1,125 @@
+package jp.co.worksap.oss.findbugs.cli;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+
+import jp.co.worksap.oss.findbugs.rules.ClassFileLoader;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.io.ByteStreams;
+
+/**
+ * <p>Classes to analyze, and libraries which they depend on. Like class path of JVM,
+ * the first archive wins when some archives have the same class.</p>
+ * <p>Library classes are loaded only to walk hierarchy of analyzed classes. JDK classes
+ * are always available, but classes of this runner itself are not.</p>
+ *
+ * @author Kengo TODA
+ */
+@ThreadSafe
+final class ClassPath implements ClassFileLoader, Closeable {
+    @Nonnull
+    private final List<Archive> archives;
+    /**
+     * key is name of class to analyze like {@code java/lang/String}, in order of input.
+     */
+    @Nonnull
+    private final Map<String, Archive> index;
+    @Nonnull
+    private final URLClassLoader libraries;
+
+    private ClassPath(@Nonnull List<Archive> archives, @Nonnull Map<String, Archive> index, @Nonnull URLClassLoader libraries) {
+        this.archives = ImmutableList.copyOf(archives);
+        this.index = ImmutableMap.copyOf(index);
+        this.libraries = checkNotNull(libraries);
+    }
+
+    /**
+     * @param inputs jar files and directories which have classes to analyze
+     * @param auxClassPath jar files and directories which have libraries
+     */
+    @Nonnull
+    @CheckReturnValue
+    static ClassPath open(@Nonnull List<File> inputs, @Nonnull List<File> auxClassPath) throws IOException {
+        List<Archive> archives = Lists.newArrayList();
+        Map<String, Archive> index = Maps.newLinkedHashMap();
+        for (File input : inputs) {
+            Archive archive = input.isDirectory() ? new DirectoryArchive(input.toPath()) : openJar(input);
+            archives.add(archive);
+            for (String className : archive.listClasses()) {
+                if (!index.containsKey(className)) {
+                    index.put(className, archive);
+                }
+            }
+        }
+        URL[] urls = new URL[auxClassPath.size()];
+        for (int i = 0; i < urls.length; ++i) {
+            urls[i] = auxClassPath.get(i).toURI().toURL();
+        }
+        return new ClassPath(archives, index, new URLClassLoader(urls, null));
+    }
+
+    /**
+     * @return names of classes to analyze like {@code java/lang/String}, in order of input
+     */
+    @Nonnull
+    @CheckReturnValue
+    List<String> getClassNames() {
+        return ImmutableList.copyOf(index.keySet());
+    }
+
+    @Override
+    @CheckForNull
+    public byte[] load(@Nonnull String className) throws IOException {
+        Archive archive = index.get(className);
+        if (archive != null) {
+            return archive.read(className);
+        }
+        InputStream input = libraries.getResourceAsStream(className + ".class");
+        if (input == null) {
+            return null;
+        }
+        try {
+            return ByteStreams.toByteArray(input);
+        } finally {
+            input.close();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Archive archive : archives) {
+            archive.close();
+        }
+        libraries.close();
+    }
+
+    /**
+     * <p>Jar file is mapped into memory if possible, otherwise we read it by {@link java.util.zip.ZipFile}
+     * which supports more formats like ZIP64.</p>
+     */
+    @Nonnull
+    private static Archive openJar(@Nonnull File jar) {
+        try {
+            return MappedJarArchive.open(jar);
+        } catch (IOException e) {
+            return new JarArchive(jar);
+        }
+    }
+}
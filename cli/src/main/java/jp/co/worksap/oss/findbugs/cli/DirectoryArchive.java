@@ -0,0 +1,67 @@
+package jp.co.worksap.oss.findbugs.cli;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+import com.google.common.collect.Lists;
+
+/**
+ * <p>Directory which has class files in package directories, like {@code target/classes}.</p>
+ *
+ * @author Kengo TODA
+ */
+@Immutable
+final class DirectoryArchive implements Archive {
+    private static final String CLASS_FILE_EXTENSION = ".class";
+
+    @Nonnull
+    private final Path directory;
+
+    DirectoryArchive(@Nonnull Path directory) {
+        this.directory = checkNotNull(directory);
+    }
+
+    @Override
+    @Nonnull
+    public List<String> listClasses() throws IOException {
+        final List<String> classNames = Lists.newArrayList();
+        Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                String path = directory.relativize(file).toString().replace('\\', '/');
+                if (path.endsWith(CLASS_FILE_EXTENSION)) {
+                    classNames.add(path.substring(0, path.length() - CLASS_FILE_EXTENSION.length()));
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return classNames;
+    }
+
+    @Override
+    @CheckForNull
+    public byte[] read(@Nonnull String className) throws IOException {
+        try {
+            return Files.readAllBytes(directory.resolve(className + CLASS_FILE_EXTENSION));
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void close() {
+        // nothing to release
+    }
+}
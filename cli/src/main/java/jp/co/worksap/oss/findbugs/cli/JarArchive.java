@@ -0,0 +1,102 @@
+package jp.co.worksap.oss.findbugs.cli;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.google.common.collect.Lists;
+import com.google.common.io.ByteStreams;
+
+/**
+ * <p>Jar file which has class files. {@link ZipFile} synchronizes reading of entries,
+ * so each thread opens its own {@link ZipFile} to read entries in parallel.</p>
+ * <p>Runner uses this class only for jar file which {@link MappedJarArchive} does not support.</p>
+ *
+ * @author Kengo TODA
+ */
+@ThreadSafe
+final class JarArchive implements Archive {
+    private static final String CLASS_FILE_EXTENSION = ".class";
+
+    @Nonnull
+    private final File file;
+    private final ThreadLocal<ZipFile> zipFile = new ThreadLocal<ZipFile>();
+    /**
+     * all {@link ZipFile} which threads opened, to close them at once.
+     */
+    private final Queue<ZipFile> opened = new ConcurrentLinkedQueue<ZipFile>();
+
+    JarArchive(@Nonnull File file) {
+        this.file = checkNotNull(file);
+    }
+
+    @Override
+    @Nonnull
+    public List<String> listClasses() throws IOException {
+        List<String> classNames = Lists.newArrayList();
+        for (Enumeration<? extends ZipEntry> entries = open().entries(); entries.hasMoreElements();) {
+            ZipEntry entry = entries.nextElement();
+            String name = entry.getName();
+            if (!entry.isDirectory() && name.endsWith(CLASS_FILE_EXTENSION)) {
+                classNames.add(name.substring(0, name.length() - CLASS_FILE_EXTENSION.length()));
+            }
+        }
+        return classNames;
+    }
+
+    @Override
+    @CheckForNull
+    public byte[] read(@Nonnull String className) throws IOException {
+        ZipFile zip = open();
+        ZipEntry entry = zip.getEntry(className + CLASS_FILE_EXTENSION);
+        if (entry == null) {
+            return null;
+        }
+        try (InputStream input = zip.getInputStream(entry)) {
+            if (entry.getSize() < 0) {
+                return ByteStreams.toByteArray(input);
+            }
+            byte[] content = new byte[(int) entry.getSize()];
+            ByteStreams.readFully(input, content);
+            return content;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        for (ZipFile zip = opened.poll(); zip != null; zip = opened.poll()) {
+            try {
+                zip.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @Nonnull
+    private ZipFile open() throws IOException {
+        ZipFile zip = zipFile.get();
+        if (zip == null) {
+            zip = new ZipFile(file);
+            opened.add(zip);
+            zipFile.set(zip);
+        }
+        return zip;
+    }
+}
@@ -0,0 +1,280 @@
+package jp.co.worksap.oss.findbugs.cli;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+
+/**
+ * <p>Jar file which is mapped into memory. We read its central directory directly instead of
+ * {@link java.util.zip.ZipFile}, so threads read entries without lock and without stream of each entry.</p>
+ * <p>Stored entry is copied from mapped file into class file at once. Deflated entry is inflated by
+ * {@link Inflater} and input buffer which each thread reuses, so reading allocates only class file itself.</p>
+ * <p>ZIP64, multi-disk archive and encrypted entry are not supported, then {@link #open(File)} and
+ * {@link #read(String)} throw {@link ZipException}. Mapped file is released when this instance is
+ * collected as garbage, because Java does not provide API to unmap.</p>
+ *
+ * @author Kengo TODA
+ * @see JarArchive
+ */
+@ThreadSafe
+final class MappedJarArchive implements Archive {
+    private static final String CLASS_FILE_EXTENSION = ".class";
+    private static final int END_OF_CENTRAL_DIRECTORY = 0x06054b50;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+    private static final int MAX_COMMENT_LENGTH = 0xFFFF;
+    private static final int CENTRAL_DIRECTORY_HEADER = 0x02014b50;
+    private static final int CENTRAL_DIRECTORY_HEADER_SIZE = 46;
+    private static final int LOCAL_FILE_HEADER = 0x04034b50;
+    private static final int LOCAL_FILE_HEADER_SIZE = 30;
+    private static final int STORED = 0;
+    private static final int DEFLATED = 8;
+    private static final int ENCRYPTED = 1;
+
+    @Nonnull
+    private final File file;
+    /**
+     * shared by threads, so we use only absolute get or its duplicate.
+     */
+    @Nonnull
+    private final ByteBuffer mapped;
+    /**
+     * key is name of class like {@code java/lang/String}, in order of central directory.
+     */
+    @Nonnull
+    private final Map<String, Entry> entries;
+    private final ThreadLocal<Inflation> inflation = new ThreadLocal<Inflation>();
+    /**
+     * all {@link Inflation} which threads created, to release their native memory at once.
+     */
+    private final Queue<Inflation> created = new ConcurrentLinkedQueue<Inflation>();
+
+    private MappedJarArchive(@Nonnull File file, @Nonnull ByteBuffer mapped, @Nonnull Map<String, Entry> entries) {
+        this.file = checkNotNull(file);
+        this.mapped = checkNotNull(mapped);
+        this.entries = ImmutableMap.copyOf(entries);
+    }
+
+    /**
+     * @throws ZipException if file is not a jar file, or this class does not support its format
+     */
+    @Nonnull
+    @CheckReturnValue
+    static MappedJarArchive open(@Nonnull File file) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new ZipException("Jar file larger than 2GB is not supported: " + file);
+            }
+            // mapping is valid after channel is closed
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        mapped.order(ByteOrder.LITTLE_ENDIAN);
+        return new MappedJarArchive(file, mapped, readCentralDirectory(file, mapped));
+    }
+
+    @Override
+    @Nonnull
+    public List<String> listClasses() {
+        return ImmutableList.copyOf(entries.keySet());
+    }
+
+    @Override
+    @CheckForNull
+    public byte[] read(@Nonnull String className) throws IOException {
+        Entry entry = entries.get(className);
+        if (entry == null) {
+            return null;
+        }
+        int offset = entry.localHeaderOffset;
+        if (offset + LOCAL_FILE_HEADER_SIZE > mapped.limit() || mapped.getInt(offset) != LOCAL_FILE_HEADER) {
+            throw new ZipException("Broken local header of " + className + " in " + file);
+        }
+        int dataOffset = offset + LOCAL_FILE_HEADER_SIZE + unsignedShort(offset + 26) + unsignedShort(offset + 28);
+        if (dataOffset + entry.compressedSize > mapped.limit()) {
+            throw new ZipException("Truncated entry " + className + " in " + file);
+        }
+        ByteBuffer data = mapped.duplicate();
+        data.position(dataOffset);
+        data.limit(dataOffset + entry.compressedSize);
+
+        byte[] classFile = new byte[entry.size];
+        if (entry.method == STORED) {
+            data.get(classFile);
+        } else {
+            inflation().inflate(data, classFile, className);
+        }
+        return classFile;
+    }
+
+    @Override
+    public void close() {
+        for (Inflation used = created.poll(); used != null; used = created.poll()) {
+            used.inflater.end();
+        }
+    }
+
+    @Nonnull
+    private Inflation inflation() {
+        Inflation used = inflation.get();
+        if (used == null) {
+            used = new Inflation();
+            created.add(used);
+            inflation.set(used);
+        }
+        return used;
+    }
+
+    private int unsignedShort(int index) {
+        return mapped.getShort(index) & 0xFFFF;
+    }
+
+    @Nonnull
+    private static Map<String, Entry> readCentralDirectory(@Nonnull File file, @Nonnull ByteBuffer mapped) throws ZipException {
+        int end = findEndOfCentralDirectory(file, mapped);
+        if (mapped.getShort(end + 4) != 0 || mapped.getShort(end + 6) != 0) {
+            throw new ZipException("Multi-disk jar file is not supported: " + file);
+        }
+        int count = mapped.getShort(end + 10) & 0xFFFF;
+        long size = mapped.getInt(end + 12) & 0xFFFFFFFFL;
+        long offset = mapped.getInt(end + 16) & 0xFFFFFFFFL;
+        if (count == 0xFFFF || offset == 0xFFFFFFFFL) {
+            throw new ZipException("ZIP64 is not supported: " + file);
+        }
+        if (offset + size > end) {
+            throw new ZipException("Broken central directory in " + file);
+        }
+
+        Map<String, Entry> entries = Maps.newLinkedHashMap();
+        int position = (int) offset;
+        for (int i = 0; i < count; ++i) {
+            if (position + CENTRAL_DIRECTORY_HEADER_SIZE > end || mapped.getInt(position) != CENTRAL_DIRECTORY_HEADER) {
+                throw new ZipException("Broken central directory in " + file);
+            }
+            int flags = mapped.getShort(position + 8) & 0xFFFF;
+            int method = mapped.getShort(position + 10) & 0xFFFF;
+            long compressedSize = mapped.getInt(position + 20) & 0xFFFFFFFFL;
+            long entrySize = mapped.getInt(position + 24) & 0xFFFFFFFFL;
+            int nameLength = mapped.getShort(position + 28) & 0xFFFF;
+            int extraLength = mapped.getShort(position + 30) & 0xFFFF;
+            int commentLength = mapped.getShort(position + 32) & 0xFFFF;
+            long localHeaderOffset = mapped.getInt(position + 42) & 0xFFFFFFFFL;
+            String name = readName(mapped, position + CENTRAL_DIRECTORY_HEADER_SIZE, nameLength);
+            position += CENTRAL_DIRECTORY_HEADER_SIZE + nameLength + extraLength + commentLength;
+
+            if (!name.endsWith(CLASS_FILE_EXTENSION) || name.endsWith("/")) {
+                continue;
+            }
+            if ((flags & ENCRYPTED) != 0 || (method != STORED && method != DEFLATED)) {
+                throw new ZipException("Encrypted or unsupported compression method of " + name + " in " + file);
+            }
+            if (compressedSize >= mapped.limit() || entrySize > Integer.MAX_VALUE || localHeaderOffset >= end
+                    || (method == STORED && compressedSize != entrySize)) {
+                throw new ZipException("Broken central directory of " + name + " in " + file);
+            }
+            String className = name.substring(0, name.length() - CLASS_FILE_EXTENSION.length());
+            if (!entries.containsKey(className)) {
+                entries.put(className, new Entry(method, (int) compressedSize, (int) entrySize, (int) localHeaderOffset));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * <p>End of central directory record is at the end of file, but it may be followed by comment.</p>
+     */
+    private static int findEndOfCentralDirectory(@Nonnull File file, @Nonnull ByteBuffer mapped) throws ZipException {
+        int limit = Math.max(0, mapped.limit() - END_OF_CENTRAL_DIRECTORY_SIZE - MAX_COMMENT_LENGTH);
+        for (int position = mapped.limit() - END_OF_CENTRAL_DIRECTORY_SIZE; position >= limit; --position) {
+            if (mapped.getInt(position) == END_OF_CENTRAL_DIRECTORY
+                    && position + END_OF_CENTRAL_DIRECTORY_SIZE + (mapped.getShort(position + 20) & 0xFFFF) == mapped.limit()) {
+                return position;
+            }
+        }
+        throw new ZipException("Not a jar file: " + file);
+    }
+
+    @Nonnull
+    private static String readName(@Nonnull ByteBuffer mapped, int position, int length) {
+        byte[] name = new byte[length];
+        ByteBuffer buffer = mapped.duplicate();
+        buffer.position(position);
+        buffer.get(name);
+        return new String(name, Charsets.UTF_8);
+    }
+
+    @Immutable
+    private static final class Entry {
+        private final int method;
+        private final int compressedSize;
+        private final int size;
+        private final int localHeaderOffset;
+
+        Entry(int method, int compressedSize, int size, int localHeaderOffset) {
+            this.method = method;
+            this.compressedSize = compressedSize;
+            this.size = size;
+            this.localHeaderOffset = localHeaderOffset;
+        }
+    }
+
+    /**
+     * <p>{@link Inflater} and its input buffer, which one thread reuses for all deflated entries.
+     * {@link Inflater} of Java 7 does not accept {@link ByteBuffer}, so compressed data is copied into
+     * input buffer which grows to the largest entry.</p>
+     */
+    private static final class Inflation {
+        private final Inflater inflater = new Inflater(true);
+        private byte[] input = new byte[8192];
+
+        void inflate(@Nonnull ByteBuffer data, @Nonnull byte[] output, @Nonnull String className) throws ZipException {
+            int length = data.remaining();
+            if (input.length <= length) {
+                input = new byte[Integer.highestOneBit(length) << 1];
+            }
+            data.get(input, 0, length);
+            // inflater without ZLIB header needs an extra dummy byte, like ZipFile gives
+            input[length] = 0;
+            inflater.reset();
+            inflater.setInput(input, 0, length + 1);
+            try {
+                int inflated = 0;
+                while (inflated < output.length && !inflater.finished()) {
+                    int read = inflater.inflate(output, inflated, output.length - inflated);
+                    if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        break;
+                    }
+                    inflated += read;
+                }
+                if (inflated != output.length || (!inflater.finished() && inflater.inflate(new byte[1]) != 0)) {
+                    throw new ZipException("Size of inflated " + className + " differs from central directory");
+                }
+            } catch (DataFormatException e) {
+                throw (ZipException) new ZipException("Broken compressed data of " + className).initCause(e);
+            }
+        }
+    }
+}
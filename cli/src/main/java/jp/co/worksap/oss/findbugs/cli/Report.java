@@ -0,0 +1,106 @@
+package jp.co.worksap.oss.findbugs.cli;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+
+import jp.co.worksap.oss.findbugs.rules.Finding;
+import jp.co.worksap.oss.findbugs.rules.FindingReporter;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Objects;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+/**
+ * <p>Findings, missing classes and errors which threads report concurrently.
+ * They are sorted when we get them, so output does not depend on number of threads.</p>
+ *
+ * @author Kengo TODA
+ */
+@ThreadSafe
+final class Report implements FindingReporter {
+    @Nonnull
+    private final BugPatterns patterns;
+    private final Queue<String> findings = new ConcurrentLinkedQueue<String>();
+    private final Set<String> missingClasses = Sets.newSetFromMap(Maps.<String, Boolean>newConcurrentMap());
+    private final Queue<String> errors = new ConcurrentLinkedQueue<String>();
+
+    Report(@Nonnull BugPatterns patterns) {
+        this.patterns = checkNotNull(patterns);
+    }
+
+    @Override
+    public void report(@Nonnull Finding finding) {
+        findings.add(format(finding));
+    }
+
+    @Override
+    public void reportMissingClass(@Nonnull String className) {
+        missingClasses.add(className.replace('/', '.'));
+    }
+
+    void reportError(@Nonnull String className, @Nonnull Exception error) {
+        errors.add(String.format("Cannot analyze %s: %s", className.replace('/', '.'), error));
+    }
+
+    /**
+     * @return findings in format which is similar to text output of FindBugs, like
+     *     {@code H CORRECTNESS LONG_TABLE_NAME: Table name should be shorter At com.example.Entity [...]}
+     */
+    @Nonnull
+    @CheckReturnValue
+    List<String> getFindings() {
+        return sort(findings);
+    }
+
+    @Nonnull
+    @CheckReturnValue
+    List<String> getMissingClasses() {
+        return sort(missingClasses);
+    }
+
+    @Nonnull
+    @CheckReturnValue
+    List<String> getErrors() {
+        return sort(errors);
+    }
+
+    @Nonnull
+    private String format(@Nonnull Finding finding) {
+        StringBuilder builder = new StringBuilder();
+        builder.append(finding.getPriority() == Finding.HIGH_PRIORITY ? 'H' : 'M').append(' ');
+        builder.append(Objects.firstNonNull(patterns.getCategory(finding.getType()), "UNKNOWN")).append(' ');
+        builder.append(finding.getType()).append(": ");
+        builder.append(Objects.firstNonNull(patterns.getDescription(finding.getType()), finding.getType()));
+        builder.append(" At ").append(finding.getTargetClass().getDottedName());
+        if (finding.getField() != null) {
+            builder.append('.').append(finding.getField().getName());
+        }
+        if (finding.getMethod() != null) {
+            builder.append('.').append(finding.getMethod().getName()).append(finding.getMethod().getDescriptor());
+        }
+        if (!finding.getStrings().isEmpty()) {
+            builder.append(" [");
+            Joiner.on(", ").appendTo(builder, finding.getStrings());
+            builder.append(']');
+        }
+        return builder.toString();
+    }
+
+    @Nonnull
+    private static List<String> sort(@Nonnull Iterable<String> lines) {
+        List<String> sorted = Lists.newArrayList(lines);
+        Collections.sort(sorted);
+        return sorted;
+    }
+}
@@ -0,0 +1,77 @@
+package jp.co.worksap.oss.findbugs.cli;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import jp.co.worksap.oss.findbugs.corpus.SyntheticCorpus;
+import jp.co.worksap.oss.findbugs.jpa.LongTableName;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.base.Charsets;
+
+public class MainTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    @Test
+    public void testOutputDoesNotDependOnThreads() throws Exception {
+        File jar = folder.newFile("corpus.jar");
+        SyntheticCorpus.ofEveryKind(1, 100).writeJar(jar);
+
+        assertThat(run("-threads", "1", jar.getPath()), is(1));
+        String sequential = out.toString("UTF-8");
+        out.reset();
+        assertThat(run("-threads", "4", jar.getPath()), is(1));
+
+        assertThat(out.toString("UTF-8"), is(sequential));
+        assertThat(sequential, containsString("H CORRECTNESS LONG_TABLE_NAME: Table name should be shorter than or equal to 30 bytes. At "));
+        assertThat(sequential, containsString("BROKEN_IMMUTABILITY"));
+    }
+
+    @Test
+    public void testDirectory() throws Exception {
+        String className = LongTableName.class.getName().replace('.', '/') + ".class";
+        Path classFile = folder.getRoot().toPath().resolve(className);
+        Files.createDirectories(classFile.getParent());
+        try (InputStream input = LongTableName.class.getClassLoader().getResourceAsStream(className)) {
+            Files.copy(input, classFile);
+        }
+
+        assertThat(run(folder.getRoot().getPath()), is(1));
+        assertThat(out.toString("UTF-8"), containsString("LONG_TABLE_NAME: Table name should be shorter than or equal to 30 bytes. At "
+                + LongTableName.class.getName()));
+        assertThat(err.toString("UTF-8"), not(containsString("Cannot analyze")));
+    }
+
+    @Test
+    public void testMissingInput() throws Exception {
+        assertThat(run(new File(folder.getRoot(), "missing.jar").getPath()), is(2));
+        assertThat(out.size(), is(0));
+    }
+
+    @Test
+    public void testInvalidThreads() throws Exception {
+        assertThat(run("-threads", "x", folder.getRoot().getPath()), is(2));
+        assertThat(run("-threads", "0", folder.getRoot().getPath()), is(2));
+        assertThat(err.toString("UTF-8"), containsString("usage:"));
+        assertThat(out.size(), is(0));
+    }
+
+    private int run(String... args) throws Exception {
+        return Main.run(args, new PrintStream(out, true, Charsets.UTF_8.name()), new PrintStream(err, true, Charsets.UTF_8.name()));
+    }
+}
@@ -0,0 +1,89 @@
+package jp.co.worksap.oss.findbugs.cli;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipOutputStream;
+
+import jp.co.worksap.oss.findbugs.corpus.SyntheticCorpus;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.collect.ImmutableSet;
+
+public class MappedJarArchiveTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    private final Map<String, byte[]> classes = SyntheticCorpus.ofEveryKind(7, 10).getClasses();
+
+    @Test
+    public void testDeflatedEntries() throws Exception {
+        File jar = folder.newFile("deflated.jar");
+        write(jar, ZipEntry.DEFLATED, "comment of deflated jar");
+        assertSameAsJarArchive(jar);
+    }
+
+    @Test
+    public void testStoredEntries() throws Exception {
+        File jar = folder.newFile("stored.jar");
+        write(jar, ZipEntry.STORED, null);
+        assertSameAsJarArchive(jar);
+    }
+
+    @Test
+    public void testMissingClass() throws Exception {
+        File jar = folder.newFile("missing.jar");
+        write(jar, ZipEntry.DEFLATED, null);
+        try (MappedJarArchive archive = MappedJarArchive.open(jar)) {
+            assertThat(archive.read("java/lang/Missing"), is(nullValue()));
+        }
+    }
+
+    @Test(expected = ZipException.class)
+    public void testNotJar() throws Exception {
+        MappedJarArchive.open(folder.newFile("empty.jar"));
+    }
+
+    private void assertSameAsJarArchive(File jar) throws Exception {
+        try (MappedJarArchive mapped = MappedJarArchive.open(jar); JarArchive expected = new JarArchive(jar)) {
+            assertThat(ImmutableSet.copyOf(mapped.listClasses()), is(ImmutableSet.copyOf(expected.listClasses())));
+            assertThat(ImmutableSet.copyOf(mapped.listClasses()), is(classes.keySet()));
+            for (String className : classes.keySet()) {
+                assertArrayEquals(className, expected.read(className), mapped.read(className));
+            }
+        }
+    }
+
+    private void write(File jar, int method, String comment) throws Exception {
+        try (ZipOutputStream output = new ZipOutputStream(new FileOutputStream(jar))) {
+            output.putNextEntry(new ZipEntry("META-INF/"));
+            output.closeEntry();
+            for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+                ZipEntry zipEntry = new ZipEntry(entry.getKey() + ".class");
+                zipEntry.setMethod(method);
+                if (method == ZipEntry.STORED) {
+                    CRC32 crc = new CRC32();
+                    crc.update(entry.getValue());
+                    zipEntry.setSize(entry.getValue().length);
+                    zipEntry.setCrc(crc.getValue());
+                }
+                output.putNextEntry(zipEntry);
+                output.write(entry.getValue());
+                output.closeEntry();
+            }
+            if (comment != null) {
+                output.setComment(comment);
+            }
+        }
+    }
+}
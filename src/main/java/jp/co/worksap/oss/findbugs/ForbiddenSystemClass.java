@@ -1,29 +1,84 @@
 package jp.co.worksap.oss.findbugs;
 
-import org.apache.bcel.classfile.Code;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import jp.co.worksap.oss.findbugs.analysis.ClassScope;
+import jp.co.worksap.oss.findbugs.metrics.DetectorMetrics.Timer;
+import jp.co.worksap.oss.findbugs.metrics.Metrics;
+
+import org.apache.bcel.Constants;
+import org.apache.bcel.classfile.Constant;
+import org.apache.bcel.classfile.ConstantFieldref;
+import org.apache.bcel.classfile.ConstantNameAndType;
+import org.apache.bcel.classfile.ConstantPool;
 
 import edu.umd.cs.findbugs.BugInstance;
 import edu.umd.cs.findbugs.BugReporter;
-import edu.umd.cs.findbugs.bcel.OpcodeStackDetector;
+import edu.umd.cs.findbugs.BytecodeScanningDetector;
+import edu.umd.cs.findbugs.ba.ClassContext;
+import edu.umd.cs.findbugs.classfile.CheckedAnalysisException;
 
-public class ForbiddenSystemClass extends OpcodeStackDetector {
+/**
+ * <p>Detector to find usage of {@code System.out} and {@code System.err}.</p>
+ * <p>Classes which have no {@code Fieldref} to them in constant pool are skipped without scanning bytecode.
+ * This detector needs no operand stack, so it scans opcodes of other classes without simulating stack.</p>
+ *
+ * @author Kengo TODA
+ */
+public class ForbiddenSystemClass extends BytecodeScanningDetector {
     private BugReporter bugReporter;
 
     public ForbiddenSystemClass(BugReporter bugReporter) {
-        this.bugReporter = bugReporter;
+        this.bugReporter = Metrics.wrap(getClass(), checkNotNull(bugReporter));
     }
 
     @Override
-    public void visit(Code obj) {
-        super.visit(obj);
+    public void visitClassContext(ClassContext classContext) {
+        Timer timer = Metrics.forDetector(getClass()).start();
+        try {
+            if (!refersSystemOutOrErr(classContext.getJavaClass().getConstantPool())) {
+                return;
+            }
+            try {
+                if (!ClassScope.get().contains(classContext.getClassDescriptor())) {
+                    return;
+                }
+            } catch (CheckedAnalysisException e) {
+                bugReporter.logError("Detector could not decide scope of " + classContext.getClassDescriptor().getDottedClassName(), e);
+                return;
+            }
+            super.visitClassContext(classContext);
+        } finally {
+            timer.stop();
+        }
+    }
+
+    private boolean refersSystemOutOrErr(ConstantPool constantPool) {
+        for (Constant constant : constantPool.getConstantPool()) {
+            if (!(constant instanceof ConstantFieldref)) {
+                continue;
+            }
+            ConstantFieldref fieldref = (ConstantFieldref) constant;
+            if (!"java/lang/System".equals(constantPool.getConstantString(fieldref.getClassIndex(), Constants.CONSTANT_Class))) {
+                continue;
+            }
+            ConstantNameAndType nameAndType = (ConstantNameAndType) constantPool.getConstant(fieldref.getNameAndTypeIndex());
+            if (isOutOrErr(nameAndType.getName(constantPool))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isOutOrErr(String fieldName) {
+        return fieldName.equals("out") || fieldName.equals("err");
     }
 
     @Override
     public void sawOpcode(int seen) {
         if (seen == GETSTATIC) {
             if (getClassConstantOperand().equals("java/lang/System")
-                    && (getNameConstantOperand().equals("out") || getNameConstantOperand()
-                            .equals("err"))) {
+                    && isOutOrErr(getNameConstantOperand())) {
                 BugInstance bug = new BugInstance(this, "FORBIDDEN_SYSTEM",
                         NORMAL_PRIORITY).addClassAndMethod(this).addSourceLine(
                         this, getPC());
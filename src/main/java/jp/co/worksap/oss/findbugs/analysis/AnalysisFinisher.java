@@ -0,0 +1,45 @@
+package jp.co.worksap.oss.findbugs.analysis;
+
+import java.io.IOException;
+
+import javax.annotation.Nonnull;
+
+import jp.co.worksap.oss.findbugs.metrics.Metrics;
+
+import edu.umd.cs.findbugs.BugReporter;
+import edu.umd.cs.findbugs.ComponentPlugin;
+import edu.umd.cs.findbugs.bugReporter.BugReporterDecorator;
+import edu.umd.cs.findbugs.classfile.CheckedAnalysisException;
+import edu.umd.cs.findbugs.classfile.Global;
+
+/**
+ * <p>Decorator of {@link BugReporter} which saves state of this plugin once per analysis.</p>
+ * <p>FindBugs calls {@link #finish()} after all detectors in all passes have reported, and before it clears
+ * analysis cache. So this is the only place which sees final state of databases like {@link ResultCache}
+ * and {@link Metrics}.
+ * findbugs.xml declares this class as {@code PluginComponent}.</p>
+ *
+ * @author Kengo TODA
+ */
+public class AnalysisFinisher extends BugReporterDecorator {
+    public AnalysisFinisher(@Nonnull ComponentPlugin<BugReporterDecorator> plugin, @Nonnull BugReporter delegate) {
+        super(plugin, delegate);
+    }
+
+    @Override
+    public void finish() {
+        if (Global.getAnalysisCache() != null) {
+            try {
+                ResultCache.get().save();
+            } catch (CheckedAnalysisException | IOException e) {
+                logError("Could not save cache of findings", e);
+            }
+            try {
+                Metrics.get().dump();
+            } catch (CheckedAnalysisException e) {
+                logError("Could not dump metrics", e);
+            }
+        }
+        super.finish();
+    }
+}
@@ -0,0 +1,257 @@
+package jp.co.worksap.oss.findbugs.analysis;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.List;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import com.google.common.collect.ImmutableList;
+
+import edu.umd.cs.findbugs.BugAnnotation;
+import edu.umd.cs.findbugs.BugInstance;
+import edu.umd.cs.findbugs.ClassAnnotation;
+import edu.umd.cs.findbugs.Detector;
+import edu.umd.cs.findbugs.FieldAnnotation;
+import edu.umd.cs.findbugs.MethodAnnotation;
+import edu.umd.cs.findbugs.PackageMemberAnnotation;
+import edu.umd.cs.findbugs.SourceLineAnnotation;
+import edu.umd.cs.findbugs.StringAnnotation;
+
+/**
+ * <p>Snapshot of {@link BugInstance} which {@link ResultCache} stores.</p>
+ * <p>{@link BugInstance} refers detector factory which cannot be stored, so we keep only
+ * type, priority and annotations, and bind replayed bug to current detector.</p>
+ * <p>Snapshot is written as plain data, so reading cache file never instantiates class named in the file.
+ * It supports only annotations which detectors in this plugin report, see {@link #isCacheable(BugInstance)}.</p>
+ *
+ * @author Kengo TODA
+ */
+@Immutable
+final class CachedBug {
+    private static final byte CLASS = 'C';
+    private static final byte METHOD = 'M';
+    private static final byte FIELD = 'F';
+    private static final byte SOURCE_LINE = 'L';
+    private static final byte STRING = 'S';
+    /**
+     * upper limit of annotations in a bug, to reject broken file before we allocate memory for it.
+     */
+    private static final int MAX_ANNOTATIONS = 1024;
+
+    @Nonnull
+    private final String type;
+    private final int priority;
+    @Nonnull
+    private final ImmutableList<BugAnnotation> annotations;
+
+    CachedBug(@Nonnull BugInstance bug) {
+        checkArgument(isCacheable(bug), "bug has annotation which cannot be cached: %s", bug);
+        this.type = bug.getType();
+        this.priority = bug.getPriority();
+        ImmutableList.Builder<BugAnnotation> builder = ImmutableList.builder();
+        for (BugAnnotation annotation : bug.getAnnotations()) {
+            builder.add((BugAnnotation) annotation.clone());
+        }
+        this.annotations = builder.build();
+    }
+
+    private CachedBug(@Nonnull String type, int priority, @Nonnull List<BugAnnotation> annotations) {
+        this.type = checkNotNull(type);
+        this.priority = priority;
+        this.annotations = ImmutableList.copyOf(annotations);
+    }
+
+    /**
+     * @return true if all annotations of given bug can be written into cache file
+     */
+    @CheckReturnValue
+    static boolean isCacheable(@Nonnull BugInstance bug) {
+        if (bug.getAnnotations().size() > MAX_ANNOTATIONS) {
+            return false;
+        }
+        for (BugAnnotation annotation : bug.getAnnotations()) {
+            if (tagOf(annotation) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * <p>Priority is restored after construction, because it has been adjusted already.</p>
+     */
+    @Nonnull
+    @CheckReturnValue
+    BugInstance toBugInstance(@Nonnull Detector detector) {
+        BugInstance bug = new BugInstance(checkNotNull(detector), type, priority).addAnnotations(annotations);
+        bug.setPriority(priority);
+        return bug;
+    }
+
+    void writeTo(@Nonnull DataOutput output) throws IOException {
+        output.writeUTF(type);
+        output.writeInt(priority);
+        output.writeInt(annotations.size());
+        for (BugAnnotation annotation : annotations) {
+            byte tag = tagOf(annotation);
+            output.writeByte(tag);
+            switch (tag) {
+            case CLASS:
+                ClassAnnotation clazz = (ClassAnnotation) annotation;
+                output.writeUTF(clazz.getClassName());
+                writePackageMember(clazz, output);
+                break;
+            case METHOD:
+                MethodAnnotation method = (MethodAnnotation) annotation;
+                output.writeUTF(method.getClassName());
+                output.writeUTF(method.getMethodName());
+                output.writeUTF(method.getMethodSignature());
+                output.writeBoolean(method.isStatic());
+                writePackageMember(method, output);
+                break;
+            case FIELD:
+                FieldAnnotation field = (FieldAnnotation) annotation;
+                output.writeUTF(field.getClassName());
+                output.writeUTF(field.getFieldName());
+                output.writeUTF(field.getFieldSignature());
+                output.writeBoolean(field.isStatic());
+                writePackageMember(field, output);
+                break;
+            case SOURCE_LINE:
+                writeSourceLine((SourceLineAnnotation) annotation, output);
+                break;
+            case STRING:
+                StringAnnotation string = (StringAnnotation) annotation;
+                output.writeUTF(string.getValue());
+                writeNullable(string.getDescription(), output);
+                break;
+            default:
+                throw new IllegalStateException("Unexpected tag: " + tag);
+            }
+        }
+    }
+
+    @Nonnull
+    static CachedBug readFrom(@Nonnull DataInput input) throws IOException {
+        String type = input.readUTF();
+        int priority = input.readInt();
+        int size = input.readInt();
+        if (size < 0 || size > MAX_ANNOTATIONS) {
+            throw new IOException("Unexpected number of annotations: " + size);
+        }
+        ImmutableList.Builder<BugAnnotation> annotations = ImmutableList.builder();
+        for (int i = 0; i < size; ++i) {
+            byte tag = input.readByte();
+            switch (tag) {
+            case CLASS:
+                annotations.add(readPackageMember(new ClassAnnotation(input.readUTF()), input));
+                break;
+            case METHOD: {
+                String className = input.readUTF();
+                MethodAnnotation method = new MethodAnnotation(className, input.readUTF(), input.readUTF(), input.readBoolean());
+                annotations.add(readPackageMember(method, input));
+                break;
+            }
+            case FIELD: {
+                String className = input.readUTF();
+                FieldAnnotation field = new FieldAnnotation(className, input.readUTF(), input.readUTF(), input.readBoolean());
+                annotations.add(readPackageMember(field, input));
+                break;
+            }
+            case SOURCE_LINE:
+                annotations.add(readSourceLine(input));
+                break;
+            case STRING:
+                StringAnnotation string = new StringAnnotation(input.readUTF());
+                string.setDescription(readNullable(input));
+                annotations.add(string);
+                break;
+            default:
+                throw new IOException("Unexpected tag of annotation: " + tag);
+            }
+        }
+        return new CachedBug(type, priority, annotations.build());
+    }
+
+    /**
+     * @return tag which identifies type of annotation in cache file, or {@code 0} if it is not supported
+     */
+    private static byte tagOf(@Nonnull BugAnnotation annotation) {
+        // subclass may have its own state, so we support only these classes exactly
+        Class<?> type = annotation.getClass();
+        if (type == ClassAnnotation.class) {
+            return CLASS;
+        } else if (type == MethodAnnotation.class) {
+            return METHOD;
+        } else if (type == FieldAnnotation.class) {
+            return FIELD;
+        } else if (type == SourceLineAnnotation.class) {
+            return SOURCE_LINE;
+        } else if (type == StringAnnotation.class) {
+            return STRING;
+        }
+        return 0;
+    }
+
+    /**
+     * <p>Write properties which are not given to constructor. Caller writes class name and signature of member.</p>
+     */
+    private static void writePackageMember(@Nonnull PackageMemberAnnotation annotation, @Nonnull DataOutput output) throws IOException {
+        writeNullable(annotation.getDescription(), output);
+        SourceLineAnnotation sourceLines = annotation.getSourceLines();
+        output.writeBoolean(sourceLines != null);
+        if (sourceLines != null) {
+            writeSourceLine(sourceLines, output);
+        }
+    }
+
+    @Nonnull
+    private static PackageMemberAnnotation readPackageMember(@Nonnull PackageMemberAnnotation annotation, @Nonnull DataInput input) throws IOException {
+        annotation.setDescription(readNullable(input));
+        if (input.readBoolean()) {
+            annotation.setSourceLines(readSourceLine(input));
+        }
+        return annotation;
+    }
+
+    private static void writeSourceLine(@Nonnull SourceLineAnnotation sourceLine, @Nonnull DataOutput output) throws IOException {
+        output.writeUTF(sourceLine.getClassName());
+        output.writeUTF(sourceLine.getSourceFile());
+        output.writeInt(sourceLine.getStartLine());
+        output.writeInt(sourceLine.getEndLine());
+        output.writeInt(sourceLine.getStartBytecode());
+        output.writeInt(sourceLine.getEndBytecode());
+        output.writeBoolean(sourceLine.isSynthetic());
+        writeNullable(sourceLine.getDescription(), output);
+    }
+
+    @Nonnull
+    private static SourceLineAnnotation readSourceLine(@Nonnull DataInput input) throws IOException {
+        SourceLineAnnotation sourceLine = new SourceLineAnnotation(input.readUTF(), input.readUTF(),
+                input.readInt(), input.readInt(), input.readInt(), input.readInt());
+        sourceLine.setSynthetic(input.readBoolean());
+        sourceLine.setDescription(readNullable(input));
+        return sourceLine;
+    }
+
+    private static void writeNullable(@Nullable String value, @Nonnull DataOutput output) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeUTF(value);
+        }
+    }
+
+    @CheckForNull
+    private static String readNullable(@Nonnull DataInput input) throws IOException {
+        return input.readBoolean() ? input.readUTF() : null;
+    }
+}
@@ -0,0 +1,50 @@
+package jp.co.worksap.oss.findbugs.analysis;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+import com.google.common.hash.HashCode;
+
+import edu.umd.cs.findbugs.classfile.CheckedAnalysisException;
+import edu.umd.cs.findbugs.classfile.ClassDescriptor;
+import edu.umd.cs.findbugs.classfile.Global;
+import edu.umd.cs.findbugs.classfile.IAnalysisCache;
+
+/**
+ * <p>Hash of bytes of a class file, which tells whether class has been changed since previous analysis.</p>
+ * <p>Instance is computed only once per {@link ClassDescriptor} by {@link ClassDigestEngine},
+ * so class which many classes depend on is hashed only once.</p>
+ *
+ * @author Kengo TODA
+ * @see ResultCache
+ */
+@Immutable
+final class ClassDigest {
+    @Nonnull
+    private final HashCode hash;
+
+    ClassDigest(@Nonnull HashCode hash) {
+        this.hash = checkNotNull(hash);
+    }
+
+    /**
+     * @return cached digest of specified class
+     * @throws CheckedAnalysisException if FindBugs cannot load specified class
+     */
+    @Nonnull
+    @CheckReturnValue
+    static ClassDigest of(@Nonnull ClassDescriptor descriptor) throws CheckedAnalysisException {
+        IAnalysisCache cache = Global.getAnalysisCache();
+        EngineRegistrar.ensureRegistered(cache);
+        return cache.getClassAnalysis(ClassDigest.class, descriptor);
+    }
+
+    @Nonnull
+    @CheckReturnValue
+    HashCode getHash() {
+        return hash;
+    }
+}
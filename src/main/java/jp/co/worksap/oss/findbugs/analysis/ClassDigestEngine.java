@@ -0,0 +1,27 @@
+package jp.co.worksap.oss.findbugs.analysis;
+
+import com.google.common.hash.Hashing;
+
+import edu.umd.cs.findbugs.classfile.CheckedAnalysisException;
+import edu.umd.cs.findbugs.classfile.ClassDescriptor;
+import edu.umd.cs.findbugs.classfile.IAnalysisCache;
+import edu.umd.cs.findbugs.classfile.RecomputableClassAnalysisEngine;
+import edu.umd.cs.findbugs.classfile.analysis.ClassData;
+
+/**
+ * <p>Analysis engine which computes {@link ClassDigest} from bytes which FindBugs has already loaded.</p>
+ *
+ * @author Kengo TODA
+ */
+final class ClassDigestEngine extends RecomputableClassAnalysisEngine<ClassDigest> {
+    @Override
+    public ClassDigest analyze(IAnalysisCache analysisCache, ClassDescriptor descriptor) throws CheckedAnalysisException {
+        ClassData classData = analysisCache.getClassAnalysis(ClassData.class, descriptor);
+        return new ClassDigest(Hashing.sha1().hashBytes(classData.getData()));
+    }
+
+    @Override
+    public void registerWith(IAnalysisCache analysisCache) {
+        analysisCache.registerClassAnalysisEngine(ClassDigest.class, this);
+    }
+}
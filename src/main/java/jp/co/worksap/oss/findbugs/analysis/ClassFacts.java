@@ -0,0 +1,99 @@
+package jp.co.worksap.oss.findbugs.analysis;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import jp.co.worksap.oss.findbugs.rules.ClassHierarchy;
+import jp.co.worksap.oss.findbugs.rules.ClassModel;
+
+import edu.umd.cs.findbugs.classfile.CheckedAnalysisException;
+import edu.umd.cs.findbugs.classfile.ClassDescriptor;
+import edu.umd.cs.findbugs.classfile.Global;
+import edu.umd.cs.findbugs.classfile.IAnalysisCache;
+
+/**
+ * <p>{@link ClassModel} of a class and its superclass chain, which are loaded through FindBugs.</p>
+ * <p>Instance is computed only once per {@link ClassDescriptor} by {@link ClassFactsEngine},
+ * and cached in {@link IAnalysisCache}. Use {@link #of(ClassDescriptor)} to get it.</p>
+ *
+ * @author Kengo TODA
+ */
+@Immutable
+public final class ClassFacts implements ClassHierarchy {
+    @Nonnull
+    private final ClassDescriptor descriptor;
+    @Nonnull
+    private final ClassModel model;
+    @Nullable
+    private final ClassDescriptor superclassDescriptor;
+    @Nullable
+    private final ClassFacts superclass;
+    private final boolean hierarchyFreeFromMutableFields;
+
+    ClassFacts(@Nonnull ClassDescriptor descriptor, @Nonnull ClassModel model,
+            @Nullable ClassDescriptor superclassDescriptor, @Nullable ClassFacts superclass) {
+        this.descriptor = checkNotNull(descriptor);
+        this.model = checkNotNull(model);
+        this.superclassDescriptor = superclassDescriptor;
+        this.superclass = superclass;
+        this.hierarchyFreeFromMutableFields = model.getMutableInstanceFields().isEmpty()
+                && (superclassDescriptor == null || (superclass != null && superclass.hierarchyFreeFromMutableFields));
+    }
+
+    /**
+     * @return cached facts about specified class
+     * @throws CheckedAnalysisException if FindBugs cannot load specified class
+     */
+    @Nonnull
+    @CheckReturnValue
+    public static ClassFacts of(@Nonnull ClassDescriptor descriptor) throws CheckedAnalysisException {
+        IAnalysisCache cache = Global.getAnalysisCache();
+        EngineRegistrar.ensureRegistered(cache);
+        return cache.getClassAnalysis(ClassFacts.class, descriptor);
+    }
+
+    @Nonnull
+    @CheckReturnValue
+    public ClassDescriptor getDescriptor() {
+        return descriptor;
+    }
+
+    @Override
+    @Nonnull
+    public ClassModel getModel() {
+        return model;
+    }
+
+    /**
+     * <p>This verdict is computed once per class, and reuses verdict of super class.</p>
+     */
+    @Override
+    public boolean isHierarchyFreeFromMutableFields() {
+        return hierarchyFreeFromMutableFields;
+    }
+
+    /**
+     * @return descriptor of super class, or {@code null} if this class is {@code java.lang.Object}.
+     */
+    @CheckForNull
+    @CheckReturnValue
+    public ClassDescriptor getSuperclassDescriptor() {
+        return superclassDescriptor;
+    }
+
+    @Override
+    @CheckForNull
+    public ClassFacts getSuperclass() {
+        return superclass;
+    }
+
+    @Override
+    public boolean isSuperclassMissing() {
+        return superclassDescriptor != null && superclass == null;
+    }
+}
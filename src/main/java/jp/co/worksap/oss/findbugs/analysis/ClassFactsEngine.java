@@ -0,0 +1,41 @@
+package jp.co.worksap.oss.findbugs.analysis;
+
+import jp.co.worksap.oss.findbugs.rules.ClassModel;
+
+import edu.umd.cs.findbugs.classfile.CheckedAnalysisException;
+import edu.umd.cs.findbugs.classfile.ClassDescriptor;
+import edu.umd.cs.findbugs.classfile.DescriptorFactory;
+import edu.umd.cs.findbugs.classfile.IAnalysisCache;
+import edu.umd.cs.findbugs.classfile.RecomputableClassAnalysisEngine;
+import edu.umd.cs.findbugs.classfile.analysis.ClassData;
+
+/**
+ * <p>Analysis engine which computes {@link ClassFacts} from bytes which FindBugs has already loaded.</p>
+ * <p>Facts about super class are also taken from {@link IAnalysisCache}, so each class in a hierarchy is parsed only once.</p>
+ *
+ * @author Kengo TODA
+ */
+final class ClassFactsEngine extends RecomputableClassAnalysisEngine<ClassFacts> {
+    @Override
+    public ClassFacts analyze(IAnalysisCache analysisCache, ClassDescriptor descriptor) throws CheckedAnalysisException {
+        ClassData classData = analysisCache.getClassAnalysis(ClassData.class, descriptor);
+        ClassModel model = ClassModel.parse(classData.getData());
+
+        ClassDescriptor superclassDescriptor = null;
+        ClassFacts superclass = null;
+        if (model.getSuperName() != null) {
+            superclassDescriptor = DescriptorFactory.createClassDescriptor(model.getSuperName());
+            try {
+                superclass = analysisCache.getClassAnalysis(ClassFacts.class, superclassDescriptor);
+            } catch (CheckedAnalysisException e) {
+                // keep superclass null, so ClassFacts#isSuperclassMissing() returns true
+            }
+        }
+        return new ClassFacts(descriptor, model, superclassDescriptor, superclass);
+    }
+
+    @Override
+    public void registerWith(IAnalysisCache analysisCache) {
+        analysisCache.registerClassAnalysisEngine(ClassFacts.class, this);
+    }
+}
@@ -0,0 +1,140 @@
+package jp.co.worksap.oss.findbugs.analysis;
+
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import edu.umd.cs.findbugs.internalAnnotations.DottedClassName;
+
+/**
+ * <p>Set of class name patterns, compiled into a trie whose edges are package segments.
+ * To match class, we walk its package segments only once, and compare simple name with globs on the way.</p>
+ * <p>Supported patterns are:</p>
+ * <ul>
+ * <li>{@code com.example.**} matches all classes in {@code com.example} and its sub packages,</li>
+ * <li>{@code com.example.*} matches all classes in {@code com.example},</li>
+ * <li>{@code com.example.Q*} matches classes in {@code com.example} whose simple name matches glob, and</li>
+ * <li>{@code com.example.**.Q*} matches classes in {@code com.example} and its sub packages
+ * whose simple name matches glob. {@code **.Q*} matches classes in any package.</li>
+ * </ul>
+ * <p>Glob supports {@code *} and {@code ?}. Simple name of nested class contains {@code $}.</p>
+ *
+ * @author Kengo TODA
+ */
+final class ClassPatternTrie {
+    private static final String ANY_PACKAGE = "**";
+    private static final Splitter SEGMENTS = Splitter.on('.');
+
+    private final Node root = new Node();
+    private boolean empty = true;
+
+    /**
+     * @throws IllegalArgumentException if pattern has wildcard in package segment
+     */
+    void add(@Nonnull String pattern) {
+        List<String> segments = Lists.newArrayList(SEGMENTS.split(pattern.trim()));
+        String last = segments.remove(segments.size() - 1);
+        boolean deep = !segments.isEmpty() && segments.get(segments.size() - 1).equals(ANY_PACKAGE);
+        if (deep) {
+            segments.remove(segments.size() - 1);
+        }
+
+        Node node = root;
+        for (String segment : segments) {
+            if (segment.isEmpty() || segment.indexOf('*') >= 0 || segment.indexOf('?') >= 0) {
+                throw new IllegalArgumentException("Invalid class name pattern: " + pattern);
+            }
+            node = node.child(segment);
+        }
+
+        if (last.equals(ANY_PACKAGE) && !deep) {
+            node.subtree = true;
+        } else if (last.isEmpty() || last.equals(ANY_PACKAGE)) {
+            throw new IllegalArgumentException("Invalid class name pattern: " + pattern);
+        } else if (deep) {
+            node.deepGlobs.add(last);
+        } else {
+            node.globs.add(last);
+        }
+        empty = false;
+    }
+
+    @CheckReturnValue
+    boolean isEmpty() {
+        return empty;
+    }
+
+    @CheckReturnValue
+    boolean matches(@Nonnull @DottedClassName String className) {
+        int lastDot = className.lastIndexOf('.');
+        String simpleName = className.substring(lastDot + 1);
+
+        Node node = root;
+        int start = 0;
+        while (true) {
+            if (node.subtree || matchesAny(node.deepGlobs, simpleName)) {
+                return true;
+            }
+            if (start > lastDot) {
+                return matchesAny(node.globs, simpleName);
+            }
+            int end = className.indexOf('.', start);
+            node = node.children.get(className.substring(start, end));
+            if (node == null) {
+                return false;
+            }
+            start = end + 1;
+        }
+    }
+
+    private static boolean matchesAny(@Nonnull List<String> globs, @Nonnull String simpleName) {
+        for (String glob : globs) {
+            if (matchesGlob(glob, 0, simpleName, 0)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matchesGlob(String glob, int g, String name, int n) {
+        while (g < glob.length()) {
+            char c = glob.charAt(g);
+            if (c == '*') {
+                for (int i = n; i <= name.length(); ++i) {
+                    if (matchesGlob(glob, g + 1, name, i)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            if (n >= name.length() || (c != '?' && c != name.charAt(n))) {
+                return false;
+            }
+            ++g;
+            ++n;
+        }
+        return n == name.length();
+    }
+
+    private static final class Node {
+        final Map<String, Node> children = Maps.newHashMap();
+        final List<String> globs = Lists.newArrayList();
+        final List<String> deepGlobs = Lists.newArrayList();
+        boolean subtree;
+
+        Node child(String segment) {
+            Node child = children.get(segment);
+            if (child == null) {
+                child = new Node();
+                children.put(segment, child);
+            }
+            return child;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package jp.co.worksap.oss.findbugs.analysis;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.Set;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+
+import jp.co.worksap.oss.findbugs.metrics.CacheMetrics;
+import jp.co.worksap.oss.findbugs.metrics.Metrics;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+
+import edu.umd.cs.findbugs.SystemProperties;
+import edu.umd.cs.findbugs.ba.XClass;
+import edu.umd.cs.findbugs.classfile.CheckedAnalysisException;
+import edu.umd.cs.findbugs.classfile.ClassDescriptor;
+import edu.umd.cs.findbugs.classfile.DescriptorFactory;
+import edu.umd.cs.findbugs.classfile.Global;
+import edu.umd.cs.findbugs.classfile.IAnalysisCache;
+
+/**
+ * <p>Decides which classes detectors in this plugin analyze. Verdict is computed only once per class,
+ * and shared by all detectors in this plugin.</p>
+ * <p>Scope is configured by FindBugs properties (e.g. {@code -property} option of command line):</p>
+ * <ul>
+ * <li>{@value #INCLUDE}: comma separated {@link ClassPatternTrie patterns}. If specified,
+ * only matched classes are analyzed.</li>
+ * <li>{@value #EXCLUDE}: comma separated {@link ClassPatternTrie patterns} of classes which are not analyzed,
+ * like {@code com.example.jaxb.**} or {@code **.Q*}.</li>
+ * <li>{@value #GENERATED_MARKERS}: comma separated names of annotations and super classes which mark
+ * generated classes. Default value marks classes generated by protobuf.</li>
+ * <li>{@value #EXCLUDE_GENERATED}: {@code false} to analyze synthetic and generated classes. Default is {@code true}.</li>
+ * </ul>
+ * <p>Detectors should ask scope after their cheap prefilter, because scope reads header of class.</p>
+ *
+ * @author Kengo TODA
+ */
+@ThreadSafe
+public final class ClassScope {
+    static final String INCLUDE = "jp.co.worksap.oss.findbugs.scope.include";
+    static final String EXCLUDE = "jp.co.worksap.oss.findbugs.scope.exclude";
+    static final String GENERATED_MARKERS = "jp.co.worksap.oss.findbugs.scope.generatedMarkers";
+    static final String EXCLUDE_GENERATED = "jp.co.worksap.oss.findbugs.scope.excludeGenerated";
+    /**
+     * FindBugs properties which configure scope.
+     */
+    static final ImmutableList<String> PROPERTIES = ImmutableList.of(INCLUDE, EXCLUDE, GENERATED_MARKERS, EXCLUDE_GENERATED);
+    private static final String DEFAULT_GENERATED_MARKERS =
+            "com.google.protobuf.GeneratedMessage,com.google.protobuf.GeneratedMessageLite";
+    private static final Splitter LIST = Splitter.on(',').trimResults().omitEmptyStrings();
+    private final CacheMetrics metrics = Metrics.forCache(ClassScope.class.getSimpleName());
+
+    @Nonnull
+    private final ClassPatternTrie includes;
+    @Nonnull
+    private final ClassPatternTrie excludes;
+    /**
+     * Descriptors of generated markers, or empty if we analyze generated classes.
+     */
+    @Nonnull
+    private final Set<ClassDescriptor> generatedMarkers;
+    private final boolean excludeGenerated;
+    private final ConcurrentMap<ClassDescriptor, Boolean> verdicts = Maps.newConcurrentMap();
+
+    ClassScope(@Nonnull ClassPatternTrie includes, @Nonnull ClassPatternTrie excludes,
+            @Nonnull Set<ClassDescriptor> generatedMarkers, boolean excludeGenerated) {
+        this.includes = checkNotNull(includes);
+        this.excludes = checkNotNull(excludes);
+        this.generatedMarkers = ImmutableSet.copyOf(generatedMarkers);
+        this.excludeGenerated = excludeGenerated;
+    }
+
+    /**
+     * @return scope which is configured by FindBugs properties
+     * @throws IllegalArgumentException if configured pattern is invalid
+     */
+    @Nonnull
+    @CheckReturnValue
+    static ClassScope fromProperties() {
+        ClassPatternTrie includes = patternsOf(INCLUDE);
+        ClassPatternTrie excludes = patternsOf(EXCLUDE);
+        ImmutableSet.Builder<ClassDescriptor> markers = ImmutableSet.builder();
+        for (String marker : LIST.split(SystemProperties.getProperty(GENERATED_MARKERS, DEFAULT_GENERATED_MARKERS))) {
+            markers.add(DescriptorFactory.createClassDescriptorFromDottedClassName(marker));
+        }
+        boolean excludeGenerated = SystemProperties.getBoolean(EXCLUDE_GENERATED, true);
+        return new ClassScope(includes, excludes, markers.build(), excludeGenerated);
+    }
+
+    /**
+     * @return database which is shared in current analysis
+     */
+    @Nonnull
+    @CheckReturnValue
+    public static ClassScope get() throws CheckedAnalysisException {
+        IAnalysisCache cache = Global.getAnalysisCache();
+        EngineRegistrar.ensureRegistered(cache);
+        return cache.getDatabase(ClassScope.class);
+    }
+
+    /**
+     * @return true if detectors in this plugin should analyze specified class
+     */
+    @CheckReturnValue
+    public boolean contains(@Nonnull ClassDescriptor descriptor) {
+        Boolean verdict = verdicts.get(descriptor);
+        if (verdict == null) {
+            metrics.miss();
+            verdict = Boolean.valueOf(decide(descriptor));
+            verdicts.put(descriptor, verdict);
+        } else {
+            metrics.hit();
+        }
+        return verdict.booleanValue();
+    }
+
+    /**
+     * @throws IllegalArgumentException if property has invalid pattern
+     */
+    @Nonnull
+    private static ClassPatternTrie patternsOf(@Nonnull String property) {
+        ClassPatternTrie patterns = new ClassPatternTrie();
+        for (String pattern : LIST.split(SystemProperties.getProperty(property, ""))) {
+            try {
+                patterns.add(pattern);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(property + " has invalid pattern: " + pattern, e);
+            }
+        }
+        return patterns;
+    }
+
+    private boolean decide(@Nonnull ClassDescriptor descriptor) {
+        String className = descriptor.getDottedClassName();
+        if (!includes.isEmpty() && !includes.matches(className)) {
+            return false;
+        }
+        if (excludes.matches(className)) {
+            return false;
+        }
+        return !excludeGenerated || !isGenerated(descriptor);
+    }
+
+    /**
+     * <p>We use {@link XClass} which FindBugs has built for each application class before detectors run,
+     * so we check access flags, super class and annotations of class without parsing its methods.</p>
+     */
+    private boolean isGenerated(@Nonnull ClassDescriptor descriptor) {
+        XClass xClass;
+        try {
+            xClass = Global.getAnalysisCache().getClassAnalysis(XClass.class, descriptor);
+        } catch (CheckedAnalysisException e) {
+            // we cannot decide, so let detectors analyze this class
+            return false;
+        }
+        if (xClass.isSynthetic() || generatedMarkers.contains(xClass.getSuperclassDescriptor())) {
+            return true;
+        }
+        for (ClassDescriptor annotation : xClass.getAnnotationDescriptors()) {
+            if (generatedMarkers.contains(annotation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,31 @@
+package jp.co.worksap.oss.findbugs.analysis;
+
+import java.util.logging.Logger;
+
+import edu.umd.cs.findbugs.classfile.CheckedAnalysisException;
+import edu.umd.cs.findbugs.classfile.IAnalysisCache;
+import edu.umd.cs.findbugs.classfile.IDatabaseFactory;
+
+/**
+ * <p>Factory which creates {@link ClassScope} from FindBugs properties once per analysis.</p>
+ *
+ * @author Kengo TODA
+ */
+final class ClassScopeFactory implements IDatabaseFactory<ClassScope> {
+    private static final Logger LOGGER = Logger.getLogger(ClassScopeFactory.class.getName());
+
+    @Override
+    public ClassScope createDatabase() throws CheckedAnalysisException {
+        try {
+            return ClassScope.fromProperties();
+        } catch (IllegalArgumentException e) {
+            LOGGER.severe("Invalid scope of analysis, so detectors in this plugin analyze no class: " + e.getMessage());
+            throw new CheckedAnalysisException("Invalid scope of analysis: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void registerWith(IAnalysisCache analysisCache) {
+        analysisCache.registerDatabaseFactory(ClassScope.class, this);
+    }
+}
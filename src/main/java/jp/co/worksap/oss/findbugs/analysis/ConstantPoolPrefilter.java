@@ -0,0 +1,118 @@
+package jp.co.worksap.oss.findbugs.analysis;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+import edu.umd.cs.findbugs.classfile.CheckedAnalysisException;
+import edu.umd.cs.findbugs.classfile.ClassDescriptor;
+import edu.umd.cs.findbugs.classfile.Global;
+import edu.umd.cs.findbugs.classfile.IAnalysisCache;
+
+/**
+ * <p>Bitset of {@link PrefilterTarget detector families} which can possibly fire on a class.</p>
+ * <p>It is computed by scanning UTF8 entries in constant pool only, without parsing fields and methods.
+ * If class does not refer annotation which detector targets, detector can skip this class.</p>
+ *
+ * @author Kengo TODA
+ */
+@Immutable
+public final class ConstantPoolPrefilter {
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_FLOAT = 4;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_INTERFACE_METHODREF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+    private static final int CONSTANT_METHOD_HANDLE = 15;
+    private static final int CONSTANT_METHOD_TYPE = 16;
+    private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+
+    private static final int ALL = -1;
+
+    private final int bits;
+
+    ConstantPoolPrefilter(int bits) {
+        this.bits = bits;
+    }
+
+    /**
+     * @return cached prefilter of specified class
+     * @throws CheckedAnalysisException if FindBugs cannot load specified class
+     */
+    @Nonnull
+    @CheckReturnValue
+    public static ConstantPoolPrefilter of(@Nonnull ClassDescriptor descriptor) throws CheckedAnalysisException {
+        IAnalysisCache cache = Global.getAnalysisCache();
+        EngineRegistrar.ensureRegistered(cache);
+        return cache.getClassAnalysis(ConstantPoolPrefilter.class, descriptor);
+    }
+
+    /**
+     * <p>Walk constant pool in class file format. Only tags and lengths are read, and nothing is decoded.
+     * If constant pool has unknown tag, we cannot skip this class so all detectors may fire.</p>
+     */
+    @Nonnull
+    @CheckReturnValue
+    static ConstantPoolPrefilter scan(@Nonnull byte[] classBytes) {
+        int count = readUnsignedShort(classBytes, 8);
+        int offset = 10;
+        int bits = 0;
+        for (int i = 1; i < count; ++i) {
+            int tag = classBytes[offset];
+            switch (tag) {
+            case CONSTANT_UTF8:
+                int length = readUnsignedShort(classBytes, offset + 1);
+                for (PrefilterTarget target : PrefilterTarget.values()) {
+                    if (target.matches(classBytes, offset + 3, length)) {
+                        bits |= target.mask();
+                    }
+                }
+                offset += 3 + length;
+                break;
+            case CONSTANT_LONG:
+            case CONSTANT_DOUBLE:
+                offset += 9;
+                ++i;
+                break;
+            case CONSTANT_INTEGER:
+            case CONSTANT_FLOAT:
+            case CONSTANT_FIELDREF:
+            case CONSTANT_METHODREF:
+            case CONSTANT_INTERFACE_METHODREF:
+            case CONSTANT_NAME_AND_TYPE:
+            case CONSTANT_INVOKE_DYNAMIC:
+                offset += 5;
+                break;
+            case CONSTANT_METHOD_HANDLE:
+                offset += 4;
+                break;
+            case CONSTANT_CLASS:
+            case CONSTANT_STRING:
+            case CONSTANT_METHOD_TYPE:
+                offset += 3;
+                break;
+            default:
+                return new ConstantPoolPrefilter(ALL);
+            }
+        }
+        return new ConstantPoolPrefilter(bits);
+    }
+
+    private static int readUnsignedShort(byte[] bytes, int offset) {
+        return ((bytes[offset] & 0xFF) << 8) | (bytes[offset + 1] & 0xFF);
+    }
+
+    /**
+     * @return false if detectors in specified family never fire on this class
+     */
+    @CheckReturnValue
+    public boolean mayFire(@Nonnull PrefilterTarget target) {
+        return (bits & target.mask()) != 0;
+    }
+}
@@ -0,0 +1,24 @@
+package jp.co.worksap.oss.findbugs.analysis;
+
+import edu.umd.cs.findbugs.classfile.CheckedAnalysisException;
+import edu.umd.cs.findbugs.classfile.ClassDescriptor;
+import edu.umd.cs.findbugs.classfile.IAnalysisCache;
+import edu.umd.cs.findbugs.classfile.RecomputableClassAnalysisEngine;
+import edu.umd.cs.findbugs.classfile.analysis.ClassData;
+
+/**
+ * <p>Analysis engine which computes {@link ConstantPoolPrefilter} from bytes which FindBugs has already loaded.</p>
+ *
+ * @author Kengo TODA
+ */
+final class ConstantPoolPrefilterEngine extends RecomputableClassAnalysisEngine<ConstantPoolPrefilter> {
+    @Override
+    public ConstantPoolPrefilter analyze(IAnalysisCache analysisCache, ClassDescriptor descriptor) throws CheckedAnalysisException {
+        return ConstantPoolPrefilter.scan(analysisCache.getClassAnalysis(ClassData.class, descriptor).getData());
+    }
+
+    @Override
+    public void registerWith(IAnalysisCache analysisCache) {
+        analysisCache.registerClassAnalysisEngine(ConstantPoolPrefilter.class, this);
+    }
+}
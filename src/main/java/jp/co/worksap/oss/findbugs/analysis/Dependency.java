@@ -0,0 +1,165 @@
+package jp.co.worksap.oss.findbugs.analysis;
+
+import java.util.Set;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+import org.apache.bcel.Constants;
+import org.apache.bcel.classfile.Constant;
+import org.apache.bcel.classfile.ConstantCP;
+import org.apache.bcel.classfile.ConstantInterfaceMethodref;
+import org.apache.bcel.classfile.ConstantMethodref;
+import org.apache.bcel.classfile.ConstantPool;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Sets;
+
+import edu.umd.cs.findbugs.ba.ClassContext;
+import edu.umd.cs.findbugs.ba.XClass;
+import edu.umd.cs.findbugs.ba.XMethod;
+import edu.umd.cs.findbugs.classfile.CheckedAnalysisException;
+import edu.umd.cs.findbugs.classfile.ClassDescriptor;
+import edu.umd.cs.findbugs.classfile.DescriptorFactory;
+import edu.umd.cs.findbugs.classfile.Global;
+
+/**
+ * <p>Classes which verdict of detector depends on, in addition to the analyzed class itself.
+ * {@link ResultCache} reuses findings only when none of them has been changed.</p>
+ * <p>Class which FindBugs cannot load is still a dependency, so cached findings are dropped
+ * when it appears in classpath.</p>
+ *
+ * @author Kengo TODA
+ * @see IncrementalAnalysis
+ */
+public enum Dependency {
+    /**
+     * <p>Super classes, which immutability of class depends on.</p>
+     */
+    SUPERCLASSES {
+        @Override
+        public void collect(@Nonnull ClassContext classContext, @Nonnull Set<ClassDescriptor> dependencies) {
+            ClassDescriptor superclass = classContext.getXClass().getSuperclassDescriptor();
+            while (superclass != null && dependencies.add(superclass)) {
+                XClass xClass = findClass(superclass);
+                superclass = xClass == null ? null : xClass.getSuperclassDescriptor();
+            }
+        }
+    },
+    /**
+     * <p>Classes in the same package which analyzed class invokes, and their super types
+     * which may declare invoked method.</p>
+     */
+    INVOKED_CLASSES {
+        @Override
+        public void collect(@Nonnull ClassContext classContext, @Nonnull Set<ClassDescriptor> dependencies) {
+            ClassDescriptor descriptor = classContext.getClassDescriptor();
+            ConstantPool constantPool = classContext.getJavaClass().getConstantPool();
+            for (Constant constant : constantPool.getConstantPool()) {
+                if (!(constant instanceof ConstantMethodref || constant instanceof ConstantInterfaceMethodref)) {
+                    continue;
+                }
+                String className = constantPool.getConstantString(((ConstantCP) constant).getClassIndex(), Constants.CONSTANT_Class);
+                if (className.startsWith("[")) {
+                    // method of array like clone()
+                    continue;
+                }
+                ClassDescriptor invoked = DescriptorFactory.createClassDescriptor(className);
+                if (!invoked.equals(descriptor) && invoked.getPackageName().equals(descriptor.getPackageName())) {
+                    collectTypes(invoked, dependencies);
+                }
+            }
+        }
+    },
+    /**
+     * <p>Scopes which may declare default nullness, i.e. enclosing classes and package-info,
+     * and super types whose methods may pass their nullness down to overriding methods.
+     * Package-info of super types are also included, because they may declare default of inherited methods.</p>
+     * <p>Annotation types which these scopes use are included too, because user can define
+     * own {@code @TypeQualifierDefault} or {@code @TypeQualifierNickname} annotation.</p>
+     */
+    PACKAGE_DEFAULTS {
+        @Override
+        public void collect(@Nonnull ClassContext classContext, @Nonnull Set<ClassDescriptor> dependencies) {
+            XClass analyzed = classContext.getXClass();
+            Set<ClassDescriptor> scopes = Sets.newHashSet();
+            collectSupertypes(analyzed, scopes);
+            for (ClassDescriptor enclosing = analyzed.getImmediateEnclosingClass(); enclosing != null && scopes.add(enclosing);) {
+                XClass xClass = findClass(enclosing);
+                enclosing = xClass == null ? null : xClass.getImmediateEnclosingClass();
+            }
+            for (ClassDescriptor scope : ImmutableList.copyOf(scopes)) {
+                scopes.add(packageInfoOf(scope));
+            }
+            scopes.add(packageInfoOf(analyzed.getClassDescriptor()));
+            dependencies.addAll(scopes);
+
+            collectAnnotationTypes(analyzed, dependencies);
+            for (ClassDescriptor scope : scopes) {
+                XClass xClass = findClass(scope);
+                if (xClass != null) {
+                    collectAnnotationTypes(xClass, dependencies);
+                }
+            }
+        }
+    };
+
+    /**
+     * <p>Add classes which verdict about analyzed class depends on.</p>
+     */
+    public abstract void collect(@Nonnull ClassContext classContext, @Nonnull Set<ClassDescriptor> dependencies);
+
+    /**
+     * <p>Add specified class and its super types.</p>
+     */
+    private static void collectTypes(@Nonnull ClassDescriptor descriptor, @Nonnull Set<ClassDescriptor> dependencies) {
+        if (dependencies.add(descriptor)) {
+            XClass xClass = findClass(descriptor);
+            if (xClass != null) {
+                collectSupertypes(xClass, dependencies);
+            }
+        }
+    }
+
+    private static void collectSupertypes(@Nonnull XClass xClass, @Nonnull Set<ClassDescriptor> dependencies) {
+        ClassDescriptor superclass = xClass.getSuperclassDescriptor();
+        if (superclass != null) {
+            collectTypes(superclass, dependencies);
+        }
+        for (ClassDescriptor implemented : xClass.getInterfaceDescriptorList()) {
+            collectTypes(implemented, dependencies);
+        }
+    }
+
+    @Nonnull
+    private static ClassDescriptor packageInfoOf(@Nonnull ClassDescriptor descriptor) {
+        String packageName = descriptor.getPackageName();
+        String packageInfo = packageName.isEmpty() ? "package-info" : packageName + ".package-info";
+        return DescriptorFactory.createClassDescriptorFromDottedClassName(packageInfo);
+    }
+
+    /**
+     * <p>Add annotation types which are applied to specified class, its methods and their parameters.</p>
+     */
+    private static void collectAnnotationTypes(@Nonnull XClass xClass, @Nonnull Set<ClassDescriptor> dependencies) {
+        dependencies.addAll(xClass.getAnnotationDescriptors());
+        for (XMethod xMethod : xClass.getXMethods()) {
+            dependencies.addAll(xMethod.getAnnotationDescriptors());
+            for (int i = 0; i < xMethod.getNumParams(); ++i) {
+                dependencies.addAll(xMethod.getParameterAnnotationDescriptors(i));
+            }
+        }
+    }
+
+    /**
+     * @return class which FindBugs has loaded, or {@code null} if it is missing
+     */
+    @CheckForNull
+    private static XClass findClass(@Nonnull ClassDescriptor descriptor) {
+        try {
+            return Global.getAnalysisCache().getClassAnalysis(XClass.class, descriptor);
+        } catch (CheckedAnalysisException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package jp.co.worksap.oss.findbugs.analysis;
+
+import java.util.concurrent.ConcurrentMap;
+
+import javax.annotation.Nonnull;
+
+import jp.co.worksap.oss.findbugs.metrics.MetricsFactory;
+
+import com.google.common.collect.MapMaker;
+
+import edu.umd.cs.findbugs.classfile.IAnalysisCache;
+import edu.umd.cs.findbugs.classfile.IAnalysisEngineRegistrar;
+
+/**
+ * <p>Registers analysis engines of this plugin. FindBugs calls this class when it loads plugin,
+ * because findbugs.xml declares it as {@code EngineRegistrar}.</p>
+ * <p>Registered caches are held by weak keys, so finished analysis can be collected. Engines are registered
+ * under lock only once per cache, and {@link #ensureRegistered(IAnalysisCache)} which database lookups call
+ * for every class checks it without lock.</p>
+ *
+ * @author Kengo TODA
+ */
+public class EngineRegistrar implements IAnalysisEngineRegistrar {
+    private static final ConcurrentMap<IAnalysisCache, Boolean> REGISTERED = new MapMaker().weakKeys().makeMap();
+
+    @Override
+    public void registerAnalysisEngines(IAnalysisCache analysisCache) {
+        register(analysisCache);
+    }
+
+    /**
+     * <p>Register engines if they are not registered yet.
+     * It is necessary when detectors run without loading plugin, e.g. in unit test.</p>
+     */
+    public static void ensureRegistered(@Nonnull IAnalysisCache analysisCache) {
+        if (!REGISTERED.containsKey(analysisCache)) {
+            register(analysisCache);
+        }
+    }
+
+    private static void register(@Nonnull IAnalysisCache analysisCache) {
+        synchronized (REGISTERED) {
+            if (REGISTERED.containsKey(analysisCache)) {
+                return;
+            }
+            new ClassFactsEngine().registerWith(analysisCache);
+            new ConstantPoolPrefilterEngine().registerWith(analysisCache);
+            new VisibleForTestingIndexEngine().registerWith(analysisCache);
+            new VisibleForTestingPackagesFactory().registerWith(analysisCache);
+            new VisibleForTestingResolverFactory().registerWith(analysisCache);
+            new MissingClassesFactory().registerWith(analysisCache);
+            new FrameworkAvailabilityFactory().registerWith(analysisCache);
+            new ClassScopeFactory().registerWith(analysisCache);
+            new ClassDigestEngine().registerWith(analysisCache);
+            new ResultCacheFactory().registerWith(analysisCache);
+            new MetricsFactory().registerWith(analysisCache);
+            // publish cache after all engines are registered, so check without lock never sees partial registration
+            REGISTERED.put(analysisCache, Boolean.TRUE);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package jp.co.worksap.oss.findbugs.analysis;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+
+import edu.umd.cs.findbugs.internalAnnotations.SlashedClassName;
+
+/**
+ * <p>Framework which detectors in this plugin verify. If none of its marker types is reachable from
+ * classpath, detectors for it cannot find any bug, so they are disabled for the whole analysis.</p>
+ *
+ * @author Kengo TODA
+ * @see FrameworkAvailability
+ */
+public enum Framework {
+    JPA("javax/persistence/Entity",
+            "org/hibernate/annotations/Index",
+            "org/apache/openjpa/persistence/jdbc/Index"),
+    GUAVA("com/google/common/annotations/VisibleForTesting"),
+    JUNIT("org/junit/Ignore"),
+    JSR305("javax/annotation/Nonnull",
+            "javax/annotation/concurrent/Immutable");
+
+    private final List<String> markerTypes;
+
+    private Framework(@SlashedClassName String... markerTypes) {
+        this.markerTypes = Collections.unmodifiableList(Arrays.asList(markerTypes));
+    }
+
+    @Nonnull
+    @CheckReturnValue
+    List<String> getMarkerTypes() {
+        return markerTypes;
+    }
+}
@@ -0,0 +1,75 @@
+package jp.co.worksap.oss.findbugs.analysis;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+
+import edu.umd.cs.findbugs.classfile.CheckedAnalysisException;
+import edu.umd.cs.findbugs.classfile.Global;
+import edu.umd.cs.findbugs.classfile.IAnalysisCache;
+import edu.umd.cs.findbugs.classfile.IClassPath;
+import edu.umd.cs.findbugs.classfile.ResourceNotFoundException;
+
+/**
+ * <p>Database which tells whether each {@link Framework} is reachable from classpath of current analysis.
+ * Each framework is looked up only once, and the decision is logged.</p>
+ *
+ * @author Kengo TODA
+ */
+@ThreadSafe
+public final class FrameworkAvailability {
+    private static final Logger LOGGER = Logger.getLogger(FrameworkAvailability.class.getName());
+
+    private final IClassPath classPath;
+    private final Map<Framework, Boolean> availability = new EnumMap<Framework, Boolean>(Framework.class);
+
+    FrameworkAvailability(@Nonnull IClassPath classPath) {
+        this.classPath = classPath;
+    }
+
+    /**
+     * @return database which is shared in current analysis
+     */
+    @Nonnull
+    @CheckReturnValue
+    public static FrameworkAvailability get() throws CheckedAnalysisException {
+        IAnalysisCache cache = Global.getAnalysisCache();
+        EngineRegistrar.ensureRegistered(cache);
+        return cache.getDatabase(FrameworkAvailability.class);
+    }
+
+    /**
+     * <p>Synchronized to look up and log each framework only once. Detectors call it only once per analysis
+     * through {@link FrameworkSwitch}, so contention does not matter.</p>
+     */
+    @CheckReturnValue
+    public synchronized boolean isAvailable(@Nonnull Framework framework) {
+        Boolean result = availability.get(framework);
+        if (result == null) {
+            result = Boolean.valueOf(lookUp(framework));
+            availability.put(framework, result);
+        }
+        return result.booleanValue();
+    }
+
+    private boolean lookUp(@Nonnull Framework framework) {
+        for (String markerType : framework.getMarkerTypes()) {
+            try {
+                classPath.lookupResource(markerType + ".class");
+                LOGGER.log(Level.FINE, "Enabled detectors for {0}, because {1} is found in classpath",
+                        new Object[] { framework, markerType });
+                return true;
+            } catch (ResourceNotFoundException e) {
+                // try next marker type
+            }
+        }
+        LOGGER.log(Level.INFO, "Disabled detectors for {0}, because none of {1} is found in classpath",
+                new Object[] { framework, framework.getMarkerTypes() });
+        return false;
+    }
+}
@@ -0,0 +1,22 @@
+package jp.co.worksap.oss.findbugs.analysis;
+
+import edu.umd.cs.findbugs.classfile.Global;
+import edu.umd.cs.findbugs.classfile.IAnalysisCache;
+import edu.umd.cs.findbugs.classfile.IDatabaseFactory;
+
+/**
+ * <p>Factory which creates {@link FrameworkAvailability} once per analysis.</p>
+ *
+ * @author Kengo TODA
+ */
+final class FrameworkAvailabilityFactory implements IDatabaseFactory<FrameworkAvailability> {
+    @Override
+    public FrameworkAvailability createDatabase() {
+        return new FrameworkAvailability(Global.getAnalysisCache().getClassPath());
+    }
+
+    @Override
+    public void registerWith(IAnalysisCache analysisCache) {
+        analysisCache.registerDatabaseFactory(FrameworkAvailability.class, this);
+    }
+}
@@ -0,0 +1,47 @@
+package jp.co.worksap.oss.findbugs.analysis;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+
+import edu.umd.cs.findbugs.classfile.CheckedAnalysisException;
+
+/**
+ * <p>Remembers whether detector is enabled in current analysis. Each detector should have its own instance,
+ * so detector asks {@link FrameworkAvailability} only once and later classes cost one field read.</p>
+ *
+ * @author Kengo TODA
+ */
+public final class FrameworkSwitch {
+    @Nonnull
+    private final Framework framework;
+    /**
+     * Racing threads may resolve it twice, but they get the same answer.
+     */
+    private volatile Boolean enabled;
+
+    public FrameworkSwitch(@Nonnull Framework framework) {
+        this.framework = checkNotNull(framework);
+    }
+
+    /**
+     * @return false if framework is not reachable from classpath, so detector should skip all classes
+     */
+    @CheckReturnValue
+    public boolean isEnabled() {
+        if (enabled == null) {
+            enabled = Boolean.valueOf(resolve());
+        }
+        return enabled.booleanValue();
+    }
+
+    private boolean resolve() {
+        try {
+            return FrameworkAvailability.get().isAvailable(framework);
+        } catch (CheckedAnalysisException e) {
+            // we cannot decide, so keep detector enabled
+            return true;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package jp.co.worksap.oss.findbugs.analysis;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import edu.umd.cs.findbugs.BugInstance;
+import edu.umd.cs.findbugs.BugReporter;
+import edu.umd.cs.findbugs.DelegatingBugReporter;
+import edu.umd.cs.findbugs.Detector;
+import edu.umd.cs.findbugs.ba.ClassContext;
+import edu.umd.cs.findbugs.classfile.CheckedAnalysisException;
+import edu.umd.cs.findbugs.classfile.ClassDescriptor;
+
+/**
+ * <p>Replays findings of unchanged class from {@link ResultCache}, and records findings of changed class into it.
+ * Each detector has its own instance, and uses it like below:</p>
+ * <pre><code>
+ * this.bugReporter = incremental.wrap(bugReporter);
+ * ...
+ * if (incremental.replay(classContext)) {
+ *     return;
+ * }
+ * // analyze class, and report bugs through this.bugReporter
+ * incremental.store();
+ * </code></pre>
+ * <p>Only bugs are cached. Missing classes and errors are reported only when class is analyzed.
+ * Cache is saved by {@link AnalysisFinisher} when analysis finishes.</p>
+ *
+ * @author Kengo TODA
+ * @see Dependency
+ */
+@NotThreadSafe
+public final class IncrementalAnalysis {
+    @Nonnull
+    private final Detector detector;
+    /**
+     * classes which verdict depends on, or {@code null} if detector does not cache its findings.
+     */
+    @Nullable
+    private final Dependency dependency;
+    private BugReporter bugReporter;
+    private ResultCache cache;
+    private String className;
+    private byte[] key;
+    private List<CachedBug> recording;
+
+    public IncrementalAnalysis(@Nonnull Detector detector, @Nullable Dependency dependency) {
+        this.detector = checkNotNull(detector);
+        this.dependency = dependency;
+    }
+
+    /**
+     * @return reporter which detector should use to report bugs, so they can be recorded
+     */
+    @Nonnull
+    @CheckReturnValue
+    public BugReporter wrap(@Nonnull BugReporter bugReporter) {
+        this.bugReporter = checkNotNull(bugReporter);
+        return dependency == null ? bugReporter : new RecordingBugReporter(bugReporter);
+    }
+
+    /**
+     * <p>Report cached findings if specified class and its dependencies have not been changed.
+     * Otherwise start recording findings for {@link #store()}.</p>
+     *
+     * @return true if findings are replayed, so detector should not analyze this class
+     */
+    @CheckReturnValue
+    public boolean replay(@Nonnull ClassContext classContext) {
+        checkState(bugReporter != null, "call wrap() first");
+        recording = null;
+        if (dependency == null) {
+            return false;
+        }
+        try {
+            cache = ResultCache.get();
+            if (!cache.isEnabled()) {
+                return false;
+            }
+            className = classContext.getClassDescriptor().getDottedClassName();
+            key = keyOf(classContext);
+        } catch (CheckedAnalysisException e) {
+            // we cannot decide, so let detector analyze this class
+            return false;
+        }
+
+        List<CachedBug> cached = cache.lookup(detector.getClass().getName(), className, key);
+        if (cached == null) {
+            recording = Lists.newArrayList();
+            return false;
+        }
+        for (CachedBug bug : cached) {
+            bugReporter.reportBug(bug.toBugInstance(detector));
+        }
+        return true;
+    }
+
+    /**
+     * <p>Store findings which are reported after last call of {@link #replay(ClassContext)}.</p>
+     */
+    public void store() {
+        if (recording != null) {
+            cache.store(detector.getClass().getName(), className, key, recording);
+            recording = null;
+        }
+    }
+
+    /**
+     * <p>Hash of plugin build, analyzed class and its dependencies. Dependency which FindBugs cannot load
+     * is hashed by its name, so key changes when it appears in classpath.</p>
+     */
+    @Nonnull
+    private byte[] keyOf(@Nonnull ClassContext classContext) throws CheckedAnalysisException {
+        Hasher hasher = Hashing.sha1().newHasher();
+        hasher.putBytes(cache.getFingerprint().asBytes());
+        hasher.putBytes(ClassDigest.of(classContext.getClassDescriptor()).getHash().asBytes());
+
+        Set<ClassDescriptor> dependencies = Sets.newTreeSet();
+        dependency.collect(classContext, dependencies);
+        for (ClassDescriptor descriptor : dependencies) {
+            hasher.putString(descriptor.getClassName(), Charsets.UTF_8);
+            try {
+                hasher.putBoolean(true).putBytes(ClassDigest.of(descriptor).getHash().asBytes());
+            } catch (CheckedAnalysisException e) {
+                hasher.putBoolean(false);
+            }
+        }
+        return hasher.hash().asBytes();
+    }
+
+    /**
+     * <p>Decorator of {@link BugReporter} which records reported bugs while class is analyzed.</p>
+     */
+    private final class RecordingBugReporter extends DelegatingBugReporter {
+        RecordingBugReporter(@Nonnull BugReporter delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void reportBug(BugInstance bugInstance) {
+            if (recording != null) {
+                if (CachedBug.isCacheable(bugInstance)) {
+                    recording.add(new CachedBug(bugInstance));
+                } else {
+                    // we cannot replay this class exactly, so analyze it again next time
+                    recording = null;
+                }
+            }
+            super.reportBug(bugInstance);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package jp.co.worksap.oss.findbugs.analysis;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+
+import edu.umd.cs.findbugs.BugReporter;
+import edu.umd.cs.findbugs.classfile.CheckedAnalysisException;
+import edu.umd.cs.findbugs.classfile.ClassDescriptor;
+import edu.umd.cs.findbugs.classfile.Global;
+import edu.umd.cs.findbugs.classfile.IAnalysisCache;
+import edu.umd.cs.findbugs.classfile.MissingClassException;
+
+/**
+ * <p>Negative cache of classes which FindBugs cannot load, shared by all detectors in this plugin.</p>
+ * <p>Each missing class is reported to {@link BugReporter#reportMissingClass(ClassDescriptor)} only once,
+ * and reporter aggregates them into one list. Detectors should skip analysis which needs missing class,
+ * instead of aborting analysis of whole class.</p>
+ *
+ * @author Kengo TODA
+ */
+@ThreadSafe
+public final class MissingClasses {
+    private final Set<ClassDescriptor> missing = Collections.newSetFromMap(new ConcurrentHashMap<ClassDescriptor, Boolean>());
+
+    MissingClasses() {
+    }
+
+    /**
+     * @return database which is shared in current analysis
+     */
+    @Nonnull
+    @CheckReturnValue
+    public static MissingClasses get() throws CheckedAnalysisException {
+        IAnalysisCache cache = Global.getAnalysisCache();
+        EngineRegistrar.ensureRegistered(cache);
+        return cache.getDatabase(MissingClasses.class);
+    }
+
+    @CheckReturnValue
+    public boolean isMissing(@Nonnull ClassDescriptor descriptor) {
+        return missing.contains(descriptor);
+    }
+
+    /**
+     * <p>Record specified class as missing, and report it if it is not reported yet.</p>
+     */
+    public void report(@Nonnull ClassDescriptor descriptor, @Nonnull BugReporter bugReporter) {
+        if (missing.add(descriptor)) {
+            bugReporter.reportMissingClass(descriptor);
+        }
+    }
+
+    /**
+     * <p>Report class which is missing, or log error if analysis failed by other reason.</p>
+     */
+    public void report(@Nonnull CheckedAnalysisException e, @Nonnull String message, @Nonnull BugReporter bugReporter) {
+        if (e instanceof MissingClassException) {
+            report(((MissingClassException) e).getClassDescriptor(), bugReporter);
+        } else {
+            bugReporter.logError(message, e);
+        }
+    }
+}
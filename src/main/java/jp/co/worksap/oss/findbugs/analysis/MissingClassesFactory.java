@@ -0,0 +1,21 @@
+package jp.co.worksap.oss.findbugs.analysis;
+
+import edu.umd.cs.findbugs.classfile.IAnalysisCache;
+import edu.umd.cs.findbugs.classfile.IDatabaseFactory;
+
+/**
+ * <p>Factory which creates {@link MissingClasses} once per analysis.</p>
+ *
+ * @author Kengo TODA
+ */
+final class MissingClassesFactory implements IDatabaseFactory<MissingClasses> {
+    @Override
+    public MissingClasses createDatabase() {
+        return new MissingClasses();
+    }
+
+    @Override
+    public void registerWith(IAnalysisCache analysisCache) {
+        analysisCache.registerDatabaseFactory(MissingClasses.class, this);
+    }
+}
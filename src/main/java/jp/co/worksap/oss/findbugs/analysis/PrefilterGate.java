@@ -0,0 +1,98 @@
+package jp.co.worksap.oss.findbugs.analysis;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import edu.umd.cs.findbugs.BugReporter;
+import edu.umd.cs.findbugs.ba.ClassContext;
+import edu.umd.cs.findbugs.classfile.CheckedAnalysisException;
+import edu.umd.cs.findbugs.classfile.ClassDescriptor;
+
+/**
+ * <p>Decides whether detector should visit class or not, and counts skipped classes.
+ * Each detector has its own instance through {@link RuleDetector}, and counters are safe to update
+ * from concurrent analysis.</p>
+ * <p>If framework of target is not in classpath, all classes are skipped without reading constant pool.
+ * Classes out of {@link ClassScope} are also skipped, but scope is checked only for classes which pass
+ * cheaper prefilter. If we cannot decide, error is logged and class is skipped.</p>
+ *
+ * @author Kengo TODA
+ * @see ConstantPoolPrefilter
+ */
+final class PrefilterGate {
+    private static final Logger LOGGER = Logger.getLogger(PrefilterGate.class.getName());
+
+    @Nonnull
+    private final BugReporter bugReporter;
+    @Nonnull
+    private final PrefilterTarget target;
+    @Nonnull
+    private final String detectorName;
+    @Nullable
+    private final FrameworkSwitch frameworkSwitch;
+    private final AtomicInteger visitedClasses = new AtomicInteger();
+    private final AtomicInteger skippedClasses = new AtomicInteger();
+
+    PrefilterGate(@Nonnull BugReporter bugReporter, @Nonnull PrefilterTarget target, @Nonnull Class<?> detectorClass) {
+        this.bugReporter = checkNotNull(bugReporter);
+        this.target = checkNotNull(target);
+        this.detectorName = detectorClass.getSimpleName();
+        Framework framework = target.getFramework();
+        this.frameworkSwitch = framework == null ? null : new FrameworkSwitch(framework);
+    }
+
+    /**
+     * @return true if detector should visit this class
+     */
+    @CheckReturnValue
+    boolean open(@Nonnull ClassContext classContext) {
+        visitedClasses.incrementAndGet();
+        if (frameworkSwitch != null && !frameworkSwitch.isEnabled()) {
+            skippedClasses.incrementAndGet();
+            return false;
+        }
+        ClassDescriptor descriptor = classContext.getClassDescriptor();
+        try {
+            if (ConstantPoolPrefilter.of(descriptor).mayFire(target) && ClassScope.get().contains(descriptor)) {
+                return true;
+            }
+        } catch (CheckedAnalysisException e) {
+            bugReporter.logError(detectorName + " could not decide whether to analyze " + descriptor.getDottedClassName(), e);
+        }
+        skippedClasses.incrementAndGet();
+        return false;
+    }
+
+    @CheckReturnValue
+    int getVisitedClasses() {
+        return visitedClasses.get();
+    }
+
+    @CheckReturnValue
+    int getSkippedClasses() {
+        return skippedClasses.get();
+    }
+
+    /**
+     * @return ratio of skipped classes, or 0 if no class is visited
+     */
+    @CheckReturnValue
+    double getSkipRate() {
+        int visited = visitedClasses.get();
+        return visited == 0 ? 0 : (double) skippedClasses.get() / visited;
+    }
+
+    void report() {
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine(String.format("%s skipped %d of %d classes (%.1f%%)",
+                    detectorName, skippedClasses.get(), visitedClasses.get(), getSkipRate() * 100));
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package jp.co.worksap.oss.findbugs.analysis;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.google.common.base.Charsets;
+
+/**
+ * <p>Family of detectors which can fire only on class which refers specific annotations.</p>
+ *
+ * @author Kengo TODA
+ * @see ConstantPoolPrefilter
+ */
+public enum PrefilterTarget {
+    JPA(Framework.JPA,
+            "Ljavax/persistence/Entity;",
+            "Ljavax/persistence/Column;",
+            "Lorg/hibernate/annotations/Index;",
+            "Lorg/apache/openjpa/persistence/jdbc/Index;"),
+    IMMUTABLE(Framework.JSR305, "Ljavax/annotation/concurrent/Immutable;"),
+    JUNIT_IGNORE(Framework.JUNIT, "Lorg/junit/Ignore;"),
+    SUPPRESS_FB_WARNINGS(null,
+            "Ledu/umd/cs/findbugs/annotations/SuppressWarnings;",
+            "Ledu/umd/cs/findbugs/annotations/SuppressFBWarnings;");
+
+    /**
+     * Descriptors as they are stored in constant pool, to compare without decoding.
+     */
+    private final byte[][] descriptors;
+
+    /**
+     * Framework which has to be in classpath to fire, or null if detectors are always enabled.
+     */
+    @Nullable
+    private final Framework framework;
+
+    private PrefilterTarget(@Nullable Framework framework, String... descriptors) {
+        this.framework = framework;
+        this.descriptors = new byte[descriptors.length][];
+        for (int i = 0; i < descriptors.length; ++i) {
+            this.descriptors[i] = descriptors[i].getBytes(Charsets.US_ASCII);
+        }
+    }
+
+    @Nullable
+    @CheckReturnValue
+    Framework getFramework() {
+        return framework;
+    }
+
+    @CheckReturnValue
+    int mask() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * @return true if UTF8 constant stored in {@code bytes} from {@code offset} equals to one of descriptors.
+     */
+    @CheckReturnValue
+    boolean matches(@Nonnull byte[] bytes, int offset, int length) {
+        for (byte[] descriptor : descriptors) {
+            if (descriptor.length == length && equals(descriptor, bytes, offset)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean equals(byte[] descriptor, byte[] bytes, int offset) {
+        for (int i = 0; i < descriptor.length; ++i) {
+            if (descriptor[i] != bytes[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,300 @@
+package jp.co.worksap.oss.findbugs.analysis;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.CodeSource;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import jp.co.worksap.oss.findbugs.metrics.CacheMetrics;
+import jp.co.worksap.oss.findbugs.metrics.Metrics;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import edu.umd.cs.findbugs.SystemProperties;
+import edu.umd.cs.findbugs.classfile.CheckedAnalysisException;
+import edu.umd.cs.findbugs.classfile.Global;
+import edu.umd.cs.findbugs.classfile.IAnalysisCache;
+
+/**
+ * <p>Findings of previous analysis, which are persisted in a file and shared by all detectors in this plugin.</p>
+ * <p>Findings are keyed by hash of analyzed class and classes which verdict depends on, so they are replayed
+ * only for unchanged classes. Entries which are not used in current analysis are dropped when file is saved.</p>
+ * <p>Cache is enabled by FindBugs property {@value #FILE}, which is path to the cache file.
+ * File has plain binary format which {@link DataOutputStream} writes, so reading it never instantiates class
+ * which file names.</p>
+ * <p>Key also contains {@link #getFingerprint() fingerprint} of plugin build and its configuration,
+ * so findings are not replayed after user updates this plugin or changes its configuration.</p>
+ *
+ * @author Kengo TODA
+ * @see IncrementalAnalysis
+ */
+@ThreadSafe
+final class ResultCache {
+    static final String FILE = "jp.co.worksap.oss.findbugs.incremental.cacheFile";
+    /**
+     * first bytes of cache file, to tell it from other file which user specifies by mistake.
+     */
+    private static final int MAGIC = 0x46424943;
+    private static final int FORMAT_VERSION = 2;
+    /**
+     * upper limit of key length, to reject broken file before we allocate memory for it.
+     */
+    private static final int MAX_KEY_LENGTH = 64;
+    private static final int MAX_BUGS = 1 << 16;
+    private static final Logger LOGGER = Logger.getLogger(ResultCache.class.getName());
+    private final CacheMetrics metrics = Metrics.forCache(ResultCache.class.getSimpleName());
+
+    /**
+     * file to persist findings, or {@code null} if cache is disabled.
+     */
+    @Nullable
+    private final File file;
+    @Nonnull
+    private final Map<String, Entry> previous;
+    private final ConcurrentMap<String, Entry> current = Maps.newConcurrentMap();
+    /**
+     * true if any detector has used this cache in current analysis.
+     */
+    private volatile boolean used;
+    @Nonnull
+    private final HashCode fingerprint;
+
+    ResultCache(@Nullable File file) {
+        this.file = file;
+        this.previous = file == null ? Collections.<String, Entry>emptyMap() : load(file);
+        this.fingerprint = file == null ? Hashing.sha1().hashInt(0) : fingerprint();
+    }
+
+    /**
+     * @return cache which is configured by FindBugs properties
+     */
+    @Nonnull
+    @CheckReturnValue
+    static ResultCache fromProperties() {
+        String path = SystemProperties.getProperty(FILE);
+        return new ResultCache(path == null || path.isEmpty() ? null : new File(path));
+    }
+
+    /**
+     * @return database which is shared in current analysis
+     */
+    @Nonnull
+    @CheckReturnValue
+    static ResultCache get() throws CheckedAnalysisException {
+        IAnalysisCache cache = Global.getAnalysisCache();
+        EngineRegistrar.ensureRegistered(cache);
+        return cache.getDatabase(ResultCache.class);
+    }
+
+    @CheckReturnValue
+    boolean isEnabled() {
+        return file != null;
+    }
+
+    /**
+     * @return hash of plugin build and configuration which may change verdict of detectors
+     */
+    @Nonnull
+    @CheckReturnValue
+    HashCode getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * @return findings which are stored with the same key, or {@code null} if class or its dependency has been changed
+     */
+    @CheckForNull
+    @CheckReturnValue
+    List<CachedBug> lookup(@Nonnull String detectorName, @Nonnull String className, @Nonnull byte[] key) {
+        used = true;
+        String id = id(detectorName, className);
+        Entry entry = previous.get(id);
+        if (entry == null || !Arrays.equals(entry.key, key)) {
+            metrics.miss();
+            return null;
+        }
+        metrics.hit();
+        current.put(id, entry);
+        return entry.bugs;
+    }
+
+    void store(@Nonnull String detectorName, @Nonnull String className, @Nonnull byte[] key, @Nonnull List<CachedBug> bugs) {
+        used = true;
+        current.put(id(detectorName, className), new Entry(key, bugs));
+    }
+
+    /**
+     * <p>Write findings which are looked up or stored in current analysis. {@link AnalysisFinisher} calls this method
+     * once when analysis finishes. File is kept as is if no detector has used cache, e.g. when all caching detectors
+     * are disabled, because saving it would drop all entries.</p>
+     */
+    synchronized void save() throws IOException {
+        if (file == null || !used) {
+            return;
+        }
+        File temporary = new File(file.getPath() + ".tmp");
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(FORMAT_VERSION);
+            output.writeInt(current.size());
+            for (Map.Entry<String, Entry> entry : current.entrySet()) {
+                output.writeUTF(entry.getKey());
+                entry.getValue().writeTo(output);
+            }
+        }
+        Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * <p>Broken or outdated file is not an error, we just analyze all classes again.</p>
+     */
+    @Nonnull
+    private static Map<String, Entry> load(@Nonnull File file) {
+        if (!file.isFile()) {
+            return Collections.emptyMap();
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (input.readInt() != MAGIC || input.readInt() != FORMAT_VERSION) {
+                LOGGER.info("Cache file has different format, so all classes will be analyzed: " + file);
+                return Collections.emptyMap();
+            }
+            int size = readCount(input, Integer.MAX_VALUE);
+            Map<String, Entry> entries = Maps.newHashMap();
+            for (int i = 0; i < size; ++i) {
+                entries.put(input.readUTF(), Entry.readFrom(input));
+            }
+            return entries;
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Cannot read cache file, so all classes will be analyzed: " + file, e);
+            return Collections.emptyMap();
+        }
+    }
+
+    /**
+     * <p>Plugin in JAR file is identified by hash of the file. Plugin in directory is a development build,
+     * so we hash its class files.</p>
+     */
+    @Nonnull
+    private static HashCode fingerprint() {
+        Hasher hasher = Hashing.sha1().newHasher();
+        for (String property : ClassScope.PROPERTIES) {
+            hasher.putString(property, Charsets.UTF_8).putByte((byte) 0);
+            hasher.putString(String.valueOf(SystemProperties.getProperty(property)), Charsets.UTF_8).putByte((byte) 0);
+        }
+        try {
+            CodeSource codeSource = ResultCache.class.getProtectionDomain().getCodeSource();
+            File plugin = new File(codeSource.getLocation().toURI());
+            if (plugin.isFile()) {
+                hasher.putBytes(com.google.common.io.Files.hash(plugin, Hashing.sha1()).asBytes());
+            } else {
+                for (Path classFile : classFilesIn(plugin.toPath())) {
+                    hasher.putString(classFile.toString(), Charsets.UTF_8);
+                    hasher.putBytes(Files.readAllBytes(classFile));
+                }
+            }
+        } catch (IOException | URISyntaxException | RuntimeException e) {
+            // we cannot tell builds apart, so use random value to avoid replaying findings of other build
+            LOGGER.log(Level.WARNING, "Cannot identify build of this plugin, so all classes will be analyzed", e);
+            hasher.putLong(System.nanoTime());
+        }
+        return hasher.hash();
+    }
+
+    @Nonnull
+    private static SortedSet<Path> classFilesIn(@Nonnull Path directory) throws IOException {
+        final SortedSet<Path> classFiles = Sets.newTreeSet();
+        Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (file.getFileName().toString().endsWith(".class")) {
+                    classFiles.add(file);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return classFiles;
+    }
+
+    @Nonnull
+    private static String id(@Nonnull String detectorName, @Nonnull String className) {
+        return detectorName + ' ' + className;
+    }
+
+    private static int readCount(@Nonnull DataInputStream input, int max) throws IOException {
+        int count = input.readInt();
+        if (count < 0 || count > max) {
+            throw new IOException("Unexpected count in cache file: " + count);
+        }
+        return count;
+    }
+
+    @Immutable
+    private static final class Entry {
+        @Nonnull
+        private final byte[] key;
+        @Nonnull
+        private final List<CachedBug> bugs;
+
+        Entry(@Nonnull byte[] key, @Nonnull List<CachedBug> bugs) {
+            this.key = checkNotNull(key).clone();
+            this.bugs = ImmutableList.copyOf(bugs);
+        }
+
+        void writeTo(@Nonnull DataOutputStream output) throws IOException {
+            output.writeInt(key.length);
+            output.write(key);
+            output.writeInt(bugs.size());
+            for (CachedBug bug : bugs) {
+                bug.writeTo(output);
+            }
+        }
+
+        @Nonnull
+        static Entry readFrom(@Nonnull DataInputStream input) throws IOException {
+            byte[] key = new byte[readCount(input, MAX_KEY_LENGTH)];
+            input.readFully(key);
+            int size = readCount(input, MAX_BUGS);
+            List<CachedBug> bugs = Lists.newArrayListWithCapacity(Math.min(size, 16));
+            for (int i = 0; i < size; ++i) {
+                bugs.add(CachedBug.readFrom(input));
+            }
+            return new Entry(key, bugs);
+        }
+    }
+}
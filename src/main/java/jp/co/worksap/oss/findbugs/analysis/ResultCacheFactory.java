@@ -0,0 +1,21 @@
+package jp.co.worksap.oss.findbugs.analysis;
+
+import edu.umd.cs.findbugs.classfile.IAnalysisCache;
+import edu.umd.cs.findbugs.classfile.IDatabaseFactory;
+
+/**
+ * <p>Factory which loads {@link ResultCache} from file once per analysis.</p>
+ *
+ * @author Kengo TODA
+ */
+final class ResultCacheFactory implements IDatabaseFactory<ResultCache> {
+    @Override
+    public ResultCache createDatabase() {
+        return ResultCache.fromProperties();
+    }
+
+    @Override
+    public void registerWith(IAnalysisCache analysisCache) {
+        analysisCache.registerDatabaseFactory(ResultCache.class, this);
+    }
+}
@@ -0,0 +1,139 @@
+package jp.co.worksap.oss.findbugs.analysis;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import jp.co.worksap.oss.findbugs.metrics.DetectorMetrics.Timer;
+import jp.co.worksap.oss.findbugs.metrics.Metrics;
+import jp.co.worksap.oss.findbugs.rules.ClassModel;
+import jp.co.worksap.oss.findbugs.rules.FieldModel;
+import jp.co.worksap.oss.findbugs.rules.Finding;
+import jp.co.worksap.oss.findbugs.rules.FindingReporter;
+import jp.co.worksap.oss.findbugs.rules.MethodModel;
+import jp.co.worksap.oss.findbugs.rules.Rule;
+
+import org.apache.bcel.classfile.JavaClass;
+import org.apache.bcel.classfile.Method;
+
+import edu.umd.cs.findbugs.BugInstance;
+import edu.umd.cs.findbugs.BugReporter;
+import edu.umd.cs.findbugs.Detector;
+import edu.umd.cs.findbugs.SourceLineAnnotation;
+import edu.umd.cs.findbugs.ba.ClassContext;
+import edu.umd.cs.findbugs.classfile.CheckedAnalysisException;
+import edu.umd.cs.findbugs.classfile.ClassDescriptor;
+import edu.umd.cs.findbugs.classfile.DescriptorFactory;
+
+/**
+ * <p>Base class of detectors which apply a {@link Rule} to {@link ClassFacts}.</p>
+ * <p>It skips class whose constant pool does not refer annotations which rule targets,
+ * and converts {@link Finding} into {@link BugInstance}. Rule itself knows neither FindBugs nor BCEL.</p>
+ *
+ * @author Kengo TODA
+ * @see ConstantPoolPrefilter
+ */
+public abstract class RuleDetector implements Detector {
+    @Nonnull
+    private final BugReporter bugReporter;
+    @Nonnull
+    private final Rule rule;
+    private final PrefilterGate gate;
+    @Nonnull
+    private final IncrementalAnalysis incremental;
+
+    protected RuleDetector(@Nonnull BugReporter bugReporter, @Nonnull PrefilterTarget target, @Nonnull Rule rule) {
+        this(bugReporter, target, rule, null);
+    }
+
+    /**
+     * @param dependency classes which verdict depends on, or {@code null} not to cache findings of this detector
+     */
+    protected RuleDetector(@Nonnull BugReporter bugReporter, @Nonnull PrefilterTarget target, @Nonnull Rule rule,
+            @Nullable Dependency dependency) {
+        this.incremental = new IncrementalAnalysis(this, dependency);
+        this.bugReporter = incremental.wrap(Metrics.wrap(getClass(), checkNotNull(bugReporter)));
+        this.rule = checkNotNull(rule);
+        this.gate = new PrefilterGate(this.bugReporter, target, getClass());
+    }
+
+    @Override
+    public void visitClassContext(ClassContext classContext) {
+        Timer timer = Metrics.forDetector(getClass()).start();
+        try {
+            if (!gate.open(classContext) || incremental.replay(classContext)) {
+                return;
+            }
+            ClassDescriptor descriptor = classContext.getClassDescriptor();
+            try {
+                rule.verify(ClassFacts.of(descriptor), new Reporter(classContext.getJavaClass(), MissingClasses.get()));
+                incremental.store();
+            } catch (CheckedAnalysisException e) {
+                bugReporter.logError("Detector could not analyze " + descriptor.getDottedClassName(), e);
+            }
+        } finally {
+            timer.stop();
+        }
+    }
+
+    @Override
+    public void report() {
+        gate.report();
+    }
+
+    /**
+     * <p>Converts {@link Finding} into {@link BugInstance}.</p>
+     */
+    private final class Reporter implements FindingReporter {
+        @Nonnull
+        private final JavaClass visitedClass;
+        @Nonnull
+        private final MissingClasses missingClasses;
+
+        Reporter(@Nonnull JavaClass visitedClass, @Nonnull MissingClasses missingClasses) {
+            this.visitedClass = checkNotNull(visitedClass);
+            this.missingClasses = checkNotNull(missingClasses);
+        }
+
+        @Override
+        public void report(@Nonnull Finding finding) {
+            ClassModel targetClass = finding.getTargetClass();
+            String className = targetClass.getDottedName();
+            BugInstance bug = new BugInstance(RuleDetector.this, finding.getType(), finding.getPriority())
+                    .addClass(className);
+            FieldModel field = finding.getField();
+            if (field != null) {
+                bug.addField(className, field.getName(), field.getDescriptor(), field.isStatic());
+            }
+            MethodModel method = finding.getMethod();
+            if (method != null) {
+                bug.addMethod(className, method.getName(), method.getDescriptor(), method.isStatic());
+                if (className.equals(visitedClass.getClassName())) {
+                    addSourceLine(bug, method);
+                }
+            }
+            for (String value : finding.getStrings()) {
+                bug.addString(value);
+            }
+            bugReporter.reportBug(bug);
+        }
+
+        /**
+         * <p>We cannot point exact line of annotation, so whole method is used like {@code BytecodeScanningDetector} does.</p>
+         */
+        private void addSourceLine(@Nonnull BugInstance bug, @Nonnull MethodModel method) {
+            for (Method candidate : visitedClass.getMethods()) {
+                if (candidate.getName().equals(method.getName()) && candidate.getSignature().equals(method.getDescriptor())) {
+                    bug.addSourceLine(SourceLineAnnotation.forEntireMethod(visitedClass, candidate));
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public void reportMissingClass(@Nonnull String className) {
+            missingClasses.report(DescriptorFactory.createClassDescriptor(className), bugReporter);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package jp.co.worksap.oss.findbugs.analysis;
+
+import java.util.Set;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+import com.google.common.collect.ImmutableSet;
+
+import edu.umd.cs.findbugs.classfile.CheckedAnalysisException;
+import edu.umd.cs.findbugs.classfile.ClassDescriptor;
+import edu.umd.cs.findbugs.classfile.Global;
+import edu.umd.cs.findbugs.classfile.IAnalysisCache;
+import edu.umd.cs.findbugs.classfile.MethodDescriptor;
+
+/**
+ * <p>Package-private methods which are declared in a class and annotated by {@code @VisibleForTesting}.</p>
+ * <p>Instance is computed only once per {@link ClassDescriptor} by {@link VisibleForTestingIndexEngine},
+ * so checking invoked method needs only one hash lookup.</p>
+ *
+ * @author Kengo TODA
+ * @see com.google.common.annotations.VisibleForTesting
+ */
+@Immutable
+public final class VisibleForTestingIndex {
+    @Nonnull
+    private final Set<MethodDescriptor> methods;
+
+    VisibleForTestingIndex(@Nonnull Set<MethodDescriptor> methods) {
+        this.methods = ImmutableSet.copyOf(methods);
+    }
+
+    /**
+     * @return cached index of specified class
+     * @throws CheckedAnalysisException if FindBugs cannot load specified class
+     */
+    @Nonnull
+    @CheckReturnValue
+    public static VisibleForTestingIndex of(@Nonnull ClassDescriptor descriptor) throws CheckedAnalysisException {
+        IAnalysisCache cache = Global.getAnalysisCache();
+        EngineRegistrar.ensureRegistered(cache);
+        return cache.getClassAnalysis(VisibleForTestingIndex.class, descriptor);
+    }
+
+    /**
+     * @return true if specified method is package-private and annotated by {@code @VisibleForTesting}
+     */
+    @CheckReturnValue
+    public boolean contains(@Nonnull MethodDescriptor method) {
+        return methods.contains(method);
+    }
+
+    @CheckReturnValue
+    public boolean isEmpty() {
+        return methods.isEmpty();
+    }
+}
@@ -0,0 +1,46 @@
+package jp.co.worksap.oss.findbugs.analysis;
+
+import java.util.Set;
+
+import com.google.common.collect.Sets;
+
+import edu.umd.cs.findbugs.ba.XClass;
+import edu.umd.cs.findbugs.ba.XMethod;
+import edu.umd.cs.findbugs.classfile.CheckedAnalysisException;
+import edu.umd.cs.findbugs.classfile.ClassDescriptor;
+import edu.umd.cs.findbugs.classfile.DescriptorFactory;
+import edu.umd.cs.findbugs.classfile.IAnalysisCache;
+import edu.umd.cs.findbugs.classfile.MethodDescriptor;
+import edu.umd.cs.findbugs.classfile.RecomputableClassAnalysisEngine;
+
+/**
+ * <p>Analysis engine which computes {@link VisibleForTestingIndex} from {@link XClass},
+ * which FindBugs has already built for the class.</p>
+ *
+ * @author Kengo TODA
+ */
+final class VisibleForTestingIndexEngine extends RecomputableClassAnalysisEngine<VisibleForTestingIndex> {
+    private static final ClassDescriptor VISIBLE_FOR_TESTING =
+            DescriptorFactory.createClassDescriptor("com/google/common/annotations/VisibleForTesting");
+
+    @Override
+    public VisibleForTestingIndex analyze(IAnalysisCache analysisCache, ClassDescriptor descriptor) throws CheckedAnalysisException {
+        XClass xClass = analysisCache.getClassAnalysis(XClass.class, descriptor);
+        Set<MethodDescriptor> methods = Sets.newHashSet();
+        for (XMethod method : xClass.getXMethods()) {
+            if (isPackagePrivate(method) && method.getAnnotation(VISIBLE_FOR_TESTING) != null) {
+                methods.add(method.getMethodDescriptor());
+            }
+        }
+        return new VisibleForTestingIndex(methods);
+    }
+
+    private boolean isPackagePrivate(XMethod method) {
+        return ! (method.isPrivate() || method.isProtected() || method.isPublic());
+    }
+
+    @Override
+    public void registerWith(IAnalysisCache analysisCache) {
+        analysisCache.registerClassAnalysisEngine(VisibleForTestingIndex.class, this);
+    }
+}
@@ -0,0 +1,61 @@
+package jp.co.worksap.oss.findbugs.analysis;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+
+import edu.umd.cs.findbugs.classfile.CheckedAnalysisException;
+import edu.umd.cs.findbugs.classfile.Global;
+import edu.umd.cs.findbugs.classfile.IAnalysisCache;
+import edu.umd.cs.findbugs.internalAnnotations.DottedClassName;
+
+/**
+ * <p>Database of packages which declare package-private method annotated by {@code @VisibleForTesting}.</p>
+ * <p>It is filled by non-reporting detector in first pass. Until first pass completes,
+ * {@link #shouldScan(String)} returns true for all packages.</p>
+ *
+ * @author Kengo TODA
+ * @see VisibleForTestingIndex
+ */
+@ThreadSafe
+public final class VisibleForTestingPackages {
+    private final Set<String> packages = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    private volatile boolean completed;
+
+    VisibleForTestingPackages() {
+    }
+
+    /**
+     * @return database which is shared in current analysis
+     */
+    @Nonnull
+    @CheckReturnValue
+    public static VisibleForTestingPackages get() throws CheckedAnalysisException {
+        IAnalysisCache cache = Global.getAnalysisCache();
+        EngineRegistrar.ensureRegistered(cache);
+        return cache.getDatabase(VisibleForTestingPackages.class);
+    }
+
+    public void add(@Nonnull @DottedClassName String packageName) {
+        packages.add(packageName);
+    }
+
+    /**
+     * <p>Notify that all application classes are recorded.</p>
+     */
+    public void complete() {
+        completed = true;
+    }
+
+    /**
+     * @return false if no class in specified package declares package-private method annotated by {@code @VisibleForTesting}
+     */
+    @CheckReturnValue
+    public boolean shouldScan(@Nonnull @DottedClassName String packageName) {
+        return !completed || packages.contains(packageName);
+    }
+}
@@ -0,0 +1,21 @@
+package jp.co.worksap.oss.findbugs.analysis;
+
+import edu.umd.cs.findbugs.classfile.IAnalysisCache;
+import edu.umd.cs.findbugs.classfile.IDatabaseFactory;
+
+/**
+ * <p>Factory which creates {@link VisibleForTestingPackages} once per analysis.</p>
+ *
+ * @author Kengo TODA
+ */
+final class VisibleForTestingPackagesFactory implements IDatabaseFactory<VisibleForTestingPackages> {
+    @Override
+    public VisibleForTestingPackages createDatabase() {
+        return new VisibleForTestingPackages();
+    }
+
+    @Override
+    public void registerWith(IAnalysisCache analysisCache) {
+        analysisCache.registerDatabaseFactory(VisibleForTestingPackages.class, this);
+    }
+}
@@ -0,0 +1,100 @@
+package jp.co.worksap.oss.findbugs.analysis;
+
+import java.util.concurrent.ConcurrentMap;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+
+import jp.co.worksap.oss.findbugs.metrics.CacheMetrics;
+import jp.co.worksap.oss.findbugs.metrics.Metrics;
+
+import com.google.common.collect.Maps;
+
+import edu.umd.cs.findbugs.ba.XClass;
+import edu.umd.cs.findbugs.ba.XMethod;
+import edu.umd.cs.findbugs.classfile.CheckedAnalysisException;
+import edu.umd.cs.findbugs.classfile.ClassDescriptor;
+import edu.umd.cs.findbugs.classfile.DescriptorFactory;
+import edu.umd.cs.findbugs.classfile.Global;
+import edu.umd.cs.findbugs.classfile.IAnalysisCache;
+import edu.umd.cs.findbugs.classfile.MethodDescriptor;
+
+/**
+ * <p>Resolves invoked method through super classes and interfaces, and tells whether resolved method is
+ * package-private and annotated by {@code @VisibleForTesting}.</p>
+ * <p>Both positive and negative results are memoized for each (owner class, name, descriptor), including
+ * results for ancestors which are resolved on the way. So repeated call sites cost one hash lookup.</p>
+ *
+ * @author Kengo TODA
+ * @see VisibleForTestingIndex
+ */
+@ThreadSafe
+public final class VisibleForTestingResolver {
+    private final CacheMetrics metrics = Metrics.forCache(VisibleForTestingResolver.class.getSimpleName());
+    private final ConcurrentMap<MethodDescriptor, Boolean> resolved = Maps.newConcurrentMap();
+
+    VisibleForTestingResolver() {
+    }
+
+    /**
+     * @return resolver which is shared in current analysis
+     */
+    @Nonnull
+    @CheckReturnValue
+    public static VisibleForTestingResolver get() throws CheckedAnalysisException {
+        IAnalysisCache cache = Global.getAnalysisCache();
+        EngineRegistrar.ensureRegistered(cache);
+        return cache.getDatabase(VisibleForTestingResolver.class);
+    }
+
+    /**
+     * @param invokedMethod method which is referred by invoke instruction
+     * @return true if method is declared or inherited by the owner class, and it is package-private and annotated by {@code @VisibleForTesting}
+     * @throws CheckedAnalysisException if FindBugs cannot load class in the hierarchy. Following call for the same method returns false.
+     */
+    @CheckReturnValue
+    public boolean resolve(@Nonnull MethodDescriptor invokedMethod) throws CheckedAnalysisException {
+        Boolean result = resolved.get(invokedMethod);
+        if (result == null) {
+            metrics.miss();
+            try {
+                result = Boolean.valueOf(lookUp(invokedMethod));
+            } catch (CheckedAnalysisException e) {
+                // do not retry, caller reports missing class only once
+                resolved.put(invokedMethod, Boolean.FALSE);
+                throw e;
+            }
+            resolved.put(invokedMethod, result);
+        } else {
+            metrics.hit();
+        }
+        return result.booleanValue();
+    }
+
+    private boolean lookUp(@Nonnull MethodDescriptor method) throws CheckedAnalysisException {
+        ClassDescriptor owner = method.getClassDescriptor();
+        XClass xClass = Global.getAnalysisCache().getClassAnalysis(XClass.class, owner);
+        XMethod declared = xClass.findMethod(method.getName(), method.getSignature(), method.isStatic());
+        if (declared != null) {
+            return VisibleForTestingIndex.of(owner).contains(declared.getMethodDescriptor());
+        }
+
+        ClassDescriptor superclass = xClass.getSuperclassDescriptor();
+        if (superclass != null && resolve(inherit(method, superclass))) {
+            return true;
+        }
+        for (ClassDescriptor implemented : xClass.getInterfaceDescriptorList()) {
+            if (resolve(inherit(method, implemented))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Nonnull
+    private MethodDescriptor inherit(@Nonnull MethodDescriptor method, @Nonnull ClassDescriptor ancestor) {
+        return DescriptorFactory.instance().getMethodDescriptor(ancestor.getClassName(),
+                method.getName(), method.getSignature(), method.isStatic());
+    }
+}
@@ -0,0 +1,21 @@
+package jp.co.worksap.oss.findbugs.analysis;
+
+import edu.umd.cs.findbugs.classfile.IAnalysisCache;
+import edu.umd.cs.findbugs.classfile.IDatabaseFactory;
+
+/**
+ * <p>Factory which creates {@link VisibleForTestingResolver} once per analysis.</p>
+ *
+ * @author Kengo TODA
+ */
+final class VisibleForTestingResolverFactory implements IDatabaseFactory<VisibleForTestingResolver> {
+    @Override
+    public VisibleForTestingResolver createDatabase() {
+        return new VisibleForTestingResolver();
+    }
+
+    @Override
+    public void registerWith(IAnalysisCache analysisCache) {
+        analysisCache.registerDatabaseFactory(VisibleForTestingResolver.class, this);
+    }
+}
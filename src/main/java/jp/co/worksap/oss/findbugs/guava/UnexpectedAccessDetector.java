@@ -4,15 +4,22 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import javax.annotation.Nonnull;
 
-import org.apache.bcel.Repository;
-import org.apache.bcel.classfile.AnnotationEntry;
-import org.apache.bcel.classfile.JavaClass;
-import org.apache.bcel.classfile.Method;
+import jp.co.worksap.oss.findbugs.analysis.ClassScope;
+import jp.co.worksap.oss.findbugs.analysis.Dependency;
+import jp.co.worksap.oss.findbugs.analysis.Framework;
+import jp.co.worksap.oss.findbugs.analysis.FrameworkSwitch;
+import jp.co.worksap.oss.findbugs.analysis.IncrementalAnalysis;
+import jp.co.worksap.oss.findbugs.analysis.MissingClasses;
+import jp.co.worksap.oss.findbugs.analysis.VisibleForTestingPackages;
+import jp.co.worksap.oss.findbugs.analysis.VisibleForTestingResolver;
+import jp.co.worksap.oss.findbugs.metrics.DetectorMetrics.Timer;
+import jp.co.worksap.oss.findbugs.metrics.Metrics;
 
 import edu.umd.cs.findbugs.BugInstance;
 import edu.umd.cs.findbugs.BugReporter;
 import edu.umd.cs.findbugs.BytecodeScanningDetector;
-import edu.umd.cs.findbugs.bcel.BCELUtil;
+import edu.umd.cs.findbugs.ba.ClassContext;
+import edu.umd.cs.findbugs.classfile.CheckedAnalysisException;
 import edu.umd.cs.findbugs.classfile.ClassDescriptor;
 import edu.umd.cs.findbugs.classfile.MethodDescriptor;
 
@@ -24,11 +31,49 @@ import edu.umd.cs.findbugs.classfile.MethodDescriptor;
  * @see com.google.common.annotations.VisibleForTesting
  */
 public class UnexpectedAccessDetector extends BytecodeScanningDetector {
+    private final IncrementalAnalysis incremental = new IncrementalAnalysis(this, Dependency.INVOKED_CLASSES);
     @Nonnull
     private final BugReporter bugReporter;
+    private final FrameworkSwitch guava = new FrameworkSwitch(Framework.GUAVA);
+    private MissingClasses missingClasses;
+    private VisibleForTestingResolver resolver;
 
     public UnexpectedAccessDetector(BugReporter bugReporter) {
-        this.bugReporter = checkNotNull(bugReporter);
+        this.bugReporter = incremental.wrap(Metrics.wrap(getClass(), checkNotNull(bugReporter)));
+    }
+
+    /**
+     * <p>Skip scanning bytecode, if Guava is not in classpath, class is out of {@link ClassScope},
+     * or no class in the same package declares package-private method which is annotated by {@code @VisibleForTesting}.
+     * Findings are replayed if neither this class nor invoked classes have been changed.</p>
+     */
+    @Override
+    public void visitClassContext(ClassContext classContext) {
+        Timer timer = Metrics.forDetector(getClass()).start();
+        try {
+            if (!guava.isEnabled()) {
+                return;
+            }
+            ClassDescriptor descriptor = classContext.getClassDescriptor();
+            try {
+                missingClasses = MissingClasses.get();
+                resolver = VisibleForTestingResolver.get();
+                if (!VisibleForTestingPackages.get().shouldScan(descriptor.getPackageName())
+                        || !ClassScope.get().contains(descriptor)) {
+                    return;
+                }
+            } catch (CheckedAnalysisException e) {
+                bugReporter.logError("Detector could not prepare analysis of " + descriptor.getDottedClassName(), e);
+                return;
+            }
+            if (incremental.replay(classContext)) {
+                return;
+            }
+            super.visitClassContext(classContext);
+            incremental.store();
+        } finally {
+            timer.stop();
+        }
     }
 
     @Override
@@ -43,63 +88,32 @@ public class UnexpectedAccessDetector extends BytecodeScanningDetector {
             // no need to check, because method is called by owner
         } else if (! currentClass.getPackageName().equals(invokedClass.getPackageName())) {
             // no need to check, because method is called by class in other package
+        } else if (missingClasses.isMissing(invokedClass)) {
+            // no need to check, because invoked class has been reported as missing
         } else {
             MethodDescriptor invokedMethod = getMethodDescriptorOperand();
 
             try {
-                verifyVisibility(invokedClass, invokedMethod);
-            } catch (ClassNotFoundException e) {
+                verifyVisibility(invokedMethod);
+            } catch (CheckedAnalysisException e) {
                 String message = String.format("Detector could not find %s, you should add this class into CLASSPATH", invokedClass.getDottedClassName());
-                bugReporter.logError(message, e);
+                missingClasses.report(e, message, bugReporter);
             }
         }
     }
 
     /**
-     * <p>Report if specified method is package-private and annotated by {@code @VisibleForTesting}.</p>
+     * <p>Report if specified method is package-private and annotated by {@code @VisibleForTesting}.
+     * Method which is inherited from super class is also checked.</p>
      */
-    private void verifyVisibility(ClassDescriptor invokedClass, MethodDescriptor invokedMethod) throws ClassNotFoundException {
-        JavaClass bcelClass = Repository.getRepository().loadClass(invokedClass.getDottedClassName());
-        Method bcelMethod = findMethod(bcelClass, invokedMethod);
-
-        if (checkVisibility(bcelMethod) && checkAnnotated(bcelMethod)) {
+    private void verifyVisibility(MethodDescriptor invokedMethod) throws CheckedAnalysisException {
+        if (resolver.resolve(invokedMethod)) {
             BugInstance bug = new BugInstance(this, "GUAVA_UNEXPECTED_ACCESS_TO_VISIBLE_FOR_TESTING", HIGH_PRIORITY)
                     .addCalledMethod(this).addClassAndMethod(this).addSourceLine(this);
             bugReporter.reportBug(bug);
         }
     }
 
-    private Method findMethod(JavaClass bcelClass, MethodDescriptor invokedMethod) {
-        for (Method bcelMethod : bcelClass.getMethods()) {
-            MethodDescriptor methodDescriptor = BCELUtil.getMethodDescriptor(bcelClass, bcelMethod);
-            if (methodDescriptor.equals(invokedMethod)) {
-                return bcelMethod;
-            }
-        }
-
-        throw new IllegalArgumentException("Method not found: " + invokedMethod);
-    }
-
-    /**
-     * @return true if visibility of specified method is package-private.
-     */
-    private boolean checkVisibility(Method bcelMethod) {
-        return ! (bcelMethod.isPrivate() || bcelMethod.isProtected() || bcelMethod.isPublic());
-    }
-
-    /**
-     * @return true if specified method is annotated by {@code VisibleForTesting}.
-     */
-    private boolean checkAnnotated(Method bcelMethod) {
-        for (AnnotationEntry annotation : bcelMethod.getAnnotationEntries()) {
-            String type = annotation.getAnnotationType();
-            if ("Lcom/google/common/annotations/VisibleForTesting;".equals(type)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     private boolean isInvoking(int opcode) {
         return opcode == INVOKESPECIAL ||
                 opcode == INVOKEINTERFACE ||
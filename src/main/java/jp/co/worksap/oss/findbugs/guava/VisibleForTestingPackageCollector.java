@@ -0,0 +1,101 @@
+package jp.co.worksap.oss.findbugs.guava;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+
+import jp.co.worksap.oss.findbugs.analysis.Dependency;
+import jp.co.worksap.oss.findbugs.analysis.Framework;
+import jp.co.worksap.oss.findbugs.analysis.FrameworkSwitch;
+import jp.co.worksap.oss.findbugs.analysis.VisibleForTestingIndex;
+import jp.co.worksap.oss.findbugs.analysis.VisibleForTestingPackages;
+import jp.co.worksap.oss.findbugs.metrics.DetectorMetrics.Timer;
+import jp.co.worksap.oss.findbugs.metrics.Metrics;
+
+import com.google.common.collect.Sets;
+
+import edu.umd.cs.findbugs.BugReporter;
+import edu.umd.cs.findbugs.Detector;
+import edu.umd.cs.findbugs.NonReportingDetector;
+import edu.umd.cs.findbugs.ba.ClassContext;
+import edu.umd.cs.findbugs.classfile.CheckedAnalysisException;
+import edu.umd.cs.findbugs.classfile.ClassDescriptor;
+
+/**
+ * <p>A non-reporting detector which records packages which declare package-private method
+ * annotated by {@code @VisibleForTesting}. It runs in earlier pass than {@link UnexpectedAccessDetector},
+ * so {@link UnexpectedAccessDetector} can skip classes in other packages.</p>
+ * <p>Package may be split between application and auxiliary classpath, e.g. test fixture in library.
+ * FindBugs visits only application classes, so we also look up classes which application class invokes
+ * in the same package, and their super types. Index of each class is computed once, so application class
+ * which is looked up again costs a cache lookup.</p>
+ *
+ * @author Kengo TODA
+ * @see VisibleForTestingPackages
+ */
+public class VisibleForTestingPackageCollector implements Detector, NonReportingDetector {
+    @Nonnull
+    private final BugReporter bugReporter;
+    private final FrameworkSwitch guava = new FrameworkSwitch(Framework.GUAVA);
+
+    public VisibleForTestingPackageCollector(BugReporter bugReporter) {
+        this.bugReporter = Metrics.wrap(getClass(), checkNotNull(bugReporter));
+    }
+
+    @Override
+    public void visitClassContext(ClassContext classContext) {
+        Timer timer = Metrics.forDetector(getClass()).start();
+        try {
+            if (!guava.isEnabled()) {
+                return;
+            }
+            ClassDescriptor descriptor = classContext.getClassDescriptor();
+            try {
+                if (declaresInPackage(classContext)) {
+                    VisibleForTestingPackages.get().add(descriptor.getPackageName());
+                }
+            } catch (CheckedAnalysisException e) {
+                bugReporter.logError("Detector could not analyze " + descriptor.getDottedClassName(), e);
+            }
+        } finally {
+            timer.stop();
+        }
+    }
+
+    /**
+     * @return true if specified class, or class which it invokes in the same package,
+     *         declares or inherits package-private method annotated by {@code @VisibleForTesting}
+     */
+    static boolean declaresInPackage(@Nonnull ClassContext classContext) throws CheckedAnalysisException {
+        ClassDescriptor descriptor = classContext.getClassDescriptor();
+        if (!VisibleForTestingIndex.of(descriptor).isEmpty()) {
+            return true;
+        }
+        Set<ClassDescriptor> invoked = Sets.newHashSet();
+        Dependency.INVOKED_CLASSES.collect(classContext, invoked);
+        for (ClassDescriptor candidate : invoked) {
+            if (!candidate.getPackageName().equals(descriptor.getPackageName())) {
+                continue;
+            }
+            try {
+                if (!VisibleForTestingIndex.of(candidate).isEmpty()) {
+                    return true;
+                }
+            } catch (CheckedAnalysisException e) {
+                // UnexpectedAccessDetector reports missing class, if application invokes its method
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void report() {
+        try {
+            VisibleForTestingPackages.get().complete();
+        } catch (CheckedAnalysisException e) {
+            bugReporter.logError("Detector could not complete index of packages", e);
+        }
+    }
+}
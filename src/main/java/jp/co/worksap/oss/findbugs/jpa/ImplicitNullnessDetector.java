@@ -1,28 +1,17 @@
 package jp.co.worksap.oss.findbugs.jpa;
 
-import java.util.Map;
+import jp.co.worksap.oss.findbugs.rules.jpa.ImplicitNullnessRule;
 
-import org.apache.bcel.classfile.ElementValue;
-import org.apache.bcel.generic.Type;
-
-import edu.umd.cs.findbugs.BugInstance;
 import edu.umd.cs.findbugs.BugReporter;
 
-public class ImplicitNullnessDetector extends AbstractColumnDetector {
+/**
+ * <p>A detector which applies {@link ImplicitNullnessRule} only.</p>
+ * @see JpaDetector
+ */
+public class ImplicitNullnessDetector extends JpaDetector {
 
     public ImplicitNullnessDetector(BugReporter bugReporter) {
-        super(bugReporter);
+        super(bugReporter, new ImplicitNullnessRule());
     }
 
-    @Override
-    protected void verifyColumn(Type columnType,
-            Map<String, ElementValue> elements) {
-        if (! elements.containsKey("nullable")) {
-            BugInstance bug = new BugInstance(this, "IMPLICIT_NULLNESS", HIGH_PRIORITY);
-            if (visitingMethod()) {
-                bug.addMethod(this);
-            }
-            getBugReporter().reportBug(bug);
-        }
-    }
 }
@@ -0,0 +1,26 @@
+package jp.co.worksap.oss.findbugs.jpa;
+
+import jp.co.worksap.oss.findbugs.analysis.PrefilterTarget;
+import jp.co.worksap.oss.findbugs.analysis.RuleDetector;
+import jp.co.worksap.oss.findbugs.rules.jpa.JpaRule;
+import jp.co.worksap.oss.findbugs.rules.jpa.JpaRules;
+
+import edu.umd.cs.findbugs.BugReporter;
+
+/**
+ * <p>A detector which verifies JPA annotations in one pass.</p>
+ * <p>Each annotation is visited only once, and dispatched to all {@link JpaRule rules} which target it.
+ * Subclasses which apply only one rule are also provided, to use and test each rule separately.</p>
+ *
+ * @author Kengo TODA
+ * @see JpaRules
+ */
+public class JpaDetector extends RuleDetector {
+    public JpaDetector(BugReporter bugReporter) {
+        super(bugReporter, PrefilterTarget.JPA, JpaRules.all());
+    }
+
+    JpaDetector(BugReporter bugReporter, JpaRule... rules) {
+        super(bugReporter, PrefilterTarget.JPA, new JpaRules(rules));
+    }
+}
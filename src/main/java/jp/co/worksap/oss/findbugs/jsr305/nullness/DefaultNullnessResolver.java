@@ -0,0 +1,147 @@
+package jp.co.worksap.oss.findbugs.jsr305.nullness;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.lang.annotation.ElementType;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import jp.co.worksap.oss.findbugs.metrics.CacheMetrics;
+import jp.co.worksap.oss.findbugs.metrics.Metrics;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.Maps;
+
+import edu.umd.cs.findbugs.ba.XClass;
+import edu.umd.cs.findbugs.ba.XMethod;
+import edu.umd.cs.findbugs.ba.jsr305.TypeQualifierAnnotation;
+import edu.umd.cs.findbugs.ba.jsr305.TypeQualifierApplications;
+import edu.umd.cs.findbugs.ba.jsr305.TypeQualifierValue;
+import edu.umd.cs.findbugs.classfile.CheckedAnalysisException;
+import edu.umd.cs.findbugs.classfile.ClassDescriptor;
+import edu.umd.cs.findbugs.classfile.DescriptorFactory;
+import edu.umd.cs.findbugs.classfile.Global;
+import edu.umd.cs.findbugs.classfile.analysis.AnnotatedObject;
+import edu.umd.cs.findbugs.internalAnnotations.DottedClassName;
+
+/**
+ * <p>Resolves default nullness of parameters, which is declared on method, class or package.</p>
+ * <p>Result for each class and package is memoized, so each of them is resolved only once even if
+ * it has many methods. Memo is concurrent map and unreflected method handle is immutable,
+ * so one resolver can be shared by threads which analyze classes concurrently.</p>
+ *
+ * @author Kengo TODA
+ */
+@ThreadSafe
+final class DefaultNullnessResolver {
+    /**
+     * <p>To avoid a bug of FindBugs, we need reflection (!) to call private method.
+     * We unreflect it only once, to avoid overhead of {@link Method#invoke(Object, Object...)}.</p>
+     * @see https://sourceforge.net/p/findbugs/bugs/1194/
+     */
+    private static final MethodHandle GET_DEFAULT_ANNOTATION = unreflectGetDefaultAnnotation();
+    private final CacheMetrics classMetrics = Metrics.forCache("DefaultNullnessResolver.class");
+    private final CacheMetrics packageMetrics = Metrics.forCache("DefaultNullnessResolver.package");
+
+    @Nonnull
+    private final TypeQualifierValue<?> nullness;
+    private final ConcurrentMap<ClassDescriptor, Optional<TypeQualifierAnnotation>> classDefaults = Maps.newConcurrentMap();
+    private final ConcurrentMap<String, Optional<TypeQualifierAnnotation>> packageDefaults = Maps.newConcurrentMap();
+
+    DefaultNullnessResolver(@Nonnull TypeQualifierValue<?> nullness) {
+        this.nullness = checkNotNull(nullness);
+    }
+
+    /**
+     * @return default annotation for parameters of specified method, or {@code null} if no default is declared.
+     */
+    @CheckForNull
+    @CheckReturnValue
+    TypeQualifierAnnotation resolve(@Nonnull XMethod xMethod) {
+        TypeQualifierAnnotation result = getDefaultAnnotation(xMethod);
+        if (result == null) {
+            result = resolveClassDefault(xMethod.getClassDescriptor());
+        }
+        return result;
+    }
+
+    @Nullable
+    private TypeQualifierAnnotation resolveClassDefault(@Nonnull ClassDescriptor descriptor) {
+        Optional<TypeQualifierAnnotation> result = classDefaults.get(descriptor);
+        if (result == null) {
+            classMetrics.miss();
+            TypeQualifierAnnotation annotation = getDefaultAnnotation(findClass(descriptor));
+            if (annotation == null) {
+                annotation = resolvePackageDefault(descriptor.getPackageName());
+            }
+            result = Optional.fromNullable(annotation);
+            classDefaults.put(descriptor, result);
+        } else {
+            classMetrics.hit();
+        }
+        return result.orNull();
+    }
+
+    @Nullable
+    private TypeQualifierAnnotation resolvePackageDefault(@Nonnull @DottedClassName String packageName) {
+        Optional<TypeQualifierAnnotation> result = packageDefaults.get(packageName);
+        if (result == null) {
+            packageMetrics.miss();
+            String packageInfo = packageName.isEmpty() ? "package-info" : packageName + ".package-info";
+            result = Optional.fromNullable(getDefaultAnnotation(
+                    findClass(DescriptorFactory.createClassDescriptorFromDottedClassName(packageInfo))));
+            packageDefaults.put(packageName, result);
+        } else {
+            packageMetrics.hit();
+        }
+        return result.orNull();
+    }
+
+    /**
+     * @return class which FindBugs has already loaded, or {@code null} if it does not exist e.g. package-info
+     */
+    @Nullable
+    private XClass findClass(@Nonnull ClassDescriptor descriptor) {
+        try {
+            return Global.getAnalysisCache().getClassAnalysis(XClass.class, descriptor);
+        } catch (CheckedAnalysisException e) {
+            return null;
+        }
+    }
+
+    @Nullable
+    private TypeQualifierAnnotation getDefaultAnnotation(@Nullable AnnotatedObject target) {
+        if (target == null) {
+            return null;
+        }
+        try {
+            return (TypeQualifierAnnotation) GET_DEFAULT_ANNOTATION.invokeExact(target, nullness, ElementType.PARAMETER);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    @Nonnull
+    private static MethodHandle unreflectGetDefaultAnnotation() {
+        try {
+            Method method = TypeQualifierApplications.class.getDeclaredMethod("getDefaultAnnotation",
+                    AnnotatedObject.class, TypeQualifierValue.class, ElementType.class);
+            method.setAccessible(true);
+            return MethodHandles.lookup().unreflect(method).asType(MethodType.methodType(
+                    TypeQualifierAnnotation.class, AnnotatedObject.class, TypeQualifierValue.class, ElementType.class));
+        } catch (SecurityException | NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package jp.co.worksap.oss.findbugs.jsr305.nullness;
 
+import static com.google.common.base.Preconditions.checkNotNull;
 
-import java.lang.annotation.ElementType;
-import java.lang.reflect.InvocationTargetException;
+import jp.co.worksap.oss.findbugs.analysis.ClassScope;
+import jp.co.worksap.oss.findbugs.analysis.Dependency;
+import jp.co.worksap.oss.findbugs.analysis.IncrementalAnalysis;
+import jp.co.worksap.oss.findbugs.metrics.DetectorMetrics.Timer;
+import jp.co.worksap.oss.findbugs.metrics.Metrics;
 
 import org.apache.bcel.classfile.Method;
 import org.apache.bcel.generic.ReferenceType;
@@ -11,25 +15,53 @@ import org.apache.bcel.generic.Type;
 import edu.umd.cs.findbugs.BugInstance;
 import edu.umd.cs.findbugs.BugReporter;
 import edu.umd.cs.findbugs.BytecodeScanningDetector;
+import edu.umd.cs.findbugs.ba.ClassContext;
 import edu.umd.cs.findbugs.ba.XMethod;
 import edu.umd.cs.findbugs.ba.jsr305.JSR305NullnessAnnotations;
 import edu.umd.cs.findbugs.ba.jsr305.TypeQualifierAnnotation;
 import edu.umd.cs.findbugs.ba.jsr305.TypeQualifierApplications;
 import edu.umd.cs.findbugs.ba.jsr305.TypeQualifierValue;
-import edu.umd.cs.findbugs.classfile.analysis.AnnotatedObject;
+import edu.umd.cs.findbugs.classfile.CheckedAnalysisException;
 
 public class UnknownNullnessDetector extends BytecodeScanningDetector {
 
-    private static final java.lang.reflect.Method GET_DEFAULT_ANNOTATION;
+    private final IncrementalAnalysis incremental = new IncrementalAnalysis(this, Dependency.PACKAGE_DEFAULTS);
     private final BugReporter bugReporter;
+    private TypeQualifierValue<?> nullness;
+    private DefaultNullnessResolver defaultNullnessResolver;
 
     public UnknownNullnessDetector(BugReporter bugReporter) {
-        this.bugReporter = bugReporter;
+        this.bugReporter = incremental.wrap(Metrics.wrap(getClass(), checkNotNull(bugReporter)));
+    }
+
+    @Override
+    public void visitClassContext(ClassContext classContext) {
+        Timer timer = Metrics.forDetector(getClass()).start();
+        try {
+            try {
+                if (!ClassScope.get().contains(classContext.getClassDescriptor())) {
+                    return;
+                }
+            } catch (CheckedAnalysisException e) {
+                bugReporter.logError("Detector could not decide scope of " + classContext.getClassDescriptor().getDottedClassName(), e);
+                return;
+            }
+            if (incremental.replay(classContext)) {
+                return;
+            }
+            super.visitClassContext(classContext);
+            incremental.store();
+        } finally {
+            timer.stop();
+        }
     }
 
     @Override
     public void visitMethod(Method method) {
-        TypeQualifierValue<?> nullness = TypeQualifierValue.getValue(JSR305NullnessAnnotations.NONNULL, null);
+        if (nullness == null) {
+            nullness = TypeQualifierValue.getValue(JSR305NullnessAnnotations.NONNULL, null);
+            defaultNullnessResolver = new DefaultNullnessResolver(nullness);
+        }
         detectUnknownNullnessOfParameter(method, nullness);
         detectUnknowNullnessOfReturnedValue(method, nullness);
     }
@@ -37,15 +69,21 @@ public class UnknownNullnessDetector extends BytecodeScanningDetector {
     private void detectUnknownNullnessOfParameter(Method method,
             TypeQualifierValue<?> nullness) {
         Type[] argumentTypes = method.getArgumentTypes();
+        XMethod xMethod = getXMethod();
+        boolean defaultAnnotationResolved = false;
+        TypeQualifierAnnotation defaultAnnotation = null;
 
         for (int i = 0; i < argumentTypes.length; ++i) {
             if (!(argumentTypes[i] instanceof ReferenceType)) {
                 continue;
             }
 
-            TypeQualifierAnnotation annotation = TypeQualifierApplications.getEffectiveTypeQualifierAnnotation(getXMethod(), i, nullness);
+            TypeQualifierAnnotation annotation = TypeQualifierApplications.getEffectiveTypeQualifierAnnotation(xMethod, i, nullness);
             if (annotation == null) {
-                TypeQualifierAnnotation defaultAnnotation = findDefaultAnnotation(getXMethod(), nullness);
+                if (!defaultAnnotationResolved) {
+                    defaultAnnotation = defaultNullnessResolver.resolve(xMethod);
+                    defaultAnnotationResolved = true;
+                }
                 if (defaultAnnotation == null) {
                     bugReporter.reportBug(new BugInstance("UNKNOWN_NULLNESS_OF_PARAMETER", NORMAL_PRIORITY).addClassAndMethod(this));
                 }
@@ -53,26 +91,6 @@ public class UnknownNullnessDetector extends BytecodeScanningDetector {
         }
     }
 
-    /**
-     * <p>To avoid a bug of FindBugs, we need reflection (!) to call private method.</p>
-     * @see https://sourceforge.net/p/findbugs/bugs/1194/
-     */
-    private TypeQualifierAnnotation findDefaultAnnotation(XMethod xMethod,
-            TypeQualifierValue<?> nullness) {
-        try {
-            Object result = GET_DEFAULT_ANNOTATION.invoke(null, xMethod, nullness, ElementType.PARAMETER);
-            if (result instanceof TypeQualifierAnnotation) {
-                return (TypeQualifierAnnotation) result;
-            } else {
-                return null;
-            }
-        } catch (SecurityException | IllegalAccessException e) {
-            throw new IllegalStateException(e);
-        } catch (InvocationTargetException e) {
-            throw new IllegalArgumentException(e);
-        }
-    }
-
     private void detectUnknowNullnessOfReturnedValue(Method method,
             TypeQualifierValue<?> nullness) {
         if (!(method.getReturnType() instanceof ReferenceType)) {
@@ -84,15 +102,4 @@ public class UnknownNullnessDetector extends BytecodeScanningDetector {
             bugReporter.reportBug(new BugInstance("UNKNOWN_NULLNESS_OF_RETURNED_VALUE", NORMAL_PRIORITY).addClassAndMethod(this));
         }
     }
-
-    static {
-        try {
-            GET_DEFAULT_ANNOTATION = TypeQualifierApplications.class
-                    .getDeclaredMethod("getDefaultAnnotation",
-                            AnnotatedObject.class, TypeQualifierValue.class, ElementType.class);
-            GET_DEFAULT_ANNOTATION.setAccessible(true);
-        } catch (SecurityException | NoSuchMethodException e) {
-            throw new IllegalStateException(e);
-        }
-    }
 }
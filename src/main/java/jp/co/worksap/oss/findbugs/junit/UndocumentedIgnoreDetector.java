@@ -1,37 +1,14 @@
 package jp.co.worksap.oss.findbugs.junit;
 
-import java.util.Map;
+import jp.co.worksap.oss.findbugs.analysis.PrefilterTarget;
+import jp.co.worksap.oss.findbugs.analysis.RuleDetector;
+import jp.co.worksap.oss.findbugs.rules.junit.UndocumentedIgnoreRule;
 
-import org.apache.bcel.classfile.ElementValue;
-
-import edu.umd.cs.findbugs.BugInstance;
 import edu.umd.cs.findbugs.BugReporter;
-import edu.umd.cs.findbugs.BytecodeScanningDetector;
-import edu.umd.cs.findbugs.internalAnnotations.DottedClassName;
-
-public class UndocumentedIgnoreDetector extends BytecodeScanningDetector {
 
-    private final BugReporter bugReporter;
+public class UndocumentedIgnoreDetector extends RuleDetector {
 
     public UndocumentedIgnoreDetector(BugReporter bugReporter) {
-        this.bugReporter = bugReporter;
-    }
-
-    @Override
-    public void visitAnnotation(@DottedClassName String annotationClass,
-            Map<String, ElementValue> map, boolean runtimeVisible) {
-        if (!"org.junit.Ignore".equals(annotationClass)) {
-            return;
-        }
-
-        final ElementValue reason = map.get("value");
-        if (reason == null || reason.stringifyValue().trim().isEmpty()) {
-            BugInstance bugInstance = new BugInstance("UNDOCUMENTED_IGNORE",
-                    HIGH_PRIORITY).addClass(this);
-            if (visitingMethod()) {
-                bugInstance.addMethod(this).addSourceLine(this);
-            }
-            bugReporter.reportBug(bugInstance);
-        }
+        super(bugReporter, PrefilterTarget.JUNIT_IGNORE, new UndocumentedIgnoreRule());
     }
 }
@@ -0,0 +1,61 @@
+package jp.co.worksap.oss.findbugs.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * <p>Hit and miss counters of a memo which detectors share.</p>
+ *
+ * @author Kengo TODA
+ * @see Metrics
+ */
+@ThreadSafe
+public final class CacheMetrics {
+    static final CacheMetrics DISABLED = new CacheMetrics(null);
+
+    /**
+     * name of cache, or {@code null} if metrics are disabled.
+     */
+    @Nullable
+    private final String cacheName;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    CacheMetrics(@Nullable String cacheName) {
+        this.cacheName = cacheName;
+    }
+
+    public void hit() {
+        if (cacheName != null) {
+            hits.incrementAndGet();
+        }
+    }
+
+    public void miss() {
+        if (cacheName != null) {
+            misses.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return ratio of hits, or 0 if cache is not used
+     */
+    @CheckReturnValue
+    double getHitRate() {
+        long hit = hits.get();
+        long total = hit + misses.get();
+        return total == 0 ? 0 : (double) hit / total;
+    }
+
+    void writeTo(@Nonnull JsonWriter json) {
+        json.name(cacheName).beginObject();
+        json.name("hits").value(hits.get());
+        json.name("misses").value(misses.get());
+        json.name("hitRate").value(getHitRate());
+        json.endObject();
+    }
+}
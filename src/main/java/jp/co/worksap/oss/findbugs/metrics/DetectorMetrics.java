@@ -0,0 +1,131 @@
+package jp.co.worksap.oss.findbugs.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.Maps;
+
+/**
+ * <p>Counters of a detector: visited classes, wall and CPU time in {@code visitClassContext()},
+ * and reported bugs per pattern.</p>
+ * <p>Use it like below. If metrics are disabled, {@link #start()} returns shared timer which does nothing.
+ * Reported bugs are counted by reporter which {@link Metrics#wrap(Class, edu.umd.cs.findbugs.BugReporter)} returns.</p>
+ * <pre>
+ * Timer timer = Metrics.forDetector(getClass()).start();
+ * try {
+ *     ...
+ * } finally {
+ *     timer.stop();
+ * }</pre>
+ *
+ * @author Kengo TODA
+ * @see Metrics
+ */
+@ThreadSafe
+public final class DetectorMetrics {
+    static final DetectorMetrics DISABLED = new DetectorMetrics(null);
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    /**
+     * name of detector, or {@code null} if metrics are disabled.
+     */
+    @Nullable
+    private final String detectorName;
+    private final AtomicLong visitedClasses = new AtomicLong();
+    private final AtomicLong wallNanos = new AtomicLong();
+    private final AtomicLong cpuNanos = new AtomicLong();
+    private final ConcurrentMap<String, AtomicLong> bugs = Maps.newConcurrentMap();
+
+    DetectorMetrics(@Nullable String detectorName) {
+        this.detectorName = detectorName;
+    }
+
+    /**
+     * <p>Start measuring visit of a class.</p>
+     */
+    @Nonnull
+    @CheckReturnValue
+    public Timer start() {
+        if (detectorName == null) {
+            return Timer.NOOP;
+        }
+        visitedClasses.incrementAndGet();
+        return new Timer(this);
+    }
+
+    void countBug(@Nonnull String type) {
+        AtomicLong counter = bugs.get(type);
+        if (counter == null) {
+            AtomicLong created = new AtomicLong();
+            counter = bugs.putIfAbsent(type, created);
+            if (counter == null) {
+                counter = created;
+            }
+        }
+        counter.incrementAndGet();
+    }
+
+    @CheckReturnValue
+    long getVisitedClasses() {
+        return visitedClasses.get();
+    }
+
+    @CheckReturnValue
+    long getBugs(@Nonnull String type) {
+        AtomicLong counter = bugs.get(type);
+        return counter == null ? 0 : counter.get();
+    }
+
+    void writeTo(@Nonnull JsonWriter json) {
+        json.name(detectorName).beginObject();
+        json.name("visitedClasses").value(visitedClasses.get());
+        json.name("wallNanos").value(wallNanos.get());
+        json.name("cpuNanos").value(cpuNanos.get());
+        json.name("bugs").beginObject();
+        SortedMap<String, AtomicLong> sortedBugs = ImmutableSortedMap.copyOf(bugs);
+        for (String type : sortedBugs.keySet()) {
+            json.name(type).value(sortedBugs.get(type).get());
+        }
+        json.endObject();
+        json.endObject();
+    }
+
+    /**
+     * <p>Measures one visit. Instance is not shared by threads.</p>
+     */
+    public static class Timer {
+        static final Timer NOOP = new Timer(null);
+
+        @Nullable
+        private final DetectorMetrics metrics;
+        private final long wallStart;
+        private final long cpuStart;
+
+        Timer(@Nullable DetectorMetrics metrics) {
+            this.metrics = metrics;
+            this.wallStart = metrics == null ? 0 : System.nanoTime();
+            this.cpuStart = metrics == null ? 0 : currentThreadCpuTime();
+        }
+
+        public void stop() {
+            if (metrics == null) {
+                return;
+            }
+            metrics.wallNanos.addAndGet(System.nanoTime() - wallStart);
+            metrics.cpuNanos.addAndGet(currentThreadCpuTime() - cpuStart);
+        }
+
+        private static long currentThreadCpuTime() {
+            return THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : 0;
+        }
+    }
+}
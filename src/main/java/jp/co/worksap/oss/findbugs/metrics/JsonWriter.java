@@ -0,0 +1,76 @@
+package jp.co.worksap.oss.findbugs.metrics;
+
+import javax.annotation.Nonnull;
+
+/**
+ * <p>Minimal JSON writer for metrics. It writes objects, strings and numbers without indentation,
+ * so plugin needs no JSON library at runtime.</p>
+ *
+ * @author Kengo TODA
+ */
+final class JsonWriter {
+    private final StringBuilder builder = new StringBuilder();
+    /**
+     * true if next member of current object needs separator.
+     */
+    private boolean needsComma;
+
+    @Nonnull
+    JsonWriter beginObject() {
+        builder.append('{');
+        needsComma = false;
+        return this;
+    }
+
+    @Nonnull
+    JsonWriter endObject() {
+        builder.append('}');
+        needsComma = true;
+        return this;
+    }
+
+    @Nonnull
+    JsonWriter name(@Nonnull String name) {
+        if (needsComma) {
+            builder.append(',');
+        }
+        string(name);
+        builder.append(':');
+        needsComma = false;
+        return this;
+    }
+
+    @Nonnull
+    JsonWriter value(long value) {
+        builder.append(value);
+        needsComma = true;
+        return this;
+    }
+
+    @Nonnull
+    JsonWriter value(double value) {
+        builder.append(Double.isNaN(value) || Double.isInfinite(value) ? "null" : Double.toString(value));
+        needsComma = true;
+        return this;
+    }
+
+    private void string(@Nonnull String value) {
+        builder.append('"');
+        for (int i = 0; i < value.length(); ++i) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                builder.append('\\').append(c);
+            } else if (c < ' ') {
+                builder.append(String.format("\\u%04x", (int) c));
+            } else {
+                builder.append(c);
+            }
+        }
+        builder.append('"');
+    }
+
+    @Override
+    public String toString() {
+        return builder.toString();
+    }
+}
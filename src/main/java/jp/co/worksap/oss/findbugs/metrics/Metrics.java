@@ -0,0 +1,195 @@
+package jp.co.worksap.oss.findbugs.metrics;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import jp.co.worksap.oss.findbugs.analysis.EngineRegistrar;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.Maps;
+import com.google.common.io.Files;
+
+import edu.umd.cs.findbugs.BugReporter;
+import edu.umd.cs.findbugs.SystemProperties;
+import edu.umd.cs.findbugs.classfile.CheckedAnalysisException;
+import edu.umd.cs.findbugs.classfile.Global;
+import edu.umd.cs.findbugs.classfile.IAnalysisCache;
+
+/**
+ * <p>Registry of {@link DetectorMetrics} and {@link CacheMetrics} in an analysis, which is dumped as JSON.</p>
+ * <p>Metrics are collected only when system property {@value #OUTPUT} specifies path of JSON file.
+ * Otherwise detectors and caches get disabled metrics, which do nothing.</p>
+ * <p>Registry is a database of analysis cache, so counters of an analysis do not leak into next one
+ * which runs in the same JVM. {@code AnalysisFinisher} dumps it once at the end of analysis.</p>
+ *
+ * @author Kengo TODA
+ * @see MetricsFactory
+ */
+@ThreadSafe
+public final class Metrics {
+    static final String OUTPUT = "jp.co.worksap.oss.findbugs.metrics";
+    private static final Logger LOGGER = Logger.getLogger(Metrics.class.getName());
+    /**
+     * file to write metrics, or {@code null} if metrics are disabled.
+     */
+    @Nullable
+    static final File OUTPUT_FILE = toFile(SystemProperties.getProperty(OUTPUT));
+
+    @Nullable
+    private final File output;
+    private final ConcurrentMap<String, DetectorMetrics> detectors = Maps.newConcurrentMap();
+    private final ConcurrentMap<String, CacheMetrics> caches = Maps.newConcurrentMap();
+
+    Metrics(@Nullable File output) {
+        this.output = output;
+    }
+
+    @Nullable
+    private static File toFile(@Nullable String output) {
+        if (output == null || output.isEmpty()) {
+            return null;
+        }
+        return new File(output);
+    }
+
+    /**
+     * @return database which is shared in current analysis
+     */
+    @Nonnull
+    @CheckReturnValue
+    public static Metrics get() throws CheckedAnalysisException {
+        IAnalysisCache cache = Global.getAnalysisCache();
+        EngineRegistrar.ensureRegistered(cache);
+        return cache.getDatabase(Metrics.class);
+    }
+
+    /**
+     * <p>Detector is constructed before analysis starts, so it should call this method in each visit
+     * instead of keeping returned metrics.</p>
+     * @return metrics of specified detector in current analysis, or disabled one if metrics are not collected
+     */
+    @Nonnull
+    @CheckReturnValue
+    public static DetectorMetrics forDetector(@Nonnull Class<?> detectorClass) {
+        Metrics current = current();
+        return current == null ? DetectorMetrics.DISABLED : current.detector(detectorClass.getName());
+    }
+
+    /**
+     * @return metrics of specified cache in current analysis, or disabled one if metrics are not collected
+     */
+    @Nonnull
+    @CheckReturnValue
+    public static CacheMetrics forCache(@Nonnull String cacheName) {
+        Metrics current = current();
+        return current == null ? CacheMetrics.DISABLED : current.cache(cacheName);
+    }
+
+    /**
+     * @return reporter which counts bugs reported by specified detector, or {@code bugReporter} as is if metrics are disabled
+     */
+    @Nonnull
+    @CheckReturnValue
+    public static BugReporter wrap(@Nonnull Class<?> detectorClass, @Nonnull BugReporter bugReporter) {
+        if (OUTPUT_FILE == null) {
+            return bugReporter;
+        }
+        return new MetricsBugReporter(bugReporter, detectorClass);
+    }
+
+    /**
+     * @return registry of current analysis, or {@code null} if metrics are disabled or no analysis is running
+     */
+    @CheckForNull
+    private static Metrics current() {
+        if (OUTPUT_FILE == null || Global.getAnalysisCache() == null) {
+            return null;
+        }
+        try {
+            return get();
+        } catch (CheckedAnalysisException e) {
+            LOGGER.log(Level.WARNING, "Failed to get metrics of current analysis", e);
+            return null;
+        }
+    }
+
+    /**
+     * <p>Write collected metrics to file, if metrics are enabled.</p>
+     */
+    public void dump() {
+        if (output != null) {
+            write();
+        }
+    }
+    @Nonnull
+    DetectorMetrics detector(@Nonnull String detectorName) {
+        DetectorMetrics metrics = detectors.get(detectorName);
+        if (metrics == null) {
+            DetectorMetrics created = new DetectorMetrics(detectorName);
+            metrics = detectors.putIfAbsent(detectorName, created);
+            if (metrics == null) {
+                metrics = created;
+            }
+        }
+        return metrics;
+    }
+
+    @Nonnull
+    CacheMetrics cache(@Nonnull String cacheName) {
+        CacheMetrics metrics = caches.get(cacheName);
+        if (metrics == null) {
+            CacheMetrics created = new CacheMetrics(cacheName);
+            metrics = caches.putIfAbsent(cacheName, created);
+            if (metrics == null) {
+                metrics = created;
+            }
+        }
+        return metrics;
+    }
+
+    synchronized void write() {
+        checkNotNull(output);
+        try {
+            Files.write(toJson(), output, Charsets.UTF_8);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to write metrics to " + output, e);
+        }
+    }
+
+    @Nonnull
+    @CheckReturnValue
+    String toJson() {
+        JsonWriter json = new JsonWriter();
+        json.beginObject();
+        json.name("detectors").beginObject();
+        for (DetectorMetrics metrics : sorted(detectors).values()) {
+            metrics.writeTo(json);
+        }
+        json.endObject();
+        json.name("caches").beginObject();
+        for (CacheMetrics metrics : sorted(caches).values()) {
+            metrics.writeTo(json);
+        }
+        json.endObject();
+        json.endObject();
+        return json.toString();
+    }
+
+    private static <V> SortedMap<String, V> sorted(Map<String, V> map) {
+        return ImmutableSortedMap.copyOf(map);
+    }
+}
@@ -0,0 +1,33 @@
+package jp.co.worksap.oss.findbugs.metrics;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import javax.annotation.Nonnull;
+
+import edu.umd.cs.findbugs.BugInstance;
+import edu.umd.cs.findbugs.BugReporter;
+import edu.umd.cs.findbugs.DelegatingBugReporter;
+
+/**
+ * <p>Decorator of {@link BugReporter} which counts reported bugs per pattern.</p>
+ * <p>Reporter is created with detector before analysis starts, so it looks up metrics of current analysis
+ * when bug is reported.</p>
+ *
+ * @author Kengo TODA
+ * @see Metrics#wrap(Class, BugReporter)
+ */
+final class MetricsBugReporter extends DelegatingBugReporter {
+    @Nonnull
+    private final Class<?> detectorClass;
+
+    MetricsBugReporter(@Nonnull BugReporter delegate, @Nonnull Class<?> detectorClass) {
+        super(delegate);
+        this.detectorClass = checkNotNull(detectorClass);
+    }
+
+    @Override
+    public void reportBug(BugInstance bugInstance) {
+        Metrics.forDetector(detectorClass).countBug(bugInstance.getType());
+        super.reportBug(bugInstance);
+    }
+}
@@ -0,0 +1,21 @@
+package jp.co.worksap.oss.findbugs.metrics;
+
+import edu.umd.cs.findbugs.classfile.IAnalysisCache;
+import edu.umd.cs.findbugs.classfile.IDatabaseFactory;
+
+/**
+ * <p>Factory which creates {@link Metrics} once per analysis.</p>
+ *
+ * @author Kengo TODA
+ */
+public final class MetricsFactory implements IDatabaseFactory<Metrics> {
+    @Override
+    public Metrics createDatabase() {
+        return new Metrics(Metrics.OUTPUT_FILE);
+    }
+
+    @Override
+    public void registerWith(IAnalysisCache analysisCache) {
+        analysisCache.registerDatabaseFactory(Metrics.class, this);
+    }
+}
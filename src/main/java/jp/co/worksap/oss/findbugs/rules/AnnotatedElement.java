@@ -0,0 +1,81 @@
+package jp.co.worksap.oss.findbugs.rules;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * <p>An annotation and the class, field or method which it annotates.</p>
+ *
+ * @author Kengo TODA
+ * @see AnnotationRule
+ */
+@Immutable
+public final class AnnotatedElement {
+    @Nonnull
+    private final ClassModel targetClass;
+    @Nonnull
+    private final AnnotationValues annotation;
+    @Nullable
+    private final FieldModel field;
+    @Nullable
+    private final MethodModel method;
+
+    AnnotatedElement(@Nonnull ClassModel targetClass, @Nonnull AnnotationValues annotation,
+            @Nullable FieldModel field, @Nullable MethodModel method) {
+        this.targetClass = checkNotNull(targetClass);
+        this.annotation = checkNotNull(annotation);
+        this.field = field;
+        this.method = method;
+    }
+
+    @Nonnull
+    @CheckReturnValue
+    public ClassModel getTargetClass() {
+        return targetClass;
+    }
+
+    @Nonnull
+    @CheckReturnValue
+    public AnnotationValues getAnnotation() {
+        return annotation;
+    }
+
+    /**
+     * @return annotated field, or {@code null} if annotation does not annotate field
+     */
+    @CheckForNull
+    @CheckReturnValue
+    public FieldModel getField() {
+        return field;
+    }
+
+    /**
+     * @return annotated method, or {@code null} if annotation does not annotate method
+     */
+    @CheckForNull
+    @CheckReturnValue
+    public MethodModel getMethod() {
+        return method;
+    }
+
+    /**
+     * <p>Create finding which has annotated field or method.</p>
+     */
+    @Nonnull
+    @CheckReturnValue
+    public Finding createFinding(@Nonnull String type, int priority) {
+        Finding finding = new Finding(type, priority, targetClass);
+        if (field != null) {
+            finding.addField(field);
+        }
+        if (method != null) {
+            finding.addMethod(method);
+        }
+        return finding;
+    }
+}
@@ -0,0 +1,45 @@
+package jp.co.worksap.oss.findbugs.rules;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+
+/**
+ * <p>Base class of rules which verify annotations. Annotations of class, fields and methods are visited
+ * in this order, and only annotations which {@link #isTarget(String) are target} are passed to subclass.</p>
+ *
+ * @author Kengo TODA
+ */
+public abstract class AnnotationRule implements Rule {
+    @Override
+    public final void verify(@Nonnull ClassHierarchy target, @Nonnull FindingReporter reporter) {
+        ClassModel model = target.getModel();
+        for (AnnotationValues annotation : model.getAnnotations()) {
+            visit(new AnnotatedElement(model, annotation, null, null), reporter);
+        }
+        for (FieldModel field : model.getFields()) {
+            for (AnnotationValues annotation : field.getAnnotations()) {
+                visit(new AnnotatedElement(model, annotation, field, null), reporter);
+            }
+        }
+        for (MethodModel method : model.getMethods()) {
+            for (AnnotationValues annotation : method.getAnnotations()) {
+                visit(new AnnotatedElement(model, annotation, null, method), reporter);
+            }
+        }
+    }
+
+    private void visit(@Nonnull AnnotatedElement element, @Nonnull FindingReporter reporter) {
+        if (isTarget(element.getAnnotation().getDescriptor())) {
+            verifyAnnotation(element, reporter);
+        }
+    }
+
+    /**
+     * @param annotationDescriptor descriptor of annotation like {@code Ljavax/persistence/Column;}
+     * @return true if this rule has to verify annotation of specified type.
+     */
+    @CheckReturnValue
+    protected abstract boolean isTarget(@Nonnull String annotationDescriptor);
+
+    protected abstract void verifyAnnotation(@Nonnull AnnotatedElement element, @Nonnull FindingReporter reporter);
+}
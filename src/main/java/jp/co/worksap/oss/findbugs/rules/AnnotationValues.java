@@ -0,0 +1,118 @@
+package jp.co.worksap.oss.findbugs.rules;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Map;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * <p>Typed view over elements of annotation, which are read by ASM.</p>
+ * <p>Values are kept as ASM passes them: boxed primitive, {@link String}, {@code Type},
+ * name of enum constant, {@link java.util.List} for array and {@link AnnotationValues} for nested annotation.
+ * Primitive values are read from boxed value without parsing, and string values are shared with
+ * {@code ClassReader} which holds strings of constant pool. So reading value does not build intermediate string.</p>
+ *
+ * @author Kengo TODA
+ */
+@Immutable
+public final class AnnotationValues {
+    @Nonnull
+    private final String descriptor;
+    @Nonnull
+    private final Map<String, Object> values;
+
+    public AnnotationValues(@Nonnull String descriptor, @Nonnull Map<String, ?> values) {
+        this.descriptor = checkNotNull(descriptor);
+        this.values = ImmutableMap.copyOf(values);
+    }
+
+    /**
+     * @return descriptor of annotation like {@code Ljavax/persistence/Column;}
+     */
+    @Nonnull
+    @CheckReturnValue
+    public String getDescriptor() {
+        return descriptor;
+    }
+
+    /**
+     * @return true if element is specified explicitly
+     */
+    @CheckReturnValue
+    public boolean contains(@Nonnull String name) {
+        return values.containsKey(name);
+    }
+
+    /**
+     * @return value of int element, or {@code defaultValue} if element is not specified
+     */
+    @CheckReturnValue
+    public int getInt(@Nonnull String name, int defaultValue) {
+        Object value = values.get(name);
+        if (value == null) {
+            return defaultValue;
+        } else if (value instanceof Integer) {
+            return ((Integer) value).intValue();
+        } else {
+            return Integer.parseInt(value.toString());
+        }
+    }
+
+    /**
+     * @return value of boolean element, or {@code defaultValue} if element is not specified
+     */
+    @CheckReturnValue
+    public boolean getBoolean(@Nonnull String name, boolean defaultValue) {
+        Object value = values.get(name);
+        if (value == null) {
+            return defaultValue;
+        } else if (value instanceof Boolean) {
+            return ((Boolean) value).booleanValue();
+        } else {
+            return Boolean.parseBoolean(value.toString());
+        }
+    }
+
+    /**
+     * @return value of string element, or {@code null} if element is not specified
+     */
+    @CheckForNull
+    @CheckReturnValue
+    public String getString(@Nonnull String name) {
+        Object value = values.get(name);
+        return value == null ? null : value.toString();
+    }
+
+    /**
+     * @return length of string element, or {@code -1} if element is not specified
+     */
+    @CheckReturnValue
+    public int getStringLength(@Nonnull String name) {
+        String value = getString(name);
+        return value == null ? -1 : value.length();
+    }
+
+    /**
+     * <p>Whitespace is judged in the same way as {@link String#trim()}, without creating trimmed string.</p>
+     * @return true if string element is not specified, or it contains only whitespace
+     */
+    @CheckReturnValue
+    public boolean isBlankString(@Nonnull String name) {
+        String value = getString(name);
+        if (value == null) {
+            return true;
+        }
+        for (int i = 0; i < value.length(); ++i) {
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
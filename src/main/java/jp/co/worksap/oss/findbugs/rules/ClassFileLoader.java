@@ -0,0 +1,22 @@
+package jp.co.worksap.oss.findbugs.rules;
+
+import java.io.IOException;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * <p>Loads content of class file, for hosts which run rules without FindBugs.</p>
+ *
+ * @author Kengo TODA
+ * @see ClassHierarchies
+ */
+public interface ClassFileLoader {
+    /**
+     * @param className name of class like {@code java/lang/String}
+     * @return content of class file, or {@code null} if class is not found
+     * @throws IOException if class is found but cannot be read
+     */
+    @CheckForNull
+    byte[] load(@Nonnull String className) throws IOException;
+}
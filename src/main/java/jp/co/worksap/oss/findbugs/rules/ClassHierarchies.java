@@ -0,0 +1,137 @@
+package jp.co.worksap.oss.findbugs.rules;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+/**
+ * <p>Cache of {@link ClassHierarchy} for hosts which run rules without FindBugs.
+ * Each class is parsed only once and shared with its sub classes, and the cache can be
+ * used by threads which verify classes concurrently.</p>
+ *
+ * @author Kengo TODA
+ */
+@ThreadSafe
+public final class ClassHierarchies {
+    @Nonnull
+    private final ClassFileLoader loader;
+    /**
+     * key is name of class like {@code java/lang/String}.
+     */
+    private final ConcurrentMap<String, Node> cache = Maps.newConcurrentMap();
+
+    public ClassHierarchies(@Nonnull ClassFileLoader loader) {
+        this.loader = checkNotNull(loader);
+    }
+
+    /**
+     * <p>Racing threads may parse the same class twice, but only one result is cached and returned.</p>
+     * @param className name of class like {@code java/lang/String}
+     * @return hierarchy of specified class, or {@code null} if loader cannot find it
+     * @throws IOException if loader cannot read class file
+     */
+    @CheckForNull
+    @CheckReturnValue
+    public ClassHierarchy get(@Nonnull String className) throws IOException {
+        Node node = cache.get(className);
+        if (node != null) {
+            return node;
+        }
+        byte[] classFile = loader.load(className);
+        if (classFile == null) {
+            return null;
+        }
+        ClassModel model = ClassModel.parse(classFile);
+        Node superclass = null;
+        if (model.getSuperName() != null) {
+            superclass = (Node) get(model.getSuperName());
+        }
+        node = new Node(model, superclass);
+        Node previous = cache.putIfAbsent(className, node);
+        return previous == null ? node : previous;
+    }
+
+    /**
+     * <p>Forget specified class and cached sub classes, because they refer old hierarchy.
+     * Hosts which watch class files call this method when class file is created, modified or deleted.
+     * Sub classes which have been cached without missing super class are also forgotten.</p>
+     * <p>Caller should not get affected classes at the same time, otherwise stale hierarchy may be cached again.</p>
+     * @param className name of class like {@code java/lang/String}
+     * @return names of forgotten classes
+     */
+    @Nonnull
+    public Set<String> invalidate(@Nonnull String className) {
+        Set<String> invalidated = Sets.newHashSet();
+        for (Iterator<Map.Entry<String, Node>> iterator = cache.entrySet().iterator(); iterator.hasNext();) {
+            Map.Entry<String, Node> entry = iterator.next();
+            if (entry.getValue().dependsOn(className)) {
+                invalidated.add(entry.getKey());
+                iterator.remove();
+            }
+        }
+        return invalidated;
+    }
+
+    @Immutable
+    private static final class Node implements ClassHierarchy {
+        @Nonnull
+        private final ClassModel model;
+        @Nullable
+        private final Node superclass;
+        private final boolean hierarchyFreeFromMutableFields;
+
+        Node(@Nonnull ClassModel model, @Nullable Node superclass) {
+            this.model = checkNotNull(model);
+            this.superclass = superclass;
+            this.hierarchyFreeFromMutableFields = model.getMutableInstanceFields().isEmpty()
+                    && (model.getSuperName() == null || (superclass != null && superclass.hierarchyFreeFromMutableFields));
+        }
+
+        /**
+         * @return true if this class or its super class is specified class, or specified class is missing super class
+         */
+        boolean dependsOn(@Nonnull String className) {
+            for (Node node = this; node != null; node = node.superclass) {
+                if (node.model.getName().equals(className)
+                        || (node.isSuperclassMissing() && node.model.getSuperName().equals(className))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public ClassModel getModel() {
+            return model;
+        }
+
+        @Override
+        public ClassHierarchy getSuperclass() {
+            return superclass;
+        }
+
+        @Override
+        public boolean isSuperclassMissing() {
+            return model.getSuperName() != null && superclass == null;
+        }
+
+        @Override
+        public boolean isHierarchyFreeFromMutableFields() {
+            return hierarchyFreeFromMutableFields;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package jp.co.worksap.oss.findbugs.rules;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+
+/**
+ * <p>A class and its chain of super classes, which {@link Rule} verifies.
+ * Host of rules decides how to load super classes and how to cache them.</p>
+ *
+ * @author Kengo TODA
+ */
+public interface ClassHierarchy {
+    @Nonnull
+    @CheckReturnValue
+    ClassModel getModel();
+
+    /**
+     * @return hierarchy of super class, or {@code null} if this class has no super class
+     *         or host cannot load it. Use {@link #isSuperclassMissing()} to distinguish them.
+     */
+    @CheckForNull
+    @CheckReturnValue
+    ClassHierarchy getSuperclass();
+
+    /**
+     * @return true if this class has super class but host cannot load it.
+     */
+    @CheckReturnValue
+    boolean isSuperclassMissing();
+
+    /**
+     * @return true if neither this class nor its super classes declare mutable instance field,
+     *         and all super classes are found.
+     */
+    @CheckReturnValue
+    boolean isHierarchyFreeFromMutableFields();
+}
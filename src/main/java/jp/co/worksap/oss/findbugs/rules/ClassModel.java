@@ -0,0 +1,194 @@
+package jp.co.worksap.oss.findbugs.rules;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Opcodes;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * <p>Model of a class which rules need: annotations with their elements, field table and accessor mapping.</p>
+ * <p>It is built from class file by ASM in one pass, and depends on neither FindBugs nor BCEL.
+ * So rules can be applied to class files outside of FindBugs.</p>
+ *
+ * @author Kengo TODA
+ */
+@Immutable
+public final class ClassModel {
+    @Nonnull
+    private final String name;
+    private final int access;
+    @Nullable
+    private final String superName;
+    /**
+     * key is descriptor of annotation.
+     */
+    @Nonnull
+    private final Map<String, AnnotationValues> annotations;
+    @Nonnull
+    private final Map<String, FieldModel> fields;
+    /**
+     * key is name + descriptor of method.
+     */
+    @Nonnull
+    private final Map<String, MethodModel> methods;
+    @Nonnull
+    private final List<FieldModel> mutableInstanceFields;
+
+    ClassModel(@Nonnull String name, int access, @Nullable String superName,
+            @Nonnull Map<String, AnnotationValues> annotations,
+            @Nonnull Map<String, FieldModel> fields, @Nonnull Map<String, MethodModel> methods) {
+        this.name = checkNotNull(name);
+        this.access = access;
+        this.superName = superName;
+        this.annotations = ImmutableMap.copyOf(annotations);
+        this.fields = ImmutableMap.copyOf(fields);
+        this.methods = ImmutableMap.copyOf(methods);
+        this.mutableInstanceFields = findMutableInstanceFields(this.fields.values());
+    }
+
+    @Nonnull
+    private static List<FieldModel> findMutableInstanceFields(@Nonnull Collection<FieldModel> fields) {
+        ImmutableList.Builder<FieldModel> builder = ImmutableList.builder();
+        for (FieldModel field : fields) {
+            if (!field.isStatic() && !field.isFinal()) {
+                builder.add(field);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * <p>Parse class file. Debug information and stack map frames are skipped.</p>
+     * @param classFile content of class file
+     */
+    @Nonnull
+    @CheckReturnValue
+    public static ClassModel parse(@Nonnull byte[] classFile) {
+        ClassModelReader reader = new ClassModelReader();
+        new ClassReader(classFile).accept(reader, ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+        return new ClassModel(reader.name, reader.access, reader.superName,
+                reader.annotations, reader.fields, reader.methods);
+    }
+
+    /**
+     * @return name of class like {@code java/lang/String}
+     */
+    @Nonnull
+    @CheckReturnValue
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return name of class like {@code java.lang.String}
+     */
+    @Nonnull
+    @CheckReturnValue
+    public String getDottedName() {
+        return name.replace('/', '.');
+    }
+
+    @CheckReturnValue
+    public boolean isFinal() {
+        return (access & Opcodes.ACC_FINAL) != 0;
+    }
+
+    /**
+     * @return true if this class is generated by compiler
+     */
+    @CheckReturnValue
+    public boolean isSynthetic() {
+        return (access & Opcodes.ACC_SYNTHETIC) != 0;
+    }
+
+    /**
+     * @return name of super class like {@code java/lang/Object}, or {@code null} if this class is {@code java.lang.Object}.
+     */
+    @CheckForNull
+    @CheckReturnValue
+    public String getSuperName() {
+        return superName;
+    }
+
+    /**
+     * @param annotationDescriptor descriptor of annotation like {@code Ljavax/annotation/concurrent/Immutable;}
+     * @return true if this class is annotated by specified annotation
+     */
+    @CheckReturnValue
+    public boolean isAnnotatedBy(@Nonnull String annotationDescriptor) {
+        return annotations.containsKey(annotationDescriptor);
+    }
+
+    /**
+     * @return annotation of specified type, or {@code null} if this class is not annotated by it
+     */
+    @CheckForNull
+    @CheckReturnValue
+    public AnnotationValues getAnnotation(@Nonnull String annotationDescriptor) {
+        return annotations.get(annotationDescriptor);
+    }
+
+    /**
+     * @return annotations of this class, both of visible and invisible at runtime
+     */
+    @Nonnull
+    @CheckReturnValue
+    public Collection<AnnotationValues> getAnnotations() {
+        return annotations.values();
+    }
+
+    /**
+     * @return fields which are declared in this class, in declared order
+     */
+    @Nonnull
+    @CheckReturnValue
+    public Collection<FieldModel> getFields() {
+        return fields.values();
+    }
+
+    /**
+     * @return methods which are declared in this class, in declared order
+     */
+    @Nonnull
+    @CheckReturnValue
+    public Collection<MethodModel> getMethods() {
+        return methods.values();
+    }
+
+    /**
+     * @return instance fields which are declared in this class and are not final, in declared order
+     */
+    @Nonnull
+    @CheckReturnValue
+    public List<FieldModel> getMutableInstanceFields() {
+        return mutableInstanceFields;
+    }
+
+    @CheckForNull
+    @CheckReturnValue
+    public FieldModel findField(@Nullable String fieldName) {
+        return fields.get(fieldName);
+    }
+
+    /**
+     * @param descriptor descriptor of method like {@code (J)V}
+     */
+    @CheckForNull
+    @CheckReturnValue
+    public MethodModel findMethod(@Nonnull String methodName, @Nonnull String descriptor) {
+        return methods.get(methodName + descriptor);
+    }
+}
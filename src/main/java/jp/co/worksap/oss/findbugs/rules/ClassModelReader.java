@@ -0,0 +1,178 @@
+package jp.co.worksap.oss.findbugs.rules;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.commons.EmptyVisitor;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+/**
+ * <p>ClassVisitor which collects annotations, fields and methods of a class in one pass.</p>
+ *
+ * @author Kengo TODA
+ */
+final class ClassModelReader extends EmptyVisitor {
+    String name;
+    int access;
+    String superName;
+    final Map<String, AnnotationValues> annotations = Maps.newLinkedHashMap();
+    final Map<String, FieldModel> fields = Maps.newLinkedHashMap();
+    final Map<String, MethodModel> methods = Maps.newLinkedHashMap();
+
+    @Override
+    public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+        this.name = name;
+        this.access = access;
+        this.superName = superName;
+    }
+
+    @Override
+    public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+        return new AnnotationReader(descriptor, annotations);
+    }
+
+    @Override
+    public FieldVisitor visitField(int access, String name, String descriptor, String signature, Object value) {
+        return new FieldReader(access, name, descriptor);
+    }
+
+    @Override
+    public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+        return new MethodReader(access, name, descriptor);
+    }
+
+    /**
+     * <p>Collects elements of an annotation, and puts them into {@code destination} at the end.
+     * Annotations in array are ignored, because no rule needs them.</p>
+     */
+    private static final class AnnotationReader extends EmptyVisitor {
+        private final String descriptor;
+        private final String key;
+        private final Map<String, ? super AnnotationValues> destination;
+        private final Map<String, Object> values = Maps.newLinkedHashMap();
+
+        AnnotationReader(@Nonnull String descriptor, @Nonnull Map<String, ? super AnnotationValues> destination) {
+            this(descriptor, descriptor, destination);
+        }
+
+        private AnnotationReader(@Nonnull String descriptor, @Nonnull String key,
+                @Nonnull Map<String, ? super AnnotationValues> destination) {
+            this.descriptor = checkNotNull(descriptor);
+            this.key = checkNotNull(key);
+            this.destination = checkNotNull(destination);
+        }
+
+        @Override
+        public void visit(String name, Object value) {
+            values.put(name, value);
+        }
+
+        @Override
+        public void visitEnum(String name, String enumDescriptor, String value) {
+            values.put(name, value);
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(String name, String nestedDescriptor) {
+            return new AnnotationReader(nestedDescriptor, name, values);
+        }
+
+        @Override
+        public AnnotationVisitor visitArray(String name) {
+            final List<Object> array = Lists.newArrayList();
+            values.put(name, array);
+            return new EmptyVisitor() {
+                @Override
+                public void visit(String unused, Object value) {
+                    array.add(value);
+                }
+
+                @Override
+                public void visitEnum(String unused, String enumDescriptor, String value) {
+                    array.add(value);
+                }
+
+                @Override
+                public AnnotationVisitor visitAnnotation(String unused, String nestedDescriptor) {
+                    return null;
+                }
+            };
+        }
+
+        @Override
+        public void visitEnd() {
+            destination.put(key, new AnnotationValues(descriptor, values));
+        }
+    }
+
+    private final class FieldReader extends EmptyVisitor {
+        private final int access;
+        private final String name;
+        private final String descriptor;
+        private final Map<String, AnnotationValues> fieldAnnotations = Maps.newLinkedHashMap();
+
+        FieldReader(int access, @Nonnull String name, @Nonnull String descriptor) {
+            this.access = access;
+            this.name = checkNotNull(name);
+            this.descriptor = checkNotNull(descriptor);
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(String annotationDescriptor, boolean visible) {
+            return new AnnotationReader(annotationDescriptor, fieldAnnotations);
+        }
+
+        @Override
+        public void visitEnd() {
+            fields.put(name, new FieldModel(name, descriptor, access, fieldAnnotations));
+        }
+    }
+
+    private final class MethodReader extends EmptyVisitor {
+        private final int access;
+        private final String name;
+        private final String descriptor;
+        private final Map<String, AnnotationValues> methodAnnotations = Maps.newLinkedHashMap();
+        private String accessedFieldName;
+
+        MethodReader(int access, @Nonnull String name, @Nonnull String descriptor) {
+            this.access = access;
+            this.name = checkNotNull(name);
+            this.descriptor = checkNotNull(descriptor);
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(String annotationDescriptor, boolean visible) {
+            return new AnnotationReader(annotationDescriptor, methodAnnotations);
+        }
+
+        @Override
+        public AnnotationVisitor visitParameterAnnotation(int parameter, String annotationDescriptor, boolean visible) {
+            return null;
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotationDefault() {
+            return null;
+        }
+
+        @Override
+        public void visitFieldInsn(int code, String owner, String fieldName, String fieldDescriptor) {
+            accessedFieldName = fieldName;
+        }
+
+        @Override
+        public void visitEnd() {
+            methods.put(name + descriptor, new MethodModel(name, descriptor, access, methodAnnotations, accessedFieldName));
+        }
+    }
+}
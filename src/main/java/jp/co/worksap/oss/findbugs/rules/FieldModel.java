@@ -0,0 +1,95 @@
+package jp.co.worksap.oss.findbugs.rules;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Collection;
+import java.util.Map;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+import org.objectweb.asm.Opcodes;
+
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * <p>Model of a field, which is declared in analyzed class.</p>
+ *
+ * @author Kengo TODA
+ * @see ClassModel
+ */
+@Immutable
+public final class FieldModel {
+    @Nonnull
+    private final String name;
+    @Nonnull
+    private final String descriptor;
+    private final int access;
+    /**
+     * key is descriptor of annotation.
+     */
+    @Nonnull
+    private final Map<String, AnnotationValues> annotations;
+
+    FieldModel(@Nonnull String name, @Nonnull String descriptor, int access,
+            @Nonnull Map<String, AnnotationValues> annotations) {
+        this.name = checkNotNull(name);
+        this.descriptor = checkNotNull(descriptor);
+        this.access = access;
+        this.annotations = ImmutableMap.copyOf(annotations);
+    }
+
+    @Nonnull
+    @CheckReturnValue
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return descriptor of field type like {@code Ljava/lang/String;}
+     */
+    @Nonnull
+    @CheckReturnValue
+    public String getDescriptor() {
+        return descriptor;
+    }
+
+    @CheckReturnValue
+    public boolean isStatic() {
+        return (access & Opcodes.ACC_STATIC) != 0;
+    }
+
+    @CheckReturnValue
+    public boolean isFinal() {
+        return (access & Opcodes.ACC_FINAL) != 0;
+    }
+
+    /**
+     * @param annotationDescriptor descriptor of annotation like {@code Ljavax/persistence/Lob;}
+     * @return true if this field is annotated by specified annotation
+     */
+    @CheckReturnValue
+    public boolean isAnnotatedBy(@Nonnull String annotationDescriptor) {
+        return annotations.containsKey(annotationDescriptor);
+    }
+
+    /**
+     * @return annotation of specified type, or {@code null} if this field is not annotated by it
+     */
+    @CheckForNull
+    @CheckReturnValue
+    public AnnotationValues getAnnotation(@Nonnull String annotationDescriptor) {
+        return annotations.get(annotationDescriptor);
+    }
+
+    /**
+     * @return annotations of this field, both of visible and invisible at runtime
+     */
+    @Nonnull
+    @CheckReturnValue
+    public Collection<AnnotationValues> getAnnotations() {
+        return annotations.values();
+    }
+}
@@ -0,0 +1,103 @@
+package jp.co.worksap.oss.findbugs.rules;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+
+import com.google.common.collect.Lists;
+
+/**
+ * <p>A problem which {@link Rule} finds. Like {@code BugInstance}, it has type, priority and
+ * class, field, method and strings which describe where and why the problem is.</p>
+ *
+ * @author Kengo TODA
+ */
+public final class Finding {
+    /**
+     * Same value as {@code Priorities.HIGH_PRIORITY} of FindBugs.
+     */
+    public static final int HIGH_PRIORITY = 1;
+    /**
+     * Same value as {@code Priorities.NORMAL_PRIORITY} of FindBugs.
+     */
+    public static final int NORMAL_PRIORITY = 2;
+
+    @Nonnull
+    private final String type;
+    private final int priority;
+    @Nonnull
+    private final ClassModel targetClass;
+    private FieldModel field;
+    private MethodModel method;
+    private final List<String> strings = Lists.newArrayList();
+
+    public Finding(@Nonnull String type, int priority, @Nonnull ClassModel targetClass) {
+        this.type = checkNotNull(type);
+        this.priority = priority;
+        this.targetClass = checkNotNull(targetClass);
+    }
+
+    @Nonnull
+    public Finding addField(@Nonnull FieldModel field) {
+        this.field = checkNotNull(field);
+        return this;
+    }
+
+    @Nonnull
+    public Finding addMethod(@Nonnull MethodModel method) {
+        this.method = checkNotNull(method);
+        return this;
+    }
+
+    @Nonnull
+    public Finding addString(@Nonnull String value) {
+        strings.add(checkNotNull(value));
+        return this;
+    }
+
+    /**
+     * @return bug pattern type like {@code LONG_TABLE_NAME}
+     */
+    @Nonnull
+    @CheckReturnValue
+    public String getType() {
+        return type;
+    }
+
+    @CheckReturnValue
+    public int getPriority() {
+        return priority;
+    }
+
+    /**
+     * @return class which has this problem
+     */
+    @Nonnull
+    @CheckReturnValue
+    public ClassModel getTargetClass() {
+        return targetClass;
+    }
+
+    @CheckForNull
+    @CheckReturnValue
+    public FieldModel getField() {
+        return field;
+    }
+
+    @CheckForNull
+    @CheckReturnValue
+    public MethodModel getMethod() {
+        return method;
+    }
+
+    @Nonnull
+    @CheckReturnValue
+    public List<String> getStrings() {
+        return Collections.unmodifiableList(strings);
+    }
+}
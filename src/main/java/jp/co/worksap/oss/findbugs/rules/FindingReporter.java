@@ -0,0 +1,18 @@
+package jp.co.worksap.oss.findbugs.rules;
+
+import javax.annotation.Nonnull;
+
+/**
+ * <p>Receiver of {@link Finding} which {@link Rule} finds. FindBugs detectors convert them into {@code BugInstance}.</p>
+ *
+ * @author Kengo TODA
+ */
+public interface FindingReporter {
+    void report(@Nonnull Finding finding);
+
+    /**
+     * <p>Tell that rule could not verify whole hierarchy, because a class is missing.</p>
+     * @param className name of missing class like {@code java/lang/String}
+     */
+    void reportMissingClass(@Nonnull String className);
+}
@@ -0,0 +1,109 @@
+package jp.co.worksap.oss.findbugs.rules;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Collection;
+import java.util.Map;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import org.objectweb.asm.Opcodes;
+
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * <p>Model of a method, which is declared in analyzed class.</p>
+ *
+ * @author Kengo TODA
+ * @see ClassModel
+ */
+@Immutable
+public final class MethodModel {
+    @Nonnull
+    private final String name;
+    @Nonnull
+    private final String descriptor;
+    private final int access;
+    /**
+     * key is descriptor of annotation.
+     */
+    @Nonnull
+    private final Map<String, AnnotationValues> annotations;
+    @Nullable
+    private final String accessedFieldName;
+
+    MethodModel(@Nonnull String name, @Nonnull String descriptor, int access,
+            @Nonnull Map<String, AnnotationValues> annotations, @Nullable String accessedFieldName) {
+        this.name = checkNotNull(name);
+        this.descriptor = checkNotNull(descriptor);
+        this.access = access;
+        this.annotations = ImmutableMap.copyOf(annotations);
+        this.accessedFieldName = accessedFieldName;
+    }
+
+    @Nonnull
+    @CheckReturnValue
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return descriptor of method like {@code (J)V}
+     */
+    @Nonnull
+    @CheckReturnValue
+    public String getDescriptor() {
+        return descriptor;
+    }
+
+    @CheckReturnValue
+    public int getAccess() {
+        return access;
+    }
+
+    @CheckReturnValue
+    public boolean isStatic() {
+        return (access & Opcodes.ACC_STATIC) != 0;
+    }
+
+    /**
+     * @param annotationDescriptor descriptor of annotation like {@code Ljavax/persistence/Lob;}
+     * @return true if this method is annotated by specified annotation
+     */
+    @CheckReturnValue
+    public boolean isAnnotatedBy(@Nonnull String annotationDescriptor) {
+        return annotations.containsKey(annotationDescriptor);
+    }
+
+    /**
+     * @return annotation of specified type, or {@code null} if this method is not annotated by it
+     */
+    @CheckForNull
+    @CheckReturnValue
+    public AnnotationValues getAnnotation(@Nonnull String annotationDescriptor) {
+        return annotations.get(annotationDescriptor);
+    }
+
+    /**
+     * @return annotations of this method, both of visible and invisible at runtime
+     */
+    @Nonnull
+    @CheckReturnValue
+    public Collection<AnnotationValues> getAnnotations() {
+        return annotations.values();
+    }
+
+    /**
+     * <p>Accessor like getter accesses to field which has column value.</p>
+     * @return name of the field which is accessed last in this method, or {@code null} if this method accesses no field.
+     */
+    @CheckForNull
+    @CheckReturnValue
+    public String getAccessedFieldName() {
+        return accessedFieldName;
+    }
+}
@@ -0,0 +1,14 @@
+package jp.co.worksap.oss.findbugs.rules;
+
+import javax.annotation.Nonnull;
+
+/**
+ * <p>A rule which verifies one class. Rule has no state about visited class, so one instance can verify
+ * any number of classes, even from many threads at once. State of one verification should be kept
+ * in local variables or in objects created for it, like {@code VisitedAnnotation}.</p>
+ *
+ * @author Kengo TODA
+ */
+public interface Rule {
+    void verify(@Nonnull ClassHierarchy target, @Nonnull FindingReporter reporter);
+}
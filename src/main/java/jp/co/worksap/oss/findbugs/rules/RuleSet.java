@@ -0,0 +1,48 @@
+package jp.co.worksap.oss.findbugs.rules;
+
+import java.util.List;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+import jp.co.worksap.oss.findbugs.rules.findbugs.UndocumentedSuppressFBWarningsRule;
+import jp.co.worksap.oss.findbugs.rules.jpa.JpaRules;
+import jp.co.worksap.oss.findbugs.rules.jsr305.ImmutabilityRule;
+import jp.co.worksap.oss.findbugs.rules.junit.UndocumentedIgnoreRule;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * <p>Rules which are applied to each class in order. Like each rule, it has no state,
+ * so one instance can verify classes from many threads at once.</p>
+ *
+ * @author Kengo TODA
+ */
+@Immutable
+public final class RuleSet implements Rule {
+    @Nonnull
+    private final List<Rule> rules;
+
+    public RuleSet(@Nonnull Rule... rules) {
+        this.rules = ImmutableList.copyOf(rules);
+    }
+
+    /**
+     * @return all rules which this plugin provides
+     */
+    @Nonnull
+    public static RuleSet all() {
+        return new RuleSet(
+                JpaRules.all(),
+                new ImmutabilityRule(),
+                new UndocumentedIgnoreRule(),
+                new UndocumentedSuppressFBWarningsRule());
+    }
+
+    @Override
+    public void verify(@Nonnull ClassHierarchy target, @Nonnull FindingReporter reporter) {
+        for (Rule rule : rules) {
+            rule.verify(target, reporter);
+        }
+    }
+}
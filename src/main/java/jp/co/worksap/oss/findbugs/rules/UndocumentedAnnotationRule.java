@@ -0,0 +1,47 @@
+package jp.co.worksap.oss.findbugs.rules;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * <p>Base class of rules which ensure that annotation has justification in its string element.</p>
+ *
+ * @author Kengo TODA
+ */
+public abstract class UndocumentedAnnotationRule extends AnnotationRule {
+    @Nonnull
+    private final String type;
+    @Nonnull
+    private final String elementName;
+    @Nonnull
+    private final Set<String> targetAnnotations;
+
+    /**
+     * @param type bug pattern type to report
+     * @param elementName name of element which should have justification
+     * @param targetAnnotations descriptors of annotations to verify
+     */
+    protected UndocumentedAnnotationRule(@Nonnull String type, @Nonnull String elementName,
+            @Nonnull String... targetAnnotations) {
+        this.type = checkNotNull(type);
+        this.elementName = checkNotNull(elementName);
+        this.targetAnnotations = ImmutableSet.copyOf(targetAnnotations);
+    }
+
+    @Override
+    protected final boolean isTarget(@Nonnull String annotationDescriptor) {
+        return targetAnnotations.contains(annotationDescriptor);
+    }
+
+    @Override
+    protected final void verifyAnnotation(@Nonnull AnnotatedElement element, @Nonnull FindingReporter reporter) {
+        if (element.getAnnotation().isBlankString(elementName)) {
+            reporter.report(element.createFinding(type, Finding.HIGH_PRIORITY));
+        }
+    }
+}
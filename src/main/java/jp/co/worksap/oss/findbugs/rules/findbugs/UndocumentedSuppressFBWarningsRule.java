@@ -0,0 +1,16 @@
+package jp.co.worksap.oss.findbugs.rules.findbugs;
+
+import jp.co.worksap.oss.findbugs.rules.UndocumentedAnnotationRule;
+
+/**
+ * <p>A rule to ensure that FindBugs&apos; SuppressWarnings annotation has justification.</p>
+ *
+ * @author Kengo TODA
+ */
+public final class UndocumentedSuppressFBWarningsRule extends UndocumentedAnnotationRule {
+    public UndocumentedSuppressFBWarningsRule() {
+        super("FINDBUGS_UNDOCUMENTED_SUPPRESS_WARNINGS", "justification",
+                "Ledu/umd/cs/findbugs/annotations/SuppressWarnings;",
+                "Ledu/umd/cs/findbugs/annotations/SuppressFBWarnings;");
+    }
+}
@@ -0,0 +1,25 @@
+package jp.co.worksap.oss.findbugs.rules.jpa;
+
+import javax.annotation.Nonnull;
+
+import jp.co.worksap.oss.findbugs.rules.Finding;
+
+/**
+ * <p>A rule which finds columnDefinition property of Column annotation
+ * which may break portability.</p>
+ *
+ * @author Kengo TODA
+ */
+public final class ColumnDefinitionRule implements JpaRule {
+    @Override
+    public boolean isTarget(@Nonnull String annotationDescriptor) {
+        return annotationDescriptor.equals("Ljavax/persistence/Column;");
+    }
+
+    @Override
+    public void verify(@Nonnull VisitedAnnotation annotation) {
+        if (annotation.getElements().getStringLength("columnDefinition") > 0) {
+            annotation.report(annotation.createFindingOnColumn("USE_COLUMN_DEFINITION", Finding.NORMAL_PRIORITY));
+        }
+    }
+}
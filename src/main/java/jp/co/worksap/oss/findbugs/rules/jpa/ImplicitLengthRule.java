@@ -0,0 +1,58 @@
+package jp.co.worksap.oss.findbugs.rules.jpa;
+
+import javax.annotation.Nonnull;
+
+import jp.co.worksap.oss.findbugs.rules.AnnotationValues;
+import jp.co.worksap.oss.findbugs.rules.Finding;
+
+import org.objectweb.asm.Type;
+
+public final class ImplicitLengthRule implements JpaRule {
+    /**
+     * @see http://docs.oracle.com/cd/B28359_01/server.111/b28320/limits001.htm
+     */
+    private static final int MAX_LENGTH_OF_ORACLE_VARCHAR = 4000;
+    /**
+     * @see http://www-01.ibm.com/support/knowledgecenter/SSEPEK_10.0.0/com.ibm.db2z10.doc.intro/src/tpc/db2z_stringdatatypes.htm
+     */
+    private static final int MAX_LENGTH_OF_DB2_VARCHAR = 32704;
+
+    private static final int MAX_LENGTH_OF_VARCHAR = Math.min(MAX_LENGTH_OF_ORACLE_VARCHAR, MAX_LENGTH_OF_DB2_VARCHAR);
+
+    @Override
+    public boolean isTarget(@Nonnull String annotationDescriptor) {
+        return annotationDescriptor.equals("Ljavax/persistence/Column;");
+    }
+
+    @Override
+    public void verify(@Nonnull VisitedAnnotation annotation) {
+        if (! isTarget(annotation.getColumnType())) {
+            return;
+        }
+
+        AnnotationValues elements = annotation.getElements();
+        if (! elements.contains("length")) {
+            annotation.report(annotation.createFindingOnColumn("IMPLICIT_LENGTH", Finding.HIGH_PRIORITY));
+        } else {
+            int lengthValue = elements.getInt("length", 0);
+
+            if (lengthValue <= 0) {
+                reportIllegalLength(annotation);
+            } else if (MAX_LENGTH_OF_VARCHAR < lengthValue && !annotation.isLob()) {
+                reportIllegalLength(annotation);
+            }
+        }
+    }
+
+    private void reportIllegalLength(VisitedAnnotation annotation) {
+        annotation.report(annotation.createFindingOnColumn("ILLEGAL_LENGTH", Finding.HIGH_PRIORITY));
+    }
+
+    /**
+     * @return true if column type requires length property.
+     */
+    private boolean isTarget(Type columnType) {
+        String descriptor = columnType.getDescriptor();
+        return descriptor.equals("Ljava/lang/String;") || descriptor.equals("Ljava/lang/StringBuffer;");
+    }
+}
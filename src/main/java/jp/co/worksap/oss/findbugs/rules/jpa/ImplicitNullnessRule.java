@@ -0,0 +1,19 @@
+package jp.co.worksap.oss.findbugs.rules.jpa;
+
+import javax.annotation.Nonnull;
+
+import jp.co.worksap.oss.findbugs.rules.Finding;
+
+public final class ImplicitNullnessRule implements JpaRule {
+    @Override
+    public boolean isTarget(@Nonnull String annotationDescriptor) {
+        return annotationDescriptor.equals("Ljavax/persistence/Column;");
+    }
+
+    @Override
+    public void verify(@Nonnull VisitedAnnotation annotation) {
+        if (! annotation.getElements().contains("nullable")) {
+            annotation.report(annotation.createFindingOnColumn("IMPLICIT_NULLNESS", Finding.HIGH_PRIORITY));
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package jp.co.worksap.oss.findbugs.rules.jpa;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+
+/**
+ * <p>A rule which verifies one kind of JPA annotation.</p>
+ * <p>{@link JpaRules} visits each annotation only once, and dispatches it to rules which target it.</p>
+ *
+ * @author Kengo TODA
+ */
+public interface JpaRule {
+    /**
+     * @param annotationDescriptor descriptor of annotation like {@code Ljavax/persistence/Column;}
+     * @return true if this rule has to verify annotation of specified type.
+     */
+    @CheckReturnValue
+    boolean isTarget(@Nonnull String annotationDescriptor);
+
+    void verify(@Nonnull VisitedAnnotation annotation);
+}
@@ -0,0 +1,64 @@
+package jp.co.worksap.oss.findbugs.rules.jpa;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+
+import jp.co.worksap.oss.findbugs.rules.AnnotatedElement;
+import jp.co.worksap.oss.findbugs.rules.AnnotationRule;
+import jp.co.worksap.oss.findbugs.rules.FindingReporter;
+
+/**
+ * <p>A rule which verifies JPA annotations in one pass.</p>
+ * <p>Each annotation is visited only once, and dispatched to all {@link JpaRule rules} which target it.</p>
+ *
+ * @author Kengo TODA
+ */
+public final class JpaRules extends AnnotationRule {
+    private final List<JpaRule> rules;
+
+    public JpaRules(@Nonnull JpaRule... rules) {
+        this.rules = Collections.unmodifiableList(Arrays.asList(rules));
+    }
+
+    /**
+     * @return rules which verify all supported JPA annotations
+     */
+    @Nonnull
+    public static JpaRules all() {
+        return new JpaRules(
+                new LongTableNameRule(),
+                new LongColumnNameRule(),
+                new LongIndexNameRule(),
+                new ImplicitLengthRule(),
+                new ImplicitNullnessRule(),
+                new NullablePrimitiveRule(),
+                new ColumnDefinitionRule());
+    }
+
+    @Override
+    protected boolean isTarget(@Nonnull String annotationDescriptor) {
+        for (JpaRule rule : rules) {
+            if (rule.isTarget(annotationDescriptor)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected void verifyAnnotation(@Nonnull AnnotatedElement element, @Nonnull FindingReporter reporter) {
+        VisitedAnnotation annotation = null;
+        for (JpaRule rule : rules) {
+            if (!rule.isTarget(element.getAnnotation().getDescriptor())) {
+                continue;
+            }
+            if (annotation == null) {
+                annotation = new VisitedAnnotation(element, reporter);
+            }
+            rule.verify(annotation);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package jp.co.worksap.oss.findbugs.rules.jpa;
+
+import javax.annotation.Nonnull;
+
+import jp.co.worksap.oss.findbugs.rules.Finding;
+
+public final class LongColumnNameRule implements JpaRule {
+    /**
+     * <p>Oracle database limits the length of column name, and max length is {@code 30} bytes.
+     *
+     * @see http://docs.oracle.com/cd/B19306_01/server.102/b14200/sql_elements008.htm
+     * @see http://stackoverflow.com/questions/1378133/why-are-oracle-table-column-index-names-limited-to-30-characters
+     */
+    private static final int MAX_COLUMN_LENGTH = 30;
+
+    @Override
+    public boolean isTarget(@Nonnull String annotationDescriptor) {
+        return annotationDescriptor.equals("Ljavax/persistence/Column;");
+    }
+
+    @Override
+    public void verify(@Nonnull VisitedAnnotation annotation) {
+        String specifiedName = annotation.getElements().getString("name");
+        final String columnName;
+        if (specifiedName != null) {
+            columnName = specifiedName;
+        } else {
+            columnName = annotation.findAccessedFieldName();
+            if (columnName == null) {
+                throw new IllegalStateException(String.format(
+                        "Method which is annotated with @Column should access to field, but %s#%s does not access.",
+                        annotation.getTargetClass().getDottedName(),
+                        annotation.getMethod().getName()));
+            }
+        }
+        detectLongName(annotation, columnName);
+    }
+
+    private void detectLongName(VisitedAnnotation annotation, String columnName) {
+        if (columnName.length() > MAX_COLUMN_LENGTH) {
+            annotation.report(annotation.createFinding("LONG_COLUMN_NAME", Finding.HIGH_PRIORITY));
+        }
+    }
+}
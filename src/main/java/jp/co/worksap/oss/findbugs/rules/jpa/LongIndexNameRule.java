@@ -0,0 +1,51 @@
+package jp.co.worksap.oss.findbugs.rules.jpa;
+
+import javax.annotation.Nonnull;
+
+import jp.co.worksap.oss.findbugs.rules.FieldModel;
+import jp.co.worksap.oss.findbugs.rules.Finding;
+
+public final class LongIndexNameRule implements JpaRule {
+    /**
+     * <p>Oracle database limits the length of index name, and max length is {@code 30} bytes.
+     *
+     * @see http://docs.oracle.com/cd/B19306_01/server.102/b14200/sql_elements008.htm
+     * @see http://stackoverflow.com/questions/1378133/why-are-oracle-table-column-index-names-limited-to-30-characters
+     */
+    private static final int MAX_INDEX_LENGTH = 30;
+    private static final String PARAMETER_NAME_OF_HIBERNATE = "name";
+    private static final String PARAMETER_NAME_OF_OPENJPA = "name";
+
+    @Override
+    public boolean isTarget(@Nonnull String annotationDescriptor) {
+        return visitingHibernateAnnotation(annotationDescriptor) || visitingOpenJPAAnnotation(annotationDescriptor);
+    }
+
+    @Override
+    public void verify(@Nonnull VisitedAnnotation annotation) {
+        if (visitingHibernateAnnotation(annotation.getAnnotationDescriptor())) {
+            detectLongName(annotation, PARAMETER_NAME_OF_HIBERNATE);
+        } else {
+            detectLongName(annotation, PARAMETER_NAME_OF_OPENJPA);
+        }
+    }
+
+    private boolean visitingOpenJPAAnnotation(@Nonnull String annotationDescriptor) {
+        return annotationDescriptor.equals("Lorg/apache/openjpa/persistence/jdbc/Index;");
+    }
+
+    private boolean visitingHibernateAnnotation(@Nonnull String annotationDescriptor) {
+        return annotationDescriptor.equals("Lorg/hibernate/annotations/Index;");
+    }
+
+    private void detectLongName(VisitedAnnotation annotation, String parameterName) {
+        if (annotation.getElements().getStringLength(parameterName) > MAX_INDEX_LENGTH) {
+            Finding finding = annotation.createFinding("LONG_INDEX_NAME", Finding.HIGH_PRIORITY);
+            FieldModel field = annotation.getField();
+            if (field != null) {
+                finding.addField(field);
+            }
+            annotation.report(finding);
+        }
+    }
+}
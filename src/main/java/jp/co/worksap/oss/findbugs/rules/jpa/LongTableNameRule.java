@@ -0,0 +1,49 @@
+package jp.co.worksap.oss.findbugs.rules.jpa;
+
+import javax.annotation.Nonnull;
+
+import jp.co.worksap.oss.findbugs.rules.Finding;
+
+public final class LongTableNameRule implements JpaRule {
+    /**
+     * <p>Oracle database limits the length of table name, and max length is {@code 30} bytes.
+     *
+     * @see http://docs.oracle.com/cd/B19306_01/server.102/b14200/sql_elements008.htm
+     * @see http://stackoverflow.com/questions/1378133/why-are-oracle-table-column-index-names-limited-to-30-characters
+     */
+    private static final int MAX_TABLE_LENGTH = 30;
+
+    @Override
+    public boolean isTarget(@Nonnull String annotationDescriptor) {
+        return annotationDescriptor.equals("Ljavax/persistence/Entity;");
+    }
+
+    @Override
+    public void verify(@Nonnull VisitedAnnotation annotation) {
+        String specifiedName = annotation.getElements().getString("name");
+        if (specifiedName != null) {
+            detectLongName(annotation, specifiedName);
+        } else {
+            String entityClassName = trimPackage(annotation.getTargetClass().getName());
+            detectLongName(annotation, entityClassName);
+        }
+    }
+
+    /**
+     * @param className name of class like {@code java/lang/String}
+     */
+    public static String trimPackage(@Nonnull String className) {
+        int index = className.lastIndexOf('/');
+        if (index < 0) {
+            return className;
+        } else {
+            return className.substring(index + 1);
+        }
+    }
+
+    private void detectLongName(VisitedAnnotation annotation, String tableName) {
+        if (tableName.length() > MAX_TABLE_LENGTH) {
+            annotation.report(annotation.createFinding("LONG_TABLE_NAME", Finding.HIGH_PRIORITY));
+        }
+    }
+}
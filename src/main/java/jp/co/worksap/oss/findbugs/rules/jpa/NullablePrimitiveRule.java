@@ -0,0 +1,40 @@
+package jp.co.worksap.oss.findbugs.rules.jpa;
+
+import javax.annotation.Nonnull;
+
+import jp.co.worksap.oss.findbugs.rules.AnnotationValues;
+import jp.co.worksap.oss.findbugs.rules.Finding;
+
+import org.objectweb.asm.Type;
+
+public final class NullablePrimitiveRule implements JpaRule {
+    @Override
+    public boolean isTarget(@Nonnull String annotationDescriptor) {
+        return annotationDescriptor.equals("Ljavax/persistence/Column;");
+    }
+
+    @Override
+    public void verify(@Nonnull VisitedAnnotation annotation) {
+        if (! isPrimitive(annotation.getColumnType())) {
+            return;
+        }
+
+        boolean isNullableColumn = detectNullability(annotation.getElements());
+        if (isNullableColumn) {
+            annotation.report(annotation.createFindingOnColumn("NULLABLE_PRIMITIVE", Finding.NORMAL_PRIORITY));
+        }
+    }
+
+    private boolean detectNullability(AnnotationValues elements) {
+        // in JPA 1.0 specification, default value of 'nullable' parameter is true
+        // note that this case will be reported by ImplicitNullnessRule.
+        return elements.getBoolean("nullable", true);
+    }
+
+    /**
+     * @return true if column type is primitive value (not reference type).
+     */
+    private boolean isPrimitive(Type columnType) {
+        return columnType.getSort() != Type.OBJECT; // looks bad, but simple way to check primitive or not.
+    }
+}
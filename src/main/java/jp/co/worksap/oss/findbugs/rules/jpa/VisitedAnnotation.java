@@ -0,0 +1,150 @@
+package jp.co.worksap.oss.findbugs.rules.jpa;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+
+import jp.co.worksap.oss.findbugs.rules.AnnotatedElement;
+import jp.co.worksap.oss.findbugs.rules.AnnotationValues;
+import jp.co.worksap.oss.findbugs.rules.ClassModel;
+import jp.co.worksap.oss.findbugs.rules.FieldModel;
+import jp.co.worksap.oss.findbugs.rules.Finding;
+import jp.co.worksap.oss.findbugs.rules.FindingReporter;
+import jp.co.worksap.oss.findbugs.rules.MethodModel;
+
+import org.objectweb.asm.Type;
+
+/**
+ * <p>Annotation which {@link JpaRules} is visiting now.</p>
+ * <p>Type of column, existence of {@code @Lob} and field accessed by annotated method are read
+ * from {@link ClassModel}, so class is parsed only once even if many rules need them.</p>
+ *
+ * @author Kengo TODA
+ */
+public final class VisitedAnnotation {
+    private static final String LOB = "Ljavax/persistence/Lob;";
+
+    @Nonnull
+    private final AnnotatedElement element;
+    @Nonnull
+    private final FindingReporter reporter;
+
+    VisitedAnnotation(@Nonnull AnnotatedElement element, @Nonnull FindingReporter reporter) {
+        this.element = checkNotNull(element);
+        this.reporter = checkNotNull(reporter);
+    }
+
+    @Nonnull
+    @CheckReturnValue
+    ClassModel getTargetClass() {
+        return element.getTargetClass();
+    }
+
+    /**
+     * @return descriptor of annotation like {@code Ljavax/persistence/Column;}
+     */
+    @Nonnull
+    @CheckReturnValue
+    String getAnnotationDescriptor() {
+        return element.getAnnotation().getDescriptor();
+    }
+
+    @Nonnull
+    @CheckReturnValue
+    AnnotationValues getElements() {
+        return element.getAnnotation();
+    }
+
+    /**
+     * @return name of annotated field, or name of field which is accessed by annotated method.
+     *         {@code null} if annotated method does not access to any field.
+     */
+    @CheckForNull
+    @CheckReturnValue
+    String findAccessedFieldName() {
+        if (element.getField() != null) {
+            return element.getField().getName();
+        } else if (element.getMethod() != null) {
+            return element.getMethod().getAccessedFieldName();
+        } else {
+            throw new IllegalStateException("@Column should annotate field or method.");
+        }
+    }
+
+    @Nonnull
+    @CheckReturnValue
+    Type getColumnType() {
+        if (element.getField() != null) {
+            return Type.getType(element.getField().getDescriptor());
+        } else if (element.getMethod() != null) {
+            return Type.getType(findFieldInVisitingMethod().getDescriptor());
+        } else {
+            throw new IllegalStateException("@Column should annotate field or method.");
+        }
+    }
+
+    @CheckReturnValue
+    boolean isLob() {
+        FieldModel field = element.getField();
+        MethodModel method = element.getMethod();
+        if (field != null) {
+            return field.isAnnotatedBy(LOB);
+        } else if (method != null) {
+            return method.isAnnotatedBy(LOB) || findFieldInVisitingMethod().isAnnotatedBy(LOB);
+        } else {
+            throw new IllegalStateException("@Column should annotate field or method.");
+        }
+    }
+
+    @Nonnull
+    private FieldModel findFieldInVisitingMethod() {
+        String fieldName = findAccessedFieldName();
+        FieldModel field = getTargetClass().findField(fieldName);
+        if (field == null) {
+            throw new IllegalStateException("Cannot find field which named as " + fieldName + ".");
+        }
+        return field;
+    }
+
+    /**
+     * <p>Create finding on entity class.</p>
+     */
+    @Nonnull
+    @CheckReturnValue
+    Finding createFinding(@Nonnull String type, int priority) {
+        return new Finding(type, priority, getTargetClass());
+    }
+
+    /**
+     * <p>Create finding which has annotated field or method.</p>
+     */
+    @Nonnull
+    @CheckReturnValue
+    Finding createFindingOnColumn(@Nonnull String type, int priority) {
+        return element.createFinding(type, priority);
+    }
+
+    /**
+     * @return annotated method, or {@code null} if annotation does not annotate method
+     */
+    @CheckForNull
+    @CheckReturnValue
+    MethodModel getMethod() {
+        return element.getMethod();
+    }
+
+    /**
+     * @return annotated field, or {@code null} if annotation does not annotate field
+     */
+    @CheckForNull
+    @CheckReturnValue
+    FieldModel getField() {
+        return element.getField();
+    }
+
+    void report(@Nonnull Finding finding) {
+        reporter.report(finding);
+    }
+}
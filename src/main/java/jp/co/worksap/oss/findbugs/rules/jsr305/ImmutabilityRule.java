@@ -0,0 +1,58 @@
+package jp.co.worksap.oss.findbugs.rules.jsr305;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import jp.co.worksap.oss.findbugs.rules.ClassHierarchy;
+import jp.co.worksap.oss.findbugs.rules.ClassModel;
+import jp.co.worksap.oss.findbugs.rules.FieldModel;
+import jp.co.worksap.oss.findbugs.rules.Finding;
+import jp.co.worksap.oss.findbugs.rules.FindingReporter;
+import jp.co.worksap.oss.findbugs.rules.Rule;
+
+/**
+ * <p>A rule to check immutability of class which is annotated by {@code @Immutable}.</p>
+ * <p>Note that this rule does not ensure that &quot;constructor stores deep-copied instance&quot; and
+ * &quot;getter returns deep-copied instance&quot;.</p>
+ *
+ * @author Kengo TODA
+ */
+public final class ImmutabilityRule implements Rule {
+    private static final String IMMUTABLE = "Ljavax/annotation/concurrent/Immutable;";
+
+    @Override
+    public void verify(@Nonnull ClassHierarchy target, @Nonnull FindingReporter reporter) {
+        ClassModel immutableClass = target.getModel();
+        if (!immutableClass.isAnnotatedBy(IMMUTABLE)) {
+            return;
+        }
+        if (!immutableClass.isFinal()) {
+            reporter.report(new Finding("IMMUTABLE_CLASS_SHOULD_BE_FINAL", Finding.HIGH_PRIORITY, immutableClass));
+        }
+        checkImmutability(target, immutableClass, reporter);
+    }
+
+    /**
+     * <p>Check fields of specified class and its super classes. If super class is missing,
+     * report it once and check only classes which are found.</p>
+     * <p>We stop walking as soon as rest of hierarchy is known to be free from mutable field.</p>
+     */
+    private void checkImmutability(@Nullable ClassHierarchy hierarchy, @Nonnull ClassModel annotatedClass,
+            @Nonnull FindingReporter reporter) {
+        if (hierarchy == null || hierarchy.isHierarchyFreeFromMutableFields()) {
+            return;
+        }
+        ClassModel model = hierarchy.getModel();
+        for (FieldModel field : model.getMutableInstanceFields()) {
+            reporter.report(new Finding("BROKEN_IMMUTABILITY", Finding.HIGH_PRIORITY, model)
+                    .addString(field.getName())
+                    .addString(model.getDottedName())
+                    .addString(annotatedClass.getDottedName()));
+        }
+        if (hierarchy.isSuperclassMissing()) {
+            reporter.reportMissingClass(model.getSuperName());
+            return;
+        }
+        checkImmutability(hierarchy.getSuperclass(), annotatedClass, reporter);
+    }
+}
@@ -0,0 +1,14 @@
+package jp.co.worksap.oss.findbugs.rules.junit;
+
+import jp.co.worksap.oss.findbugs.rules.UndocumentedAnnotationRule;
+
+/**
+ * <p>A rule to ensure that {@code @Ignore} has explanation as its value.</p>
+ *
+ * @author Kengo TODA
+ */
+public final class UndocumentedIgnoreRule extends UndocumentedAnnotationRule {
+    public UndocumentedIgnoreRule() {
+        super("UNDOCUMENTED_IGNORE", "value", "Lorg/junit/Ignore;");
+    }
+}
@@ -0,0 +1,53 @@
+package jp.co.worksap.oss.findbugs.watch;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+import jp.co.worksap.oss.findbugs.rules.ClassFileLoader;
+
+import com.google.common.io.ByteStreams;
+
+/**
+ * <p>Loads class from watched directory, or from libraries if directory does not have it.
+ * Library classes are needed to walk hierarchy, e.g. super class in other module.</p>
+ *
+ * @author Kengo TODA
+ */
+final class DirectoryClassFileLoader implements ClassFileLoader {
+    @Nonnull
+    private final Path directory;
+    @Nonnull
+    private final ClassLoader libraries;
+
+    DirectoryClassFileLoader(@Nonnull Path directory, @Nonnull ClassLoader libraries) {
+        this.directory = checkNotNull(directory);
+        this.libraries = checkNotNull(libraries);
+    }
+
+    @Override
+    @CheckForNull
+    public byte[] load(@Nonnull String className) throws IOException {
+        try {
+            return Files.readAllBytes(directory.resolve(className + ".class"));
+        } catch (NoSuchFileException e) {
+            // not in watched directory, so try libraries
+        }
+        InputStream input = libraries.getResourceAsStream(className + ".class");
+        if (input == null) {
+            return null;
+        }
+        try {
+            return ByteStreams.toByteArray(input);
+        } finally {
+            input.close();
+        }
+    }
+}
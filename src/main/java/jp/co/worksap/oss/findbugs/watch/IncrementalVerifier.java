@@ -0,0 +1,251 @@
+package jp.co.worksap.oss.findbugs.watch;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import jp.co.worksap.oss.findbugs.rules.ClassFileLoader;
+import jp.co.worksap.oss.findbugs.rules.ClassHierarchies;
+import jp.co.worksap.oss.findbugs.rules.ClassHierarchy;
+import jp.co.worksap.oss.findbugs.rules.Finding;
+import jp.co.worksap.oss.findbugs.rules.FindingReporter;
+import jp.co.worksap.oss.findbugs.rules.Rule;
+import jp.co.worksap.oss.findbugs.rules.RuleSet;
+import jp.co.worksap.oss.findbugs.rules.findbugs.UndocumentedSuppressFBWarningsRule;
+import jp.co.worksap.oss.findbugs.rules.jpa.JpaRules;
+import jp.co.worksap.oss.findbugs.rules.jsr305.ImmutabilityRule;
+import jp.co.worksap.oss.findbugs.rules.junit.UndocumentedIgnoreRule;
+
+import com.google.common.base.Joiner;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+/**
+ * <p>Keeps findings of each class in a directory, and updates them when class files are changed.</p>
+ * <p>Parsed classes are kept in {@link ClassHierarchies}, so only changed classes are parsed again.
+ * Changed class is verified by all rules, and its cached sub classes are verified only by rules
+ * which walk hierarchy.</p>
+ *
+ * @author Kengo TODA
+ * @see WatchDaemon
+ */
+@NotThreadSafe
+final class IncrementalVerifier {
+    /**
+     * Rules which look at only the verified class.
+     */
+    private static final Rule CLASS_RULES = new RuleSet(
+            JpaRules.all(),
+            new UndocumentedIgnoreRule(),
+            new UndocumentedSuppressFBWarningsRule());
+    /**
+     * Rules which walk super classes, so they should verify sub classes of changed class again.
+     */
+    private static final Rule HIERARCHY_RULES = new ImmutabilityRule();
+    private static final String CLASS_FILE_EXTENSION = ".class";
+
+    @Nonnull
+    private final Path directory;
+    @Nonnull
+    private final ClassHierarchies hierarchies;
+    /**
+     * key is name of class in directory like {@code java/lang/String}.
+     */
+    private final Map<String, List<String>> classFindings = Maps.newTreeMap();
+    private final Map<String, List<String>> hierarchyFindings = Maps.newTreeMap();
+
+    IncrementalVerifier(@Nonnull Path directory, @Nonnull ClassLoader libraries) {
+        this(directory, new DirectoryClassFileLoader(directory, libraries));
+    }
+
+    IncrementalVerifier(@Nonnull Path directory, @Nonnull ClassFileLoader loader) {
+        this.directory = checkNotNull(directory);
+        this.hierarchies = new ClassHierarchies(loader);
+    }
+
+    /**
+     * <p>Verify all classes in directory, and forget findings of classes which do not exist anymore.</p>
+     */
+    void verifyAll() throws IOException {
+        Set<String> classNames = Sets.newHashSet(classFindings.keySet());
+        classNames.addAll(listClasses(directory));
+        update(classNames);
+    }
+
+    /**
+     * @param changed names of classes like {@code java/lang/String}, whose class file is created, modified or deleted
+     * @return number of verified classes
+     */
+    int update(@Nonnull Collection<String> changed) {
+        Set<String> affected = Sets.newHashSet();
+        for (String className : changed) {
+            affected.addAll(hierarchies.invalidate(className));
+        }
+        affected.removeAll(changed);
+        affected.retainAll(classFindings.keySet());
+
+        int verified = 0;
+        for (String className : changed) {
+            if (refresh(className, true)) {
+                ++verified;
+            }
+        }
+        for (String className : affected) {
+            if (refresh(className, false)) {
+                ++verified;
+            }
+        }
+        return verified;
+    }
+
+    /**
+     * @return findings of all classes in directory, sorted by class name
+     */
+    @Nonnull
+    @CheckReturnValue
+    List<String> getFindings() {
+        List<String> findings = Lists.newArrayList();
+        for (Map.Entry<String, List<String>> entry : classFindings.entrySet()) {
+            findings.addAll(entry.getValue());
+            List<String> inherited = hierarchyFindings.get(entry.getKey());
+            if (inherited != null) {
+                findings.addAll(inherited);
+            }
+        }
+        return findings;
+    }
+
+    /**
+     * @return name of class like {@code java/lang/String}, or {@code null} if specified file is not a class file
+     */
+    @CheckForNull
+    @CheckReturnValue
+    String toClassName(@Nonnull Path classFile) {
+        String path = directory.relativize(classFile).toString().replace('\\', '/');
+        if (!path.endsWith(CLASS_FILE_EXTENSION)) {
+            return null;
+        }
+        return path.substring(0, path.length() - CLASS_FILE_EXTENSION.length());
+    }
+
+    /**
+     * @return names of class files under specified directory
+     */
+    @Nonnull
+    @CheckReturnValue
+    List<String> listClasses(@Nonnull Path root) throws IOException {
+        final List<String> classNames = Lists.newArrayList();
+        if (!Files.isDirectory(root)) {
+            return classNames;
+        }
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                String className = toClassName(file);
+                if (className != null) {
+                    classNames.add(className);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return classNames;
+    }
+
+    /**
+     * <p>Class file which compiler is writing may be broken or locked. We report it as error, and verify it again
+     * when compiler finishes writing. Rule may also fail on unexpected class, then we report it as error
+     * of the rule and keep watching, like analysis error of FindBugs.</p>
+     * @param changed true to verify by all rules, false to verify only by rules which walk hierarchy
+     * @return true if class is verified
+     */
+    private boolean refresh(@Nonnull String className, boolean changed) {
+        ClassHierarchy hierarchy;
+        try {
+            hierarchy = load(className);
+        } catch (IOException | RuntimeException e) {
+            classFindings.put(className, error(className, e));
+            hierarchyFindings.remove(className);
+            return false;
+        }
+        if (hierarchy == null) {
+            classFindings.remove(className);
+            hierarchyFindings.remove(className);
+            return false;
+        }
+        if (changed) {
+            classFindings.put(className, verify(CLASS_RULES, className, hierarchy));
+        }
+        hierarchyFindings.put(className, verify(HIERARCHY_RULES, className, hierarchy));
+        return true;
+    }
+
+    /**
+     * @return hierarchy of class in directory, or {@code null} if class file does not exist
+     */
+    @CheckForNull
+    private ClassHierarchy load(@Nonnull String className) throws IOException {
+        if (!Files.isRegularFile(directory.resolve(className + CLASS_FILE_EXTENSION))) {
+            return null;
+        }
+        return hierarchies.get(className);
+    }
+
+    @Nonnull
+    private List<String> verify(@Nonnull Rule rule, @Nonnull String className, @Nonnull ClassHierarchy hierarchy) {
+        final List<String> findings = Lists.newArrayList();
+        try {
+            rule.verify(hierarchy, new FindingReporter() {
+                @Override
+                public void report(@Nonnull Finding finding) {
+                    findings.add(format(finding));
+                }
+
+                @Override
+                public void reportMissingClass(@Nonnull String className) {
+                    findings.add(Joiner.on('\t').join("MISSING_CLASS", className.replace('/', '.')));
+                }
+            });
+        } catch (RuntimeException e) {
+            return error(className, e);
+        }
+        return ImmutableList.copyOf(findings);
+    }
+
+    @Nonnull
+    private static List<String> error(@Nonnull String className, @Nonnull Exception e) {
+        return Collections.singletonList(Joiner.on('\t').join("ERROR", className.replace('/', '.'), e));
+    }
+
+    /**
+     * @return tab separated type, priority, location and strings of finding
+     */
+    @Nonnull
+    private static String format(@Nonnull Finding finding) {
+        StringBuilder location = new StringBuilder(finding.getTargetClass().getDottedName());
+        if (finding.getField() != null) {
+            location.append('.').append(finding.getField().getName());
+        }
+        if (finding.getMethod() != null) {
+            location.append('.').append(finding.getMethod().getName()).append(finding.getMethod().getDescriptor());
+        }
+        String priority = finding.getPriority() == Finding.HIGH_PRIORITY ? "HIGH" : "NORMAL";
+        return Joiner.on('\t').join(finding.getType(), priority, location, Joiner.on(',').join(finding.getStrings()));
+    }
+}
@@ -0,0 +1,246 @@
+package jp.co.worksap.oss.findbugs.watch;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Joiner;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.primitives.Ints;
+
+/**
+ * <p>Long-running process which watches compiled classes, and keeps findings of rules up to date.
+ * Classes are parsed once and kept in memory, so change of a class file is verified in milliseconds
+ * instead of starting whole FindBugs.</p>
+ * <p>Findings are written to a file as tab separated lines, and also served to each connection of
+ * local TCP port if port is specified. Libraries which classes depend on should be in classpath
+ * of this process, to walk hierarchy of classes.</p>
+ * <pre><code>
+ * java -cp findbugs-plugin.jar:asm.jar:guava.jar:(libraries) jp.co.worksap.oss.findbugs.watch.WatchDaemon target/classes target/findings.txt [port]
+ * </code></pre>
+ *
+ * @author Kengo TODA
+ * @see IncrementalVerifier
+ */
+public final class WatchDaemon {
+    private static final Logger LOGGER = Logger.getLogger(WatchDaemon.class.getName());
+    /**
+     * Compiler writes many class files at once, so we wait for a while to verify them together.
+     */
+    private static final long QUIET_MILLIS = 50;
+    private static final int EXIT_WITH_ERRORS = 2;
+    private static final int MAX_PORT = 0xFFFF;
+
+    @Nonnull
+    private final Path directory;
+    @Nonnull
+    private final Path output;
+    @Nonnull
+    private final IncrementalVerifier verifier;
+    @Nonnull
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> watchedDirectories = Maps.newHashMap();
+    /**
+     * findings which are served to socket, or {@code null} if daemon does not verify classes yet.
+     */
+    @Nullable
+    private volatile byte[] findings;
+
+    WatchDaemon(@Nonnull Path directory, @Nonnull Path output, @Nonnull ClassLoader libraries) throws IOException {
+        this.directory = checkNotNull(directory);
+        this.output = checkNotNull(output);
+        this.verifier = new IncrementalVerifier(directory, libraries);
+        this.watchService = directory.getFileSystem().newWatchService();
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.exit(run(args, System.err));
+    }
+
+    /**
+     * @return exit code of process, which is non-zero only when arguments are invalid,
+     *         because daemon watches directory until it is interrupted
+     */
+    static int run(@Nonnull String[] args, @Nonnull PrintStream err) throws IOException, InterruptedException {
+        Integer port = args.length == 3 ? Ints.tryParse(args[2]) : null;
+        boolean validPort = args.length == 2 || (port != null && port >= 0 && port <= MAX_PORT);
+        if ((args.length != 2 && args.length != 3) || !validPort) {
+            err.println("usage: WatchDaemon <directory of classes> <output file> [port]");
+            return EXIT_WITH_ERRORS;
+        }
+        WatchDaemon daemon = new WatchDaemon(Paths.get(args[0]), Paths.get(args[1]), WatchDaemon.class.getClassLoader());
+        if (port != null) {
+            daemon.serve(port);
+        }
+        daemon.watch();
+        return 0;
+    }
+
+    /**
+     * <p>Watch directory until this thread is interrupted. If directory is deleted e.g. by {@code mvn clean},
+     * we wait for it and verify all classes again.</p>
+     */
+    void watch() throws IOException, InterruptedException {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                if (watchedDirectories.isEmpty()) {
+                    while (!Files.isDirectory(directory)) {
+                        Thread.sleep(QUIET_MILLIS);
+                    }
+                    register(directory);
+                    long start = System.nanoTime();
+                    verifier.verifyAll();
+                    publish(start, -1);
+                    continue;
+                }
+                Set<String> changed = Sets.newHashSet();
+                WatchKey key = watchService.take();
+                long start = System.nanoTime();
+                boolean overflow = false;
+                do {
+                    overflow |= collect(key, changed);
+                    key = watchService.poll(QUIET_MILLIS, TimeUnit.MILLISECONDS);
+                } while (key != null);
+                if (overflow) {
+                    verifier.verifyAll();
+                    publish(start, -1);
+                } else if (!changed.isEmpty()) {
+                    publish(start, verifier.update(changed));
+                }
+            }
+        } finally {
+            watchService.close();
+        }
+    }
+
+    /**
+     * <p>Serve findings to each connection of specified port on loopback address, from daemon thread.</p>
+     */
+    void serve(int port) throws IOException {
+        final ServerSocket server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                while (!server.isClosed()) {
+                    try (Socket socket = server.accept(); OutputStream stream = socket.getOutputStream()) {
+                        byte[] current = findings;
+                        if (current != null) {
+                            stream.write(current);
+                        }
+                    } catch (IOException e) {
+                        LOGGER.log(Level.WARNING, "Failed to serve findings", e);
+                    }
+                }
+            }
+        }, "WatchDaemon server");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * @return true if some events are lost, so we need to verify all classes
+     */
+    private boolean collect(@Nonnull WatchKey key, @Nonnull Set<String> changed) throws IOException {
+        Path watched = watchedDirectories.get(key);
+        boolean overflow = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW || watched == null) {
+                overflow = true;
+                continue;
+            }
+            Path path = watched.resolve((Path) event.context());
+            if (event.kind() == ENTRY_CREATE && Files.isDirectory(path)) {
+                // class files may be written before we start watching new directory
+                register(path);
+                changed.addAll(verifier.listClasses(path));
+                continue;
+            }
+            String className = verifier.toClassName(path);
+            if (className != null) {
+                changed.add(className);
+            }
+        }
+        if (!key.reset()) {
+            watchedDirectories.remove(key);
+            if (directory.equals(watched)) {
+                for (WatchKey other : watchedDirectories.keySet()) {
+                    other.cancel();
+                }
+                watchedDirectories.clear();
+            }
+        }
+        return overflow;
+    }
+
+    private void register(@Nonnull Path root) throws IOException {
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attributes) throws IOException {
+                watchedDirectories.put(dir.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE), dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /**
+     * <p>Replace output file atomically, so reader never sees half-written findings.
+     * If output file cannot be written, we log it and keep watching. Next change writes it again.</p>
+     * @param verified number of verified classes, or {@code -1} if all classes are verified
+     */
+    private void publish(long start, int verified) {
+        List<String> lines = verifier.getFindings();
+        byte[] content = toBytes(lines);
+        findings = content;
+        Path temporary = output.resolveSibling(output.getFileName() + ".tmp");
+        try {
+            Files.write(temporary, content);
+            Files.move(temporary, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to write findings to " + output, e);
+            return;
+        }
+        if (LOGGER.isLoggable(Level.INFO)) {
+            LOGGER.info(String.format("%s classes are verified in %d ms, %d findings",
+                    verified < 0 ? "all" : Integer.toString(verified),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), lines.size()));
+        }
+    }
+
+    @Nonnull
+    private static byte[] toBytes(@Nonnull List<String> lines) {
+        if (lines.isEmpty()) {
+            return new byte[0];
+        }
+        return (Joiner.on('\n').join(lines) + '\n').getBytes(Charsets.UTF_8);
+    }
+}
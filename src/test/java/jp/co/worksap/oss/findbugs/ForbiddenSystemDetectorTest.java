@@ -1,5 +1,7 @@
 package jp.co.worksap.oss.findbugs;
 
+import jp.co.worksap.oss.findbugs.corpus.PerformanceBudget;
+
 import org.junit.Test;
 
 import com.youdevise.fbplugins.tdd4fb.DetectorAssert;
@@ -26,4 +28,17 @@ public class ForbiddenSystemDetectorTest {
                 bugReporter);
     }
 
+    @Test
+    public void testUseOtherMemberOfSystem() throws Exception {
+        BugReporter bugReporter = DetectorAssert.bugReporterForTesting();
+        ForbiddenSystemClass detector = new ForbiddenSystemClass(bugReporter);
+
+        DetectorAssert.assertNoBugsReported(UseSystemNanoTime.class, detector,
+                bugReporter);
+    }
+
+    @Test
+    public void testPerformanceBudget() throws Exception {
+        new PerformanceBudget(2048, 100).verify(ForbiddenSystemClass.class);
+    }
 }
@@ -0,0 +1,9 @@
+package jp.co.worksap.oss.findbugs;
+
+public class UseSystemNanoTime {
+
+    public long test() {
+        return System.nanoTime();
+    }
+
+}
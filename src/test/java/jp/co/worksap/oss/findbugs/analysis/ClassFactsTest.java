@@ -0,0 +1,98 @@
+package jp.co.worksap.oss.findbugs.analysis;
+
+import static com.youdevise.fbplugins.tdd4fb.DetectorAssert.assertNoBugsReported;
+import static com.youdevise.fbplugins.tdd4fb.DetectorAssert.bugReporterForTesting;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import jp.co.worksap.oss.findbugs.rules.ClassModel;
+
+import org.junit.Test;
+
+import edu.umd.cs.findbugs.BugReporter;
+import edu.umd.cs.findbugs.Detector;
+import edu.umd.cs.findbugs.ba.ClassContext;
+import edu.umd.cs.findbugs.classfile.CheckedAnalysisException;
+
+public class ClassFactsTest {
+    private final BugReporter bugReporter = bugReporterForTesting();
+
+    @Test
+    public void testFieldsAndAccessors() throws Exception {
+        ClassModel model = analyze(Child.class).getModel();
+
+        assertThat(model.isFinal(), is(true));
+        assertThat(model.isAnnotatedBy("Ljava/lang/Deprecated;"), is(true));
+        assertThat(model.findField("name").isFinal(), is(false));
+        assertThat(model.findField("name").isAnnotatedBy("Ljava/lang/Deprecated;"), is(true));
+        assertThat(model.findField("COUNT").isStatic(), is(true));
+        assertThat(model.findMethod("getName", "()Ljava/lang/String;").getAccessedFieldName(), is("name"));
+        assertThat(model.findMethod("<init>", "()V").isAnnotatedBy("Ljava/lang/Deprecated;"), is(false));
+    }
+
+    @Test
+    public void testSuperclassChain() throws Exception {
+        ClassFacts facts = analyze(Child.class);
+
+        assertThat(facts.getSuperclass().getDescriptor().getDottedClassName(), is(Parent.class.getName()));
+        assertThat(facts.getSuperclass().getSuperclass().getSuperclass(), is(nullValue()));
+        assertThat(facts.getSuperclass().getSuperclass().isSuperclassMissing(), is(false));
+    }
+
+    @Test
+    public void testMutableInstanceFields() throws Exception {
+        ClassFacts facts = analyze(Child.class);
+
+        assertThat(facts.getModel().getMutableInstanceFields().size(), is(1));
+        assertThat(facts.getModel().getMutableInstanceFields().get(0).getName(), is("name"));
+        assertThat(facts.isHierarchyFreeFromMutableFields(), is(false));
+        assertThat(facts.getSuperclass().getModel().getMutableInstanceFields().isEmpty(), is(true));
+        assertThat(facts.getSuperclass().isHierarchyFreeFromMutableFields(), is(true));
+    }
+
+    @Test
+    public void testFactsAreCached() throws Exception {
+        assertThat(analyze(Child.class), is(sameInstance(analyze(Child.class))));
+    }
+
+    private ClassFacts analyze(Class<?> target) throws Exception {
+        FactsCollector collector = new FactsCollector();
+        assertNoBugsReported(target, collector, bugReporter);
+        return collector.facts;
+    }
+
+    private static final class FactsCollector implements Detector {
+        private ClassFacts facts;
+
+        @Override
+        public void visitClassContext(ClassContext classContext) {
+            try {
+                facts = ClassFacts.of(classContext.getClassDescriptor());
+            } catch (CheckedAnalysisException e) {
+                throw new AssertionError(e);
+            }
+        }
+
+        @Override
+        public void report() {
+        }
+    }
+
+    static class Parent {
+        final int id = 0;
+    }
+
+    @Deprecated
+    static final class Child extends Parent {
+        static int COUNT;
+
+        @Deprecated
+        String name;
+
+        String getName() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package jp.co.worksap.oss.findbugs.analysis;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+public class ClassPatternTrieTest {
+    @Test
+    public void testEmptyTrieMatchesNothing() {
+        ClassPatternTrie trie = new ClassPatternTrie();
+
+        assertThat(trie.isEmpty(), is(true));
+        assertThat(trie.matches("com.example.Foo"), is(false));
+    }
+
+    @Test
+    public void testSubPackages() {
+        ClassPatternTrie trie = new ClassPatternTrie();
+        trie.add("com.example.jaxb.**");
+
+        assertThat(trie.matches("com.example.jaxb.Foo"), is(true));
+        assertThat(trie.matches("com.example.jaxb.inner.Foo"), is(true));
+        assertThat(trie.matches("com.example.Foo"), is(false));
+        assertThat(trie.matches("com.example.jaxbx.Foo"), is(false));
+    }
+
+    @Test
+    public void testClassesInPackage() {
+        ClassPatternTrie trie = new ClassPatternTrie();
+        trie.add("com.example.*");
+
+        assertThat(trie.matches("com.example.Foo"), is(true));
+        assertThat(trie.matches("com.example.inner.Foo"), is(false));
+    }
+
+    @Test
+    public void testGlobOfSimpleName() {
+        ClassPatternTrie trie = new ClassPatternTrie();
+        trie.add("com.example.Q*");
+        trie.add("com.example.Foo?Proto");
+
+        assertThat(trie.matches("com.example.QUser"), is(true));
+        assertThat(trie.matches("com.example.Foo1Proto"), is(true));
+        assertThat(trie.matches("com.example.Foo12Proto"), is(false));
+        assertThat(trie.matches("com.example.User"), is(false));
+        assertThat(trie.matches("com.example.inner.QUser"), is(false));
+    }
+
+    @Test
+    public void testGlobInAnyPackage() {
+        ClassPatternTrie trie = new ClassPatternTrie();
+        trie.add("**.Q*");
+
+        assertThat(trie.matches("QUser"), is(true));
+        assertThat(trie.matches("com.example.QUser"), is(true));
+        assertThat(trie.matches("com.example.User$QInner"), is(false));
+        assertThat(trie.matches("com.example.User"), is(false));
+    }
+
+    @Test
+    public void testGlobInSubPackages() {
+        ClassPatternTrie trie = new ClassPatternTrie();
+        trie.add("com.example.**.*Proto");
+
+        assertThat(trie.matches("com.example.UserProto"), is(true));
+        assertThat(trie.matches("com.example.inner.UserProto$Builder"), is(false));
+        assertThat(trie.matches("com.example.inner.UserProto"), is(true));
+        assertThat(trie.matches("org.example.UserProto"), is(false));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWildcardInPackageIsInvalid() {
+        new ClassPatternTrie().add("com.*.Foo");
+    }
+}
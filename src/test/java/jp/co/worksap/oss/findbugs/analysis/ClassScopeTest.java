@@ -0,0 +1,82 @@
+package jp.co.worksap.oss.findbugs.analysis;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.Collections;
+
+import jp.co.worksap.oss.findbugs.corpus.AnalysisSetup;
+import jp.co.worksap.oss.findbugs.corpus.CountingBugReporter;
+import jp.co.worksap.oss.findbugs.jpa.LongTableName;
+import jp.co.worksap.oss.findbugs.jsr305.ExtendsMutableClass;
+import jp.co.worksap.oss.findbugs.jsr305.MutableClass;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableSet;
+
+import edu.umd.cs.findbugs.SystemProperties;
+import edu.umd.cs.findbugs.classfile.ClassDescriptor;
+import edu.umd.cs.findbugs.classfile.DescriptorFactory;
+
+public class ClassScopeTest {
+    @Test
+    public void testAllClassesAreInScopeByDefault() {
+        ClassScope scope = createScope(new ClassPatternTrie(), new ClassPatternTrie());
+
+        assertThat(scope.contains(descriptor("com.example.Foo")), is(true));
+    }
+
+    @Test
+    public void testIncludedClassesAreInScope() {
+        ClassPatternTrie includes = new ClassPatternTrie();
+        includes.add("com.example.**");
+        ClassScope scope = createScope(includes, new ClassPatternTrie());
+
+        assertThat(scope.contains(descriptor("com.example.Foo")), is(true));
+        assertThat(scope.contains(descriptor("org.example.Foo")), is(false));
+    }
+
+    @Test
+    public void testExcludedClassesAreOutOfScope() {
+        ClassPatternTrie includes = new ClassPatternTrie();
+        includes.add("com.example.**");
+        ClassPatternTrie excludes = new ClassPatternTrie();
+        excludes.add("com.example.jaxb.**");
+        excludes.add("**.Q*");
+        ClassScope scope = createScope(includes, excludes);
+
+        assertThat(scope.contains(descriptor("com.example.Foo")), is(true));
+        assertThat(scope.contains(descriptor("com.example.QFoo")), is(false));
+        assertThat(scope.contains(descriptor("com.example.jaxb.Foo")), is(false));
+    }
+
+    @Test
+    public void testGeneratedClassesAreOutOfScope() throws Exception {
+        AnalysisSetup.setUpCurrentThread(new CountingBugReporter());
+        ClassScope scope = new ClassScope(new ClassPatternTrie(), new ClassPatternTrie(), ImmutableSet.of(
+                descriptor("javax.persistence.Entity"), descriptor(MutableClass.class.getName())), true);
+
+        assertThat(scope.contains(descriptor(LongTableName.class.getName())), is(false));
+        assertThat(scope.contains(descriptor(ExtendsMutableClass.class.getName())), is(false));
+        assertThat(scope.contains(descriptor(MutableClass.class.getName())), is(true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPatternIsRejected() {
+        SystemProperties.setProperty(ClassScope.EXCLUDE, "com.*.Foo");
+        try {
+            ClassScope.fromProperties();
+        } finally {
+            SystemProperties.setProperty(ClassScope.EXCLUDE, "");
+        }
+    }
+
+    private ClassScope createScope(ClassPatternTrie includes, ClassPatternTrie excludes) {
+        return new ClassScope(includes, excludes, Collections.<ClassDescriptor>emptySet(), false);
+    }
+
+    private ClassDescriptor descriptor(String dottedClassName) {
+        return DescriptorFactory.createClassDescriptorFromDottedClassName(dottedClassName);
+    }
+}
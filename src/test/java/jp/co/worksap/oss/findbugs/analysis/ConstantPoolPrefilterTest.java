@@ -0,0 +1,63 @@
+package jp.co.worksap.oss.findbugs.analysis;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.annotation.concurrent.Immutable;
+
+import jp.co.worksap.oss.findbugs.jpa.LongIndexNameForHibernate;
+import jp.co.worksap.oss.findbugs.junit.IgnoreMethodWithExplanation;
+
+import org.junit.Test;
+
+import com.google.common.io.ByteStreams;
+
+public class ConstantPoolPrefilterTest {
+    @Test
+    public void testClassWithoutTargetAnnotation() throws IOException {
+        ConstantPoolPrefilter prefilter = scan(ConstantPoolPrefilterTest.class);
+        for (PrefilterTarget target : PrefilterTarget.values()) {
+            assertThat(prefilter.mayFire(target), is(false));
+        }
+    }
+
+    @Test
+    public void testImmutableClass() throws IOException {
+        ConstantPoolPrefilter prefilter = scan(ImmutableClass.class);
+        assertThat(prefilter.mayFire(PrefilterTarget.IMMUTABLE), is(true));
+        assertThat(prefilter.mayFire(PrefilterTarget.JPA), is(false));
+    }
+
+    @Test
+    public void testAnnotatedMembers() throws IOException {
+        assertThat(scan(LongIndexNameForHibernate.class).mayFire(PrefilterTarget.JPA), is(true));
+        assertThat(scan(IgnoreMethodWithExplanation.class).mayFire(PrefilterTarget.JUNIT_IGNORE), is(true));
+    }
+
+    @Test
+    public void testConstantsOfAllSize() throws IOException {
+        ConstantPoolPrefilter prefilter = scan(ImmutableClass.class);
+        assertThat(prefilter.mayFire(PrefilterTarget.SUPPRESS_FB_WARNINGS), is(false));
+    }
+
+    private ConstantPoolPrefilter scan(Class<?> clazz) throws IOException {
+        InputStream input = clazz.getResourceAsStream("/" + clazz.getName().replace('.', '/') + ".class");
+        try {
+            return ConstantPoolPrefilter.scan(ByteStreams.toByteArray(input));
+        } finally {
+            input.close();
+        }
+    }
+
+    @Immutable
+    static final class ImmutableClass {
+        final long longValue = System.nanoTime() + 1234567890123L;
+        final double doubleValue = Math.random() * 1.5;
+        final float floatValue = (float) Math.random() * 2.5f;
+        final int intValue = (int) System.nanoTime() + 123456789;
+        final String stringValue = "Ljava/lang/SuppressWarnings;" + intValue;
+    }
+}
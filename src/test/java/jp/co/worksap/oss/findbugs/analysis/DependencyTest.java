@@ -0,0 +1,105 @@
+package jp.co.worksap.oss.findbugs.analysis;
+
+import static com.youdevise.fbplugins.tdd4fb.DetectorAssert.assertNoBugsReported;
+import static com.youdevise.fbplugins.tdd4fb.DetectorAssert.bugReporterForTesting;
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.hasItems;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.google.common.collect.Sets;
+
+import edu.umd.cs.findbugs.BugReporter;
+import edu.umd.cs.findbugs.Detector;
+import edu.umd.cs.findbugs.ba.ClassContext;
+import edu.umd.cs.findbugs.classfile.ClassDescriptor;
+
+public class DependencyTest {
+    private final BugReporter bugReporter = bugReporterForTesting();
+
+    @Test
+    public void testSuperclasses() throws Exception {
+        Set<String> dependencies = collect(Dependency.SUPERCLASSES, Child.class);
+
+        assertThat(dependencies, hasItems(Parent.class.getName(), Object.class.getName()));
+        assertThat(dependencies, not(hasItem(Child.class.getName())));
+        assertThat(dependencies, not(hasItem(Runnable.class.getName())));
+    }
+
+    @Test
+    public void testInvokedClasses() throws Exception {
+        Set<String> dependencies = collect(Dependency.INVOKED_CLASSES, Caller.class);
+
+        assertThat(dependencies, hasItems(Child.class.getName(), Parent.class.getName(), Runnable.class.getName()));
+        assertThat(dependencies, not(hasItem(Caller.class.getName())));
+        assertThat(dependencies, not(hasItem(StringBuilder.class.getName())));
+    }
+
+    @Test
+    public void testPackageDefaults() throws Exception {
+        Set<String> dependencies = collect(Dependency.PACKAGE_DEFAULTS, Child.class);
+
+        assertThat(dependencies, hasItems(DependencyTest.class.getName(), Parent.class.getName(), Runnable.class.getName(),
+                DependencyTest.class.getPackage().getName() + ".package-info", "java.lang.package-info"));
+        assertThat(dependencies, hasItems(ClassMarker.class.getName(), ParameterMarker.class.getName()));
+        assertThat(dependencies, not(hasItem(Caller.class.getName())));
+    }
+
+    private Set<String> collect(Dependency dependency, Class<?> target) throws Exception {
+        DependencyCollector collector = new DependencyCollector(dependency);
+        assertNoBugsReported(target, collector, bugReporter);
+        return collector.dependencies;
+    }
+
+    private static final class DependencyCollector implements Detector {
+        private final Dependency dependency;
+        private final Set<String> dependencies = Sets.newHashSet();
+
+        DependencyCollector(Dependency dependency) {
+            this.dependency = dependency;
+        }
+
+        @Override
+        public void visitClassContext(ClassContext classContext) {
+            Set<ClassDescriptor> descriptors = Sets.newHashSet();
+            dependency.collect(classContext, descriptors);
+            for (ClassDescriptor descriptor : descriptors) {
+                dependencies.add(descriptor.getDottedClassName());
+            }
+        }
+
+        @Override
+        public void report() {
+        }
+    }
+
+    @interface ClassMarker {
+    }
+
+    @interface ParameterMarker {
+    }
+
+    @ClassMarker
+    static class Parent {
+        void accept(@ParameterMarker Object value) {
+        }
+    }
+
+    static class Child extends Parent implements Runnable {
+        @Override
+        public void run() {
+        }
+    }
+
+    static class Caller {
+        String call(Child child) {
+            child.run();
+            return new StringBuilder().append(child).toString();
+        }
+    }
+}
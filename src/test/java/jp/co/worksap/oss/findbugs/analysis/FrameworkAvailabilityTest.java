@@ -0,0 +1,74 @@
+package jp.co.worksap.oss.findbugs.analysis;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+
+import edu.umd.cs.findbugs.classfile.IClassPath;
+import edu.umd.cs.findbugs.classfile.ResourceNotFoundException;
+
+public class FrameworkAvailabilityTest {
+    @Test
+    public void testFrameworkInClasspathIsAvailable() {
+        FakeClassPath classPath = new FakeClassPath("org/hibernate/annotations/Index.class");
+        FrameworkAvailability availability = new FrameworkAvailability(classPath.create());
+
+        assertThat(availability.isAvailable(Framework.JPA), is(true));
+    }
+
+    @Test
+    public void testFrameworkNotInClasspathIsUnavailable() {
+        FakeClassPath classPath = new FakeClassPath("org/junit/Ignore.class");
+        FrameworkAvailability availability = new FrameworkAvailability(classPath.create());
+
+        assertThat(availability.isAvailable(Framework.GUAVA), is(false));
+        assertThat(availability.isAvailable(Framework.JUNIT), is(true));
+    }
+
+    @Test
+    public void testClasspathIsLookedUpOnlyOnce() {
+        FakeClassPath classPath = new FakeClassPath();
+        FrameworkAvailability availability = new FrameworkAvailability(classPath.create());
+
+        for (int i = 0; i < 10; ++i) {
+            assertThat(availability.isAvailable(Framework.JSR305), is(false));
+        }
+        assertThat(classPath.lookedUp.size(), is(Framework.JSR305.getMarkerTypes().size()));
+    }
+
+    private static final class FakeClassPath implements InvocationHandler {
+        private final Set<String> resources;
+        private final List<String> lookedUp = Lists.newArrayList();
+
+        FakeClassPath(String... resources) {
+            this.resources = ImmutableSet.copyOf(resources);
+        }
+
+        IClassPath create() {
+            return (IClassPath) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { IClassPath.class }, this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!method.getName().equals("lookupResource")) {
+                throw new UnsupportedOperationException(method.getName());
+            }
+            String resourceName = (String) args[0];
+            lookedUp.add(resourceName);
+            if (!resources.contains(resourceName)) {
+                throw new ResourceNotFoundException(resourceName);
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package jp.co.worksap.oss.findbugs.analysis;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+import edu.umd.cs.findbugs.BugCollectionBugReporter;
+import edu.umd.cs.findbugs.Project;
+import edu.umd.cs.findbugs.classfile.ClassDescriptor;
+import edu.umd.cs.findbugs.classfile.DescriptorFactory;
+import edu.umd.cs.findbugs.classfile.MissingClassException;
+
+public class MissingClassesTest {
+    private final ClassDescriptor missingClass = DescriptorFactory.createClassDescriptor("com/example/Missing");
+
+    @Test
+    public void testReportEachClassOnlyOnce() {
+        CountingBugReporter bugReporter = new CountingBugReporter();
+        MissingClasses missingClasses = new MissingClasses();
+
+        assertThat(missingClasses.isMissing(missingClass), is(false));
+        missingClasses.report(missingClass, bugReporter);
+        missingClasses.report(new MissingClassException(missingClass), "message", bugReporter);
+
+        assertThat(missingClasses.isMissing(missingClass), is(true));
+        assertThat(bugReporter.missingClasses, is(1));
+    }
+
+    private static final class CountingBugReporter extends BugCollectionBugReporter {
+        private int missingClasses;
+
+        CountingBugReporter() {
+            super(new Project());
+        }
+
+        @Override
+        public void reportMissingClass(ClassDescriptor classDescriptor) {
+            ++missingClasses;
+            super.reportMissingClass(classDescriptor);
+        }
+    }
+}
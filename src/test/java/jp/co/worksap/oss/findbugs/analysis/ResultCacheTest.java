@@ -0,0 +1,150 @@
+package jp.co.worksap.oss.findbugs.analysis;
+
+import static com.youdevise.fbplugins.tdd4fb.DetectorAssert.bugReporterForTesting;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+
+import jp.co.worksap.oss.findbugs.jsr305.BrokenImmutableClassDetector;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.base.Charsets;
+import com.google.common.hash.HashCode;
+
+import edu.umd.cs.findbugs.BugInstance;
+import edu.umd.cs.findbugs.Priorities;
+import edu.umd.cs.findbugs.SourceLineAnnotation;
+import edu.umd.cs.findbugs.StringAnnotation;
+import edu.umd.cs.findbugs.SystemProperties;
+
+public class ResultCacheTest {
+    private static final String DETECTOR = BrokenImmutableClassDetector.class.getName();
+    private static final String CLASS = "com.example.Mutable";
+    private static final byte[] KEY = { 1, 2, 3 };
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void disabledCacheDoesNothing() throws Exception {
+        ResultCache cache = new ResultCache(null);
+        assertThat(cache.isEnabled(), is(false));
+
+        cache.store(DETECTOR, CLASS, KEY, Collections.<CachedBug>emptyList());
+        cache.save();
+        assertThat(cache.lookup(DETECTOR, CLASS, KEY), is(nullValue()));
+    }
+
+    @Test
+    public void findingsAreReplayedAfterReload() throws Exception {
+        File file = new File(folder.getRoot(), "cache");
+        BugInstance bug = new BugInstance("BROKEN_IMMUTABILITY", Priorities.HIGH_PRIORITY)
+                .addClass(CLASS).addField(CLASS, "name", "Ljava/lang/String;", false);
+        ResultCache cache = new ResultCache(file);
+        cache.store(DETECTOR, CLASS, KEY, Collections.singletonList(new CachedBug(bug)));
+        cache.save();
+
+        ResultCache reloaded = new ResultCache(file);
+        assertThat(reloaded.lookup(DETECTOR, CLASS, new byte[] { 1, 2, 4 }), is(nullValue()));
+        assertThat(reloaded.lookup("OtherDetector", CLASS, KEY), is(nullValue()));
+        List<CachedBug> cached = reloaded.lookup(DETECTOR, CLASS, KEY);
+        assertThat(cached.size(), is(1));
+
+        BugInstance replayed = cached.get(0).toBugInstance(new BrokenImmutableClassDetector(bugReporterForTesting()));
+        assertThat(replayed.getType(), is("BROKEN_IMMUTABILITY"));
+        assertThat(replayed.getPriority(), is(Priorities.HIGH_PRIORITY));
+        assertThat(replayed.getPrimaryClass().getClassName(), is(CLASS));
+        assertThat(replayed.getPrimaryField().getFieldName(), is("name"));
+    }
+
+    @Test
+    public void allSupportedAnnotationsAreRestored() throws Exception {
+        File file = new File(folder.getRoot(), "cache");
+        BugInstance bug = new BugInstance("BROKEN_IMMUTABILITY", Priorities.NORMAL_PRIORITY)
+                .addClass(CLASS)
+                .addMethod(CLASS, "getName", "()Ljava/lang/String;", false)
+                .addField(CLASS, "name", "Ljava/lang/String;", true)
+                .addString("value")
+                .addSourceLine(new SourceLineAnnotation(CLASS, "Mutable.java", 10, 12, 0, 5));
+        bug.getPrimaryMethod().setSourceLines(new SourceLineAnnotation(CLASS, "Mutable.java", 9, 13, 0, 8));
+        ResultCache cache = new ResultCache(file);
+        cache.store(DETECTOR, CLASS, KEY, Collections.singletonList(new CachedBug(bug)));
+        cache.save();
+
+        List<CachedBug> cached = new ResultCache(file).lookup(DETECTOR, CLASS, KEY);
+        BugInstance replayed = cached.get(0).toBugInstance(new BrokenImmutableClassDetector(bugReporterForTesting()));
+        assertThat((Object) replayed.getAnnotations(), is((Object) bug.getAnnotations()));
+        assertThat(replayed.getPrimaryMethod().getSourceLines().getStartLine(), is(9));
+        assertThat(replayed.getPrimaryField().isStatic(), is(true));
+        assertThat(((StringAnnotation) replayed.getAnnotations().get(3)).getValue(), is("value"));
+        assertThat(replayed.getPrimarySourceLineAnnotation().getEndLine(), is(12));
+    }
+
+    @Test
+    public void bugWithUnsupportedAnnotationIsNotCacheable() {
+        BugInstance bug = new BugInstance("BROKEN_IMMUTABILITY", Priorities.NORMAL_PRIORITY).addClass(CLASS).addInt(1);
+        assertThat(CachedBug.isCacheable(bug), is(false));
+        assertThat(CachedBug.isCacheable(new BugInstance("BROKEN_IMMUTABILITY", Priorities.NORMAL_PRIORITY).addClass(CLASS)), is(true));
+    }
+
+    @Test
+    public void unusedEntriesAreDropped() throws Exception {
+        File file = new File(folder.getRoot(), "cache");
+        ResultCache cache = new ResultCache(file);
+        cache.store(DETECTOR, CLASS, KEY, Collections.<CachedBug>emptyList());
+        cache.store(DETECTOR, "com.example.Removed", KEY, Collections.<CachedBug>emptyList());
+        cache.save();
+
+        ResultCache second = new ResultCache(file);
+        assertThat(second.lookup(DETECTOR, CLASS, KEY).isEmpty(), is(true));
+        second.save();
+
+        ResultCache third = new ResultCache(file);
+        assertThat(third.lookup(DETECTOR, CLASS, KEY).isEmpty(), is(true));
+        assertThat(third.lookup(DETECTOR, "com.example.Removed", KEY), is(nullValue()));
+    }
+
+    @Test
+    public void unusedCacheKeepsFile() throws Exception {
+        File file = new File(folder.getRoot(), "cache");
+        ResultCache cache = new ResultCache(file);
+        cache.store(DETECTOR, CLASS, KEY, Collections.<CachedBug>emptyList());
+        cache.save();
+
+        new ResultCache(file).save();
+        assertThat(new ResultCache(file).lookup(DETECTOR, CLASS, KEY).isEmpty(), is(true));
+    }
+
+    @Test
+    public void fingerprintDependsOnScope() throws Exception {
+        File file = new File(folder.getRoot(), "cache");
+        HashCode fingerprint = new ResultCache(file).getFingerprint();
+        assertThat(new ResultCache(file).getFingerprint(), is(fingerprint));
+
+        SystemProperties.setProperty(ClassScope.EXCLUDE, "com.example.*");
+        try {
+            assertThat(new ResultCache(file).getFingerprint(), is(not(fingerprint)));
+        } finally {
+            SystemProperties.setProperty(ClassScope.EXCLUDE, "");
+        }
+    }
+
+    @Test
+    public void brokenFileMeansEmptyCache() throws Exception {
+        File file = folder.newFile("cache");
+        Files.write(file.toPath(), "broken".getBytes(Charsets.UTF_8));
+
+        ResultCache cache = new ResultCache(file);
+        assertThat(cache.isEnabled(), is(true));
+        assertThat(cache.lookup(DETECTOR, CLASS, KEY), is(nullValue()));
+    }
+}
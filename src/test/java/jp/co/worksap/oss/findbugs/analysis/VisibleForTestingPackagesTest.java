@@ -0,0 +1,27 @@
+package jp.co.worksap.oss.findbugs.analysis;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+public class VisibleForTestingPackagesTest {
+    @Test
+    public void testScanAllPackagesBeforeCompletion() {
+        VisibleForTestingPackages packages = new VisibleForTestingPackages();
+        packages.add("com.example.annotated");
+
+        assertThat(packages.shouldScan("com.example.annotated"), is(true));
+        assertThat(packages.shouldScan("com.example.other"), is(true));
+    }
+
+    @Test
+    public void testScanOnlyRecordedPackagesAfterCompletion() {
+        VisibleForTestingPackages packages = new VisibleForTestingPackages();
+        packages.add("com.example.annotated");
+        packages.complete();
+
+        assertThat(packages.shouldScan("com.example.annotated"), is(true));
+        assertThat(packages.shouldScan("com.example.other"), is(false));
+    }
+}
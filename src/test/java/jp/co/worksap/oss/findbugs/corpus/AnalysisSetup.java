@@ -0,0 +1,63 @@
+package jp.co.worksap.oss.findbugs.corpus;
+
+import java.io.File;
+import java.io.IOException;
+
+import javax.annotation.Nonnull;
+
+import edu.umd.cs.findbugs.BugReporter;
+import edu.umd.cs.findbugs.NoOpFindBugsProgress;
+import edu.umd.cs.findbugs.ba.AnalysisCacheToAnalysisContextAdapter;
+import edu.umd.cs.findbugs.ba.AnalysisContext;
+import edu.umd.cs.findbugs.ba.FieldSummary;
+import edu.umd.cs.findbugs.classfile.CheckedAnalysisException;
+import edu.umd.cs.findbugs.classfile.Global;
+import edu.umd.cs.findbugs.classfile.IAnalysisCache;
+import edu.umd.cs.findbugs.classfile.IClassFactory;
+import edu.umd.cs.findbugs.classfile.IClassPathBuilder;
+import edu.umd.cs.findbugs.classfile.engine.bcel.ClassContextClassAnalysisEngine;
+import edu.umd.cs.findbugs.classfile.impl.ClassFactory;
+import edu.umd.cs.findbugs.classfile.impl.ClassPathImpl;
+
+/**
+ * <p>Prepares analysis cache and context of FindBugs for current thread, like FindBugs engine does before first pass.</p>
+ * <p>Given JAR files are added as application code base, and every entry of {@code java.class.path} is added as
+ * auxiliary code base. FindBugs keeps cache and context in thread local, so call it in the thread which visits classes.
+ * It does not touch other threads, like the one which runs {@code DetectorAssert}.</p>
+ *
+ * @author Kengo TODA
+ */
+public final class AnalysisSetup {
+    private AnalysisSetup() {
+    }
+
+    /**
+     * @param codeBases JAR files to analyze in addition to classpath, like generated corpus
+     */
+    public static void setUpCurrentThread(@Nonnull BugReporter bugReporter, @Nonnull File... codeBases)
+            throws CheckedAnalysisException, IOException, InterruptedException {
+        IClassFactory factory = ClassFactory.instance();
+        ClassPathImpl classPath = new ClassPathImpl();
+        IAnalysisCache cache = factory.createAnalysisCache(classPath, bugReporter);
+        new ClassContextClassAnalysisEngine().registerWith(cache);
+        new edu.umd.cs.findbugs.classfile.engine.asm.EngineRegistrar().registerAnalysisEngines(cache);
+        new edu.umd.cs.findbugs.classfile.engine.bcel.EngineRegistrar().registerAnalysisEngines(cache);
+        new edu.umd.cs.findbugs.classfile.engine.EngineRegistrar().registerAnalysisEngines(cache);
+        Global.setAnalysisCacheForCurrentThread(cache);
+
+        IClassPathBuilder builder = factory.createClassPathBuilder(bugReporter);
+        for (File codeBase : codeBases) {
+            builder.addCodeBase(factory.createFilesystemCodeBaseLocator(codeBase.getPath()), true);
+        }
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            builder.addCodeBase(factory.createFilesystemCodeBaseLocator(entry), false);
+        }
+        builder.scanNestedArchives(false);
+        builder.build(classPath, new NoOpFindBugsProgress());
+
+        AnalysisCacheToAnalysisContextAdapter context = new AnalysisCacheToAnalysisContextAdapter();
+        AnalysisContext.setCurrentAnalysisContext(context);
+        context.setAppClassList(builder.getAppClassList());
+        context.setFieldSummary(new FieldSummary());
+    }
+}
@@ -0,0 +1,89 @@
+package jp.co.worksap.oss.findbugs.corpus;
+
+import edu.umd.cs.findbugs.BugCollection;
+import edu.umd.cs.findbugs.BugInstance;
+import edu.umd.cs.findbugs.BugReporter;
+import edu.umd.cs.findbugs.BugReporterObserver;
+import edu.umd.cs.findbugs.ProjectStats;
+import edu.umd.cs.findbugs.classfile.ClassDescriptor;
+import edu.umd.cs.findbugs.classfile.MethodDescriptor;
+
+/**
+ * <p>Bug reporter which only counts bugs and errors, so benchmark does not measure memory to keep them.</p>
+ *
+ * @author Kengo TODA
+ */
+public final class CountingBugReporter implements BugReporter {
+    private final ProjectStats projectStats = new ProjectStats();
+    private long reportedBugs;
+    private long loggedErrors;
+
+    public long getReportedBugs() {
+        return reportedBugs;
+    }
+
+    public long getLoggedErrors() {
+        return loggedErrors;
+    }
+
+    @Override
+    public void reportBug(BugInstance bugInstance) {
+        ++reportedBugs;
+    }
+
+    @Override
+    public void logError(String message) {
+        ++loggedErrors;
+    }
+
+    @Override
+    public void logError(String message, Throwable e) {
+        ++loggedErrors;
+    }
+
+    @Override
+    public void reportMissingClass(ClassNotFoundException ex) {
+    }
+
+    @Override
+    public void reportMissingClass(ClassDescriptor classDescriptor) {
+    }
+
+    @Override
+    public void reportSkippedAnalysis(MethodDescriptor method) {
+    }
+
+    @Override
+    public void observeClass(ClassDescriptor classDescriptor) {
+    }
+
+    @Override
+    public void setErrorVerbosity(int level) {
+    }
+
+    @Override
+    public void setPriorityThreshold(int threshold) {
+    }
+
+    @Override
+    public void finish() {
+    }
+
+    @Override
+    public void reportQueuedErrors() {
+    }
+
+    @Override
+    public void addObserver(BugReporterObserver observer) {
+    }
+
+    @Override
+    public ProjectStats getProjectStats() {
+        return projectStats;
+    }
+
+    @Override
+    public BugCollection getBugCollection() {
+        return null;
+    }
+}
@@ -0,0 +1,162 @@
+package jp.co.worksap.oss.findbugs.corpus;
+
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import javax.annotation.Nonnull;
+
+import edu.umd.cs.findbugs.BugReporter;
+import edu.umd.cs.findbugs.Detector;
+import edu.umd.cs.findbugs.Detector2;
+import edu.umd.cs.findbugs.DetectorToDetector2Adapter;
+import edu.umd.cs.findbugs.classfile.ClassDescriptor;
+import edu.umd.cs.findbugs.classfile.DescriptorFactory;
+
+/**
+ * <p>Runs a detector over {@link SyntheticCorpus}, and fails if it allocates more bytes or spends more time
+ * per class than budget. Allocation is measured by allocation counter of {@code ThreadMXBean}.</p>
+ * <p>Classes are visited in a dedicated thread, which keeps its own analysis cache of FindBugs. First pass warms up
+ * the cache and JIT, and the best of following passes is compared with budget, so budget means cost of detector
+ * itself rather than cost of parsing classes.</p>
+ * <p>Allocation is stable, so its budget can be tight like 4 times as measured value.
+ * Time depends on machine, so its budget should be loose enough to catch only 10x slowdown.</p>
+ *
+ * @author Kengo TODA
+ */
+public final class PerformanceBudget {
+    private static final long SEED = 42;
+    private static final int CORPUS_SIZE = 50;
+    private static final int PASSES = 3;
+    private static final ExecutorService RUNNER = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, PerformanceBudget.class.getSimpleName());
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+    /**
+     * classes in corpus, which are prepared and used only in runner thread.
+     */
+    private static ClassDescriptor[] corpus;
+    private static CountingBugReporter bugReporter;
+
+    private final long maxAllocatedBytesPerClass;
+    private final long maxMicrosPerClass;
+
+    /**
+     * @param maxAllocatedBytesPerClass budget of bytes which detector allocates to visit one class
+     * @param maxMicrosPerClass budget of microseconds which detector spends to visit one class
+     */
+    public PerformanceBudget(long maxAllocatedBytesPerClass, long maxMicrosPerClass) {
+        this.maxAllocatedBytesPerClass = maxAllocatedBytesPerClass;
+        this.maxMicrosPerClass = maxMicrosPerClass;
+    }
+
+    /**
+     * @param detectorClass detector which has constructor with {@link BugReporter}, like FindBugs requires
+     */
+    public void verify(@Nonnull final Class<? extends Detector> detectorClass) throws Exception {
+        Usage usage;
+        try {
+            usage = RUNNER.submit(new Callable<Usage>() {
+                @Override
+                public Usage call() throws Exception {
+                    return measure(detectorClass);
+                }
+            }).get();
+        } catch (ExecutionException e) {
+            throw (Exception) e.getCause();
+        }
+        if (usage.allocatedBytesPerClass >= 0) {
+            assertThat("allocated bytes per class by " + detectorClass.getSimpleName(),
+                    usage.allocatedBytesPerClass, lessThanOrEqualTo(maxAllocatedBytesPerClass));
+        }
+        assertThat("microseconds per class by " + detectorClass.getSimpleName(),
+                usage.microsPerClass, lessThanOrEqualTo(maxMicrosPerClass));
+    }
+
+    private static Usage measure(@Nonnull Class<? extends Detector> detectorClass) throws Exception {
+        if (corpus == null) {
+            prepare();
+        }
+        visitAll(newDetector(detectorClass));
+
+        boolean counted = allocatedBytes() >= 0;
+        long allocatedBytes = Long.MAX_VALUE;
+        long nanos = Long.MAX_VALUE;
+        for (int i = 0; i < PASSES; ++i) {
+            Detector2 visitor = newDetector(detectorClass);
+            long allocatedBefore = allocatedBytes();
+            long start = System.nanoTime();
+            visitAll(visitor);
+            nanos = Math.min(nanos, System.nanoTime() - start);
+            allocatedBytes = Math.min(allocatedBytes, allocatedBytes() - allocatedBefore);
+        }
+        return new Usage(counted ? allocatedBytes / corpus.length : -1, nanos / 1000 / corpus.length);
+    }
+
+    private static void prepare() throws Exception {
+        SyntheticCorpus generated = SyntheticCorpus.ofEveryKind(SEED, CORPUS_SIZE);
+        File jar = File.createTempFile("synthetic", ".jar");
+        jar.deleteOnExit();
+        generated.writeJar(jar);
+
+        bugReporter = new CountingBugReporter();
+        AnalysisSetup.setUpCurrentThread(bugReporter, jar);
+        ClassDescriptor[] descriptors = new ClassDescriptor[generated.getClasses().size()];
+        int i = 0;
+        for (String className : generated.getClasses().keySet()) {
+            descriptors[i++] = DescriptorFactory.createClassDescriptor(className);
+        }
+        corpus = descriptors;
+    }
+
+    @Nonnull
+    private static Detector2 newDetector(@Nonnull Class<? extends Detector> detectorClass) throws Exception {
+        Detector detector = detectorClass.getConstructor(BugReporter.class).newInstance(bugReporter);
+        return new DetectorToDetector2Adapter(detector);
+    }
+
+    private static void visitAll(@Nonnull Detector2 visitor) throws Exception {
+        for (ClassDescriptor descriptor : corpus) {
+            visitor.visitClass(descriptor);
+        }
+        visitor.finishPass();
+    }
+
+    /**
+     * @return bytes which current thread has allocated, or {@code -1} if JVM does not support allocation counter
+     */
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) threads;
+            if (hotspot.isThreadAllocatedMemorySupported() && hotspot.isThreadAllocatedMemoryEnabled()) {
+                return hotspot.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    private static final class Usage {
+        /**
+         * {@code -1} if JVM does not support allocation counter.
+         */
+        final long allocatedBytesPerClass;
+        final long microsPerClass;
+
+        Usage(long allocatedBytesPerClass, long microsPerClass) {
+            this.allocatedBytesPerClass = allocatedBytesPerClass;
+            this.microsPerClass = microsPerClass;
+        }
+    }
+}
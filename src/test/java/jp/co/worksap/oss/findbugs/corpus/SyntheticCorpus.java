@@ -0,0 +1,351 @@
+package jp.co.worksap.oss.findbugs.corpus;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Random;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import com.google.common.collect.Maps;
+
+/**
+ * <p>Generates class files which detectors in this plugin visit, to test and benchmark them at scale.</p>
+ * <p>Same seed and same sequence of {@code add} methods generate the same bytes, so benchmarks and memory tests
+ * are reproducible. Each {@code add} method generates classes in its own package under {@code synthetic}.</p>
+ * <pre>
+ * SyntheticCorpus corpus = new SyntheticCorpus(42)
+ *         .addEntities(1000, Mapping.GETTER)
+ *         .addCallGraph(1000, 8);
+ * corpus.writeJar(new File("target/corpus.jar"));</pre>
+ *
+ * @author Kengo TODA
+ */
+public final class SyntheticCorpus implements Opcodes {
+    /**
+     * <p>Where entity puts {@code @Column} annotation.</p>
+     */
+    public enum Mapping {
+        FIELD, GETTER
+    }
+
+    private static final String OBJECT = "java/lang/Object";
+    private static final String ENTITY = "Ljavax/persistence/Entity;";
+    private static final String COLUMN = "Ljavax/persistence/Column;";
+    private static final String HIBERNATE_INDEX = "Lorg/hibernate/annotations/Index;";
+    private static final String OPENJPA_INDEX = "Lorg/apache/openjpa/persistence/jdbc/Index;";
+    private static final String IMMUTABLE = "Ljavax/annotation/concurrent/Immutable;";
+    private static final String VISIBLE_FOR_TESTING = "Lcom/google/common/annotations/VisibleForTesting;";
+    private static final Type[] COLUMN_TYPES = {
+        Type.getType(String.class), Type.INT_TYPE, Type.getType(Integer.class), Type.LONG_TYPE,
+        Type.BOOLEAN_TYPE, Type.getType(java.math.BigDecimal.class)
+    };
+    private static final Type[] API_TYPES = {
+        Type.getType(String.class), Type.INT_TYPE, Type.getType(Object.class), Type.getType(java.util.List.class),
+        Type.LONG_TYPE
+    };
+    /**
+     * Oracle database limits length of names to 30, so generate longer names sometimes.
+     */
+    private static final int MAX_NAME_LENGTH = 40;
+
+    private final Random random;
+    /**
+     * key is name of class like {@code java/lang/String}, value is class file.
+     */
+    private final Map<String, byte[]> classes = Maps.newLinkedHashMap();
+    private int packages;
+
+    public SyntheticCorpus(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * <p>Generates JAR file which contains every kind of classes.</p>
+     * <p>Usage: {@code SyntheticCorpus <output jar> <seed> <classes per kind>}</p>
+     */
+    public static void main(String[] args) throws IOException {
+        checkArgument(args.length == 3, "Usage: SyntheticCorpus <output jar> <seed> <classes per kind>");
+        ofEveryKind(Long.parseLong(args[1]), Integer.parseInt(args[2])).writeJar(new File(args[0]));
+    }
+
+    /**
+     * @param size number of classes or hierarchies for each kind
+     * @return corpus which has every kind of classes
+     */
+    @Nonnull
+    @CheckReturnValue
+    public static SyntheticCorpus ofEveryKind(long seed, int size) {
+        return new SyntheticCorpus(seed)
+                .addEntities(size, Mapping.FIELD)
+                .addEntities(size, Mapping.GETTER)
+                .addIndexedEntities(size)
+                .addImmutableHierarchies(size, 8)
+                .addCallGraph(size, 8)
+                .addApis(size, 16);
+    }
+
+    /**
+     * @return generated classes, key is name of class like {@code java/lang/String} and value is class file
+     */
+    @Nonnull
+    @CheckReturnValue
+    public Map<String, byte[]> getClasses() {
+        return Collections.unmodifiableMap(classes);
+    }
+
+    public void writeJar(@Nonnull File jar) throws IOException {
+        JarOutputStream output = new JarOutputStream(new FileOutputStream(jar));
+        try {
+            for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+                JarEntry jarEntry = new JarEntry(entry.getKey() + ".class");
+                // fixed time to make JAR itself reproducible
+                jarEntry.setTime(0);
+                output.putNextEntry(jarEntry);
+                output.write(entry.getValue());
+                output.closeEntry();
+            }
+        } finally {
+            output.close();
+        }
+    }
+
+    /**
+     * <p>Generates entities which map fields or getters to columns. Some of them have too long names,
+     * implicit length, implicit nullness, nullable primitive and column definition.</p>
+     */
+    @Nonnull
+    public SyntheticCorpus addEntities(int count, @Nonnull Mapping mapping) {
+        String packageName = newPackage("entity");
+        for (int i = 0; i < count; ++i) {
+            String className = packageName + "Entity" + i + randomName(0, MAX_NAME_LENGTH - 10);
+            ClassWriter writer = newClass(className, ACC_PUBLIC, OBJECT);
+            writer.visitAnnotation(ENTITY, true).visitEnd();
+            int columns = 1 + random.nextInt(12);
+            for (int j = 0; j < columns; ++j) {
+                Type type = COLUMN_TYPES[random.nextInt(COLUMN_TYPES.length)];
+                String fieldName = "column" + j;
+                FieldVisitor field = writer.visitField(ACC_PRIVATE, fieldName, type.getDescriptor(), null, null);
+                if (mapping == Mapping.FIELD) {
+                    visitColumn(field.visitAnnotation(COLUMN, true), type);
+                }
+                field.visitEnd();
+                MethodVisitor getter = writer.visitMethod(ACC_PUBLIC, "getColumn" + j, "()" + type.getDescriptor(), null, null);
+                if (mapping == Mapping.GETTER) {
+                    visitColumn(getter.visitAnnotation(COLUMN, true), type);
+                }
+                getter.visitCode();
+                getter.visitVarInsn(ALOAD, 0);
+                getter.visitFieldInsn(GETFIELD, className, fieldName, type.getDescriptor());
+                getter.visitInsn(type.getOpcode(IRETURN));
+                getter.visitMaxs(0, 0);
+                getter.visitEnd();
+            }
+            put(className, writer);
+        }
+        return this;
+    }
+
+    /**
+     * <p>Generates entities whose columns have {@code @Index} of Hibernate or OpenJPA.</p>
+     */
+    @Nonnull
+    public SyntheticCorpus addIndexedEntities(int count) {
+        String packageName = newPackage("index");
+        for (int i = 0; i < count; ++i) {
+            String className = packageName + "IndexedEntity" + i;
+            ClassWriter writer = newClass(className, ACC_PUBLIC, OBJECT);
+            writer.visitAnnotation(ENTITY, true).visitEnd();
+            int columns = 1 + random.nextInt(6);
+            for (int j = 0; j < columns; ++j) {
+                Type type = COLUMN_TYPES[random.nextInt(COLUMN_TYPES.length)];
+                FieldVisitor field = writer.visitField(ACC_PRIVATE, "column" + j, type.getDescriptor(), null, null);
+                visitColumn(field.visitAnnotation(COLUMN, true), type);
+                if (random.nextBoolean()) {
+                    AnnotationVisitor index = field.visitAnnotation(HIBERNATE_INDEX, true);
+                    index.visit("name", randomName(5, MAX_NAME_LENGTH));
+                    AnnotationVisitor columnNames = index.visitArray("columnNames");
+                    columnNames.visit(null, "column" + j);
+                    columnNames.visitEnd();
+                    index.visitEnd();
+                } else {
+                    AnnotationVisitor index = field.visitAnnotation(OPENJPA_INDEX, true);
+                    index.visit("name", randomName(5, MAX_NAME_LENGTH));
+                    index.visitEnd();
+                }
+                field.visitEnd();
+            }
+            put(className, writer);
+        }
+        return this;
+    }
+
+    /**
+     * <p>Generates final classes annotated by {@code @Immutable}, whose super classes are not annotated.
+     * A few classes in hierarchy have mutable field, so detector should walk whole hierarchy.</p>
+     * @param depth number of classes in each hierarchy, including annotated one
+     */
+    @Nonnull
+    public SyntheticCorpus addImmutableHierarchies(int count, int depth) {
+        checkArgument(depth > 0, "depth should be positive");
+        String packageName = newPackage("immutable");
+        for (int i = 0; i < count; ++i) {
+            String superName = OBJECT;
+            for (int level = 0; level < depth; ++level) {
+                boolean annotated = level == depth - 1;
+                String className = packageName + "Hierarchy" + i + (annotated ? "Immutable" : "Level" + level);
+                ClassWriter writer = newClass(className, annotated ? ACC_PUBLIC | ACC_FINAL : ACC_PUBLIC, superName);
+                if (annotated) {
+                    writer.visitAnnotation(IMMUTABLE, true).visitEnd();
+                }
+                int fields = random.nextInt(4);
+                for (int j = 0; j < fields; ++j) {
+                    int access = random.nextInt(20) == 0 ? ACC_PROTECTED : ACC_PRIVATE | ACC_FINAL;
+                    writer.visitField(access, "field" + j, "I", null, null).visitEnd();
+                }
+                put(className, writer);
+                superName = className;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * <p>Generates classes in one package which call each other. Each class declares package-private method
+     * annotated by {@code @VisibleForTesting}, and some calls invoke it.</p>
+     */
+    @Nonnull
+    public SyntheticCorpus addCallGraph(int count, int callsPerClass) {
+        String packageName = newPackage("call");
+        for (int i = 0; i < count; ++i) {
+            String className = packageName + "Node" + i;
+            ClassWriter writer = newClass(className, ACC_PUBLIC, OBJECT);
+            MethodVisitor forTesting = writer.visitMethod(0, "forTesting", "()V", null, null);
+            forTesting.visitAnnotation(VISIBLE_FOR_TESTING, true).visitEnd();
+            visitEmptyBody(forTesting);
+            visitEmptyBody(writer.visitMethod(ACC_PUBLIC, "normal", "()V", null, null));
+
+            MethodVisitor run = writer.visitMethod(ACC_PUBLIC, "run", "()V", null, null);
+            run.visitCode();
+            for (int j = 0; j < callsPerClass; ++j) {
+                String target = packageName + "Node" + random.nextInt(count);
+                run.visitTypeInsn(NEW, target);
+                run.visitInsn(DUP);
+                run.visitMethodInsn(INVOKESPECIAL, target, "<init>", "()V");
+                run.visitMethodInsn(INVOKEVIRTUAL, target, random.nextInt(10) == 0 ? "forTesting" : "normal", "()V");
+            }
+            run.visitInsn(RETURN);
+            run.visitMaxs(0, 0);
+            run.visitEnd();
+            put(className, writer);
+        }
+        return this;
+    }
+
+    /**
+     * <p>Generates classes whose public methods have reference parameters and return values without nullness annotation.</p>
+     */
+    @Nonnull
+    public SyntheticCorpus addApis(int count, int methodsPerClass) {
+        String packageName = newPackage("api");
+        for (int i = 0; i < count; ++i) {
+            String className = packageName + "Api" + i;
+            ClassWriter writer = newClass(className, ACC_PUBLIC, OBJECT);
+            for (int j = 0; j < methodsPerClass; ++j) {
+                Type[] parameters = new Type[random.nextInt(5)];
+                for (int k = 0; k < parameters.length; ++k) {
+                    parameters[k] = API_TYPES[random.nextInt(API_TYPES.length)];
+                }
+                Type returnType = API_TYPES[random.nextInt(API_TYPES.length)];
+                MethodVisitor method = writer.visitMethod(ACC_PUBLIC, "method" + j,
+                        Type.getMethodDescriptor(returnType, parameters), null, null);
+                method.visitCode();
+                switch (returnType.getSort()) {
+                case Type.INT:
+                    method.visitInsn(ICONST_0);
+                    break;
+                case Type.LONG:
+                    method.visitInsn(LCONST_0);
+                    break;
+                default:
+                    method.visitInsn(ACONST_NULL);
+                    break;
+                }
+                method.visitInsn(returnType.getOpcode(IRETURN));
+                method.visitMaxs(0, 0);
+                method.visitEnd();
+            }
+            put(className, writer);
+        }
+        return this;
+    }
+
+    private void visitColumn(@Nonnull AnnotationVisitor column, @Nonnull Type type) {
+        column.visit("name", randomName(3, MAX_NAME_LENGTH));
+        if (type.getSort() == Type.OBJECT && random.nextInt(3) != 0) {
+            column.visit("length", Integer.valueOf(1 + random.nextInt(4000)));
+        }
+        if (random.nextInt(4) != 0) {
+            column.visit("nullable", Boolean.valueOf(random.nextBoolean()));
+        }
+        if (random.nextInt(20) == 0) {
+            column.visit("columnDefinition", "VARCHAR(255)");
+        }
+        column.visitEnd();
+    }
+
+    @Nonnull
+    private String newPackage(@Nonnull String kind) {
+        return "synthetic/" + kind + (packages++) + "/";
+    }
+
+    @Nonnull
+    private String randomName(int minLength, int maxLength) {
+        int length = minLength + random.nextInt(maxLength - minLength + 1);
+        StringBuilder name = new StringBuilder(length);
+        for (int i = 0; i < length; ++i) {
+            name.append((char) ('A' + random.nextInt(26)));
+        }
+        return name.toString();
+    }
+
+    @Nonnull
+    private ClassWriter newClass(@Nonnull String className, int access, @Nonnull String superName) {
+        ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        writer.visit(V1_6, access | ACC_SUPER, className, null, superName, null);
+        MethodVisitor constructor = writer.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+        constructor.visitCode();
+        constructor.visitVarInsn(ALOAD, 0);
+        constructor.visitMethodInsn(INVOKESPECIAL, superName, "<init>", "()V");
+        constructor.visitInsn(RETURN);
+        constructor.visitMaxs(0, 0);
+        constructor.visitEnd();
+        return writer;
+    }
+
+    private void visitEmptyBody(@Nonnull MethodVisitor method) {
+        method.visitCode();
+        method.visitInsn(RETURN);
+        method.visitMaxs(0, 0);
+        method.visitEnd();
+    }
+
+    private void put(@Nonnull String className, @Nonnull ClassWriter writer) {
+        writer.visitEnd();
+        classes.put(className, writer.toByteArray());
+    }
+}
@@ -0,0 +1,111 @@
+package jp.co.worksap.oss.findbugs.corpus;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.JarFile;
+
+import jp.co.worksap.oss.findbugs.corpus.SyntheticCorpus.Mapping;
+import jp.co.worksap.oss.findbugs.rules.ClassFileLoader;
+import jp.co.worksap.oss.findbugs.rules.ClassHierarchies;
+import jp.co.worksap.oss.findbugs.rules.Finding;
+import jp.co.worksap.oss.findbugs.rules.FindingReporter;
+import jp.co.worksap.oss.findbugs.rules.RuleSet;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.collect.Sets;
+import com.google.common.io.ByteStreams;
+
+public class SyntheticCorpusTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testSameSeedGeneratesSameClasses() {
+        Map<String, byte[]> first = generate(42).getClasses();
+        Map<String, byte[]> second = generate(42).getClasses();
+        assertThat(second.keySet(), is(first.keySet()));
+        for (String className : first.keySet()) {
+            assertThat(className, Arrays.equals(second.get(className), first.get(className)), is(true));
+        }
+        assertThat(generate(43).getClasses().keySet(), is(not(first.keySet())));
+    }
+
+    @Test
+    public void testRulesFindProblemsInGeneratedClasses() throws IOException {
+        final Map<String, byte[]> classes = generate(42).getClasses();
+        ClassHierarchies hierarchies = new ClassHierarchies(new ClassFileLoader() {
+            @Override
+            public byte[] load(String className) throws IOException {
+                byte[] classFile = classes.get(className);
+                if (classFile != null) {
+                    return classFile;
+                }
+                InputStream input = ClassLoader.getSystemResourceAsStream(className + ".class");
+                if (input == null) {
+                    return null;
+                }
+                try {
+                    return ByteStreams.toByteArray(input);
+                } finally {
+                    input.close();
+                }
+            }
+        });
+        final Set<String> types = Sets.newHashSet();
+        FindingReporter reporter = new FindingReporter() {
+            @Override
+            public void report(Finding finding) {
+                types.add(finding.getType());
+            }
+
+            @Override
+            public void reportMissingClass(String className) {
+                types.add("MISSING");
+            }
+        };
+        RuleSet rules = RuleSet.all();
+        for (String className : classes.keySet()) {
+            rules.verify(hierarchies.get(className), reporter);
+        }
+
+        assertThat(types, is((Set<String>) Sets.newHashSet("LONG_TABLE_NAME", "LONG_COLUMN_NAME", "LONG_INDEX_NAME",
+                "IMPLICIT_LENGTH", "IMPLICIT_NULLNESS", "NULLABLE_PRIMITIVE", "USE_COLUMN_DEFINITION",
+                "BROKEN_IMMUTABILITY")));
+    }
+
+    @Test
+    public void testWriteJar() throws IOException {
+        SyntheticCorpus corpus = generate(42);
+        File jar = folder.newFile("corpus.jar");
+        corpus.writeJar(jar);
+
+        JarFile jarFile = new JarFile(jar);
+        try {
+            assertThat(Collections.list(jarFile.entries()).size(), is(corpus.getClasses().size()));
+        } finally {
+            jarFile.close();
+        }
+    }
+
+    private SyntheticCorpus generate(long seed) {
+        return new SyntheticCorpus(seed)
+                .addEntities(50, Mapping.FIELD)
+                .addEntities(50, Mapping.GETTER)
+                .addIndexedEntities(50)
+                .addImmutableHierarchies(20, 5)
+                .addCallGraph(50, 4)
+                .addApis(20, 8);
+    }
+}
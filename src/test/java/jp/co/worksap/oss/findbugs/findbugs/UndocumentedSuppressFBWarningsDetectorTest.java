@@ -2,6 +2,8 @@ package jp.co.worksap.oss.findbugs.findbugs;
 
 import static com.youdevise.fbplugins.tdd4fb.DetectorAssert.*;
 
+import jp.co.worksap.oss.findbugs.corpus.PerformanceBudget;
+
 import org.junit.Before;
 import org.junit.Test;
 
@@ -30,4 +32,8 @@ public class UndocumentedSuppressFBWarningsDetectorTest {
         assertBugReported(UndocumentedSuppressFBWarnings.class, detector, bugReporter, ofType("FINDBUGS_UNDOCUMENTED_SUPPRESS_WARNINGS"));
     }
 
+    @Test
+    public void testPerformanceBudget() throws Exception {
+        new PerformanceBudget(2048, 100).verify(UndocumentedSuppressFBWarningsDetector.class);
+    }
 }
@@ -0,0 +1,7 @@
+package jp.co.worksap.oss.findbugs.guava;
+
+public class ClassWhichCallsInheritedVisibleMethodForTesting {
+    public void method() {
+        new InheritedMethodWithVisibleForTesting().method();
+    }
+}
@@ -0,0 +1,7 @@
+package jp.co.worksap.oss.findbugs.guava;
+
+public class ClassWhichCallsOverriddenMethod {
+    public void method() {
+        new OverriddenMethodWithoutVisibleForTesting().method();
+    }
+}
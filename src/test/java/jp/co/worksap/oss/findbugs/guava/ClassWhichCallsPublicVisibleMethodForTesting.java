@@ -0,0 +1,7 @@
+package jp.co.worksap.oss.findbugs.guava;
+
+public class ClassWhichCallsPublicVisibleMethodForTesting {
+    public void method() {
+        new MethodWithVisibleForTesting().publicMethod();
+    }
+}
@@ -0,0 +1,7 @@
+package jp.co.worksap.oss.findbugs.guava;
+
+public class ClassWhichCallsStaticVisibleMethodForTesting {
+    public void method() {
+        MethodWithVisibleForTesting.staticMethod();
+    }
+}
@@ -0,0 +1,4 @@
+package jp.co.worksap.oss.findbugs.guava;
+
+public class InheritedMethodWithVisibleForTesting extends MethodWithVisibleForTesting {
+}
@@ -5,4 +5,10 @@ import com.google.common.annotations.VisibleForTesting;
 public class MethodWithVisibleForTesting {
     @VisibleForTesting
     void method() {}
+
+    @VisibleForTesting
+    static void staticMethod() {}
+
+    @VisibleForTesting
+    public void publicMethod() {}
 }
@@ -0,0 +1,6 @@
+package jp.co.worksap.oss.findbugs.guava;
+
+public class OverriddenMethodWithoutVisibleForTesting extends MethodWithVisibleForTesting {
+    @Override
+    void method() {}
+}
@@ -5,6 +5,8 @@ import static com.youdevise.fbplugins.tdd4fb.DetectorAssert.assertNoBugsReported
 import static com.youdevise.fbplugins.tdd4fb.DetectorAssert.bugReporterForTesting;
 import static com.youdevise.fbplugins.tdd4fb.DetectorAssert.ofType;
 
+import jp.co.worksap.oss.findbugs.corpus.PerformanceBudget;
+
 import org.junit.Before;
 import org.junit.Test;
 
@@ -31,4 +33,28 @@ public class UnexpectedAccessDetectorTest {
         assertBugReported(ClassWhichCallsVisibleMethodForTesting.class, detector, bugReporter, ofType("GUAVA_UNEXPECTED_ACCESS_TO_VISIBLE_FOR_TESTING"));
     }
 
+    @Test
+    public void testCallingAnnotatedStaticMethod() throws Exception {
+        assertBugReported(ClassWhichCallsStaticVisibleMethodForTesting.class, detector, bugReporter, ofType("GUAVA_UNEXPECTED_ACCESS_TO_VISIBLE_FOR_TESTING"));
+    }
+
+    @Test
+    public void testCallingAnnotatedPublicMethod() throws Exception {
+        assertNoBugsReported(ClassWhichCallsPublicVisibleMethodForTesting.class, detector, bugReporter);
+    }
+
+    @Test
+    public void testCallingInheritedAnnotatedMethod() throws Exception {
+        assertBugReported(ClassWhichCallsInheritedVisibleMethodForTesting.class, detector, bugReporter, ofType("GUAVA_UNEXPECTED_ACCESS_TO_VISIBLE_FOR_TESTING"));
+    }
+
+    @Test
+    public void testCallingOverriddenMethod() throws Exception {
+        assertNoBugsReported(ClassWhichCallsOverriddenMethod.class, detector, bugReporter);
+    }
+
+    @Test
+    public void testPerformanceBudget() throws Exception {
+        new PerformanceBudget(4096, 100).verify(UnexpectedAccessDetector.class);
+    }
 }
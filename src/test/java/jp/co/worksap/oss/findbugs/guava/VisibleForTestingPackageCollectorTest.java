@@ -0,0 +1,63 @@
+package jp.co.worksap.oss.findbugs.guava;
+
+import static com.youdevise.fbplugins.tdd4fb.DetectorAssert.assertNoBugsReported;
+import static com.youdevise.fbplugins.tdd4fb.DetectorAssert.bugReporterForTesting;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+import edu.umd.cs.findbugs.BugReporter;
+import edu.umd.cs.findbugs.Detector;
+import edu.umd.cs.findbugs.ba.ClassContext;
+import edu.umd.cs.findbugs.classfile.CheckedAnalysisException;
+
+/**
+ * <p>Only the analyzed class is visited, like application class whose package is split with auxiliary classpath.</p>
+ */
+public class VisibleForTestingPackageCollectorTest {
+    private final BugReporter bugReporter = bugReporterForTesting();
+
+    @Test
+    public void testClassWhichDeclaresAnnotatedMethod() throws Exception {
+        assertThat(declaresInPackage(MethodWithVisibleForTesting.class), is(true));
+    }
+
+    @Test
+    public void testReferredClassWhichDeclaresAnnotatedMethod() throws Exception {
+        assertThat(declaresInPackage(ClassWhichCallsVisibleMethodForTesting.class), is(true));
+    }
+
+    @Test
+    public void testReferredClassWhichInheritsAnnotatedMethod() throws Exception {
+        assertThat(declaresInPackage(ClassWhichCallsInheritedVisibleMethodForTesting.class), is(true));
+    }
+
+    @Test
+    public void testReferredClassWithoutAnnotatedMethod() throws Exception {
+        assertThat(declaresInPackage(ClassWhichCallsNormalMethod.class), is(false));
+    }
+
+    private boolean declaresInPackage(Class<?> target) throws Exception {
+        PackageChecker checker = new PackageChecker();
+        assertNoBugsReported(target, checker, bugReporter);
+        return checker.declaresInPackage;
+    }
+
+    private static final class PackageChecker implements Detector {
+        private boolean declaresInPackage;
+
+        @Override
+        public void visitClassContext(ClassContext classContext) {
+            try {
+                declaresInPackage = VisibleForTestingPackageCollector.declaresInPackage(classContext);
+            } catch (CheckedAnalysisException e) {
+                throw new AssertionError(e);
+            }
+        }
+
+        @Override
+        public void report() {
+        }
+    }
+}
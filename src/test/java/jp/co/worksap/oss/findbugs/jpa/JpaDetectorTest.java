@@ -0,0 +1,145 @@
+package jp.co.worksap.oss.findbugs.jpa;
+
+import static com.youdevise.fbplugins.tdd4fb.DetectorAssert.assertBugReported;
+import static com.youdevise.fbplugins.tdd4fb.DetectorAssert.assertNoBugsReported;
+import static com.youdevise.fbplugins.tdd4fb.DetectorAssert.bugReporterForTesting;
+import static com.youdevise.fbplugins.tdd4fb.DetectorAssert.ofType;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import jp.co.worksap.oss.findbugs.corpus.PerformanceBudget;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+import edu.umd.cs.findbugs.BugCollectionBugReporter;
+import edu.umd.cs.findbugs.BugInstance;
+import edu.umd.cs.findbugs.BugReporter;
+import edu.umd.cs.findbugs.Detector;
+import edu.umd.cs.findbugs.Priorities;
+import edu.umd.cs.findbugs.Project;
+import edu.umd.cs.findbugs.ba.ClassContext;
+
+public class JpaDetectorTest {
+    private static final List<Class<?>> ENTITIES = Collections.<Class<?>>unmodifiableList(Arrays.<Class<?>>asList(
+            ColumnWithoutElement.class,
+            ColumnWithNegativeLength.class,
+            GetterWithTooLongLength.class,
+            GetterWithLongLengthAndLob.class,
+            LongColumnNameByAnnotatedMethod.class,
+            LongIndexNameForHibernate.class,
+            LongIndexNameForOpenJPA.class,
+            LongTableName.class,
+            NullableBooleanGetter.class,
+            NullableIntColumn.class,
+            UseColumnDefinition.class));
+
+    private BugReporter bugReporter;
+    private JpaDetector detector;
+
+    @Before
+    public void setup() {
+        bugReporter = bugReporterForTesting();
+        detector = new JpaDetector(bugReporter);
+    }
+
+    @Test
+    public void testColumnWithoutElement() throws Exception {
+        assertBugReported(ColumnWithoutElement.class, detector, bugReporter, ofType("IMPLICIT_LENGTH"));
+        assertBugReported(ColumnWithoutElement.class, detector, bugReporter, ofType("IMPLICIT_NULLNESS"));
+    }
+
+    @Test
+    public void testLongTableName() throws Exception {
+        assertBugReported(LongTableName.class, detector, bugReporter, ofType("LONG_TABLE_NAME"));
+    }
+
+    @Test
+    public void testNonNullablePrimitiveColumn() throws Exception {
+        assertNoBugsReported(NonNullablePrimitiveColumn.class, detector, bugReporter);
+    }
+
+    /**
+     * <p>Fused detector should report same bugs as detectors which apply one rule, but it visits each class only once.</p>
+     */
+    @Test
+    public void testVisitorPasses() throws Exception {
+        BugCollectionBugReporter separatedReporter = collectingBugReporter();
+        List<CountingDetector> separatedDetectors = Lists.newArrayList(
+                new CountingDetector(new LongTableNameDetector(separatedReporter)),
+                new CountingDetector(new LongColumnNameDetector(separatedReporter)),
+                new CountingDetector(new LongIndexNameDetector(separatedReporter)),
+                new CountingDetector(new ImplicitLengthDetector(separatedReporter)),
+                new CountingDetector(new ImplicitNullnessDetector(separatedReporter)),
+                new CountingDetector(new NullablePrimitiveDetector(separatedReporter)),
+                new CountingDetector(new ColumnDefinitionDetector(separatedReporter)));
+        BugCollectionBugReporter fusedReporter = collectingBugReporter();
+        CountingDetector fusedDetector = new CountingDetector(new JpaDetector(fusedReporter));
+
+        int separatedPasses = 0;
+        for (Class<?> entity : ENTITIES) {
+            for (CountingDetector separatedDetector : separatedDetectors) {
+                assertNoBugsReported(entity, separatedDetector, bugReporter);
+                separatedPasses += separatedDetector.takePasses();
+            }
+            assertNoBugsReported(entity, fusedDetector, bugReporter);
+        }
+
+        assertThat(bugTypes(fusedReporter), is(equalTo(bugTypes(separatedReporter))));
+        assertThat(separatedPasses, is(7 * ENTITIES.size()));
+        assertThat(fusedDetector.takePasses(), is(ENTITIES.size()));
+    }
+
+    private BugCollectionBugReporter collectingBugReporter() {
+        BugCollectionBugReporter reporter = new BugCollectionBugReporter(new Project());
+        reporter.setPriorityThreshold(Priorities.LOW_PRIORITY);
+        return reporter;
+    }
+
+    private List<String> bugTypes(BugCollectionBugReporter reporter) {
+        List<String> types = Lists.newArrayList();
+        for (BugInstance bug : reporter.getBugCollection()) {
+            types.add(bug.getType());
+        }
+        Collections.sort(types);
+        return types;
+    }
+
+    private static final class CountingDetector implements Detector {
+        private final Detector delegate;
+        private int passes;
+
+        CountingDetector(Detector delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void visitClassContext(ClassContext classContext) {
+            ++passes;
+            delegate.visitClassContext(classContext);
+        }
+
+        @Override
+        public void report() {
+            delegate.report();
+        }
+
+        int takePasses() {
+            int result = passes;
+            passes = 0;
+            return result;
+        }
+    }
+
+    @Test
+    public void testPerformanceBudget() throws Exception {
+        new PerformanceBudget(8192, 250).verify(JpaDetector.class);
+    }
+}
@@ -7,6 +7,8 @@ import static com.youdevise.fbplugins.tdd4fb.DetectorAssert.ofType;
 
 import javax.annotation.meta.When;
 
+import jp.co.worksap.oss.findbugs.corpus.PerformanceBudget;
+
 import org.junit.Before;
 import org.junit.Test;
 
@@ -43,4 +45,9 @@ public class BrokenImmutableClassDetectorTest {
     public void testClassExtendsMutableClass() throws Exception {
         assertBugReported(ExtendsMutableClass.class, detector, bugReporter, ofType("BROKEN_IMMUTABILITY"));
     }
+
+    @Test
+    public void testPerformanceBudget() throws Exception {
+        new PerformanceBudget(4096, 100).verify(BrokenImmutableClassDetector.class);
+    }
 }
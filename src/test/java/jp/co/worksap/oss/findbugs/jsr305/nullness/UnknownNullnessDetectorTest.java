@@ -3,6 +3,7 @@ package jp.co.worksap.oss.findbugs.jsr305.nullness;
 import static com.youdevise.fbplugins.tdd4fb.DetectorAssert.assertBugReported;
 import static com.youdevise.fbplugins.tdd4fb.DetectorAssert.assertNoBugsReported;
 import static com.youdevise.fbplugins.tdd4fb.DetectorAssert.bugReporterForTesting;
+import jp.co.worksap.oss.findbugs.corpus.PerformanceBudget;
 import jp.co.worksap.oss.findbugs.jsr305.nullness.annotatedpackage.AnnotatedPackage;
 
 import org.junit.Before;
@@ -59,4 +60,9 @@ public class UnknownNullnessDetectorTest {
     public void testUnannotatedReturnValue() throws Exception {
         assertBugReported(UnannotatedReturnValue.class, detector, bugReporter);
     }
+
+    @Test
+    public void testPerformanceBudget() throws Exception {
+        new PerformanceBudget(24576, 500).verify(UnknownNullnessDetector.class);
+    }
 }
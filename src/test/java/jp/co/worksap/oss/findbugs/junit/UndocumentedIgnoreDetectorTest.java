@@ -4,6 +4,8 @@ import static com.youdevise.fbplugins.tdd4fb.DetectorAssert.assertBugReported;
 import static com.youdevise.fbplugins.tdd4fb.DetectorAssert.assertNoBugsReported;
 import static com.youdevise.fbplugins.tdd4fb.DetectorAssert.bugReporterForTesting;
 
+import jp.co.worksap.oss.findbugs.corpus.PerformanceBudget;
+
 import org.junit.Before;
 import org.junit.Test;
 
@@ -48,4 +50,9 @@ public class UndocumentedIgnoreDetectorTest {
     public void testIgnoreMethodWithoutExplanation() throws Exception {
         assertBugReported(IgnoreMethodWithoutExplanation.class, detector, bugReporter);
     }
+
+    @Test
+    public void testPerformanceBudget() throws Exception {
+        new PerformanceBudget(2048, 100).verify(UndocumentedIgnoreDetector.class);
+    }
 }
@@ -0,0 +1,91 @@
+package jp.co.worksap.oss.findbugs.metrics;
+
+import static com.youdevise.fbplugins.tdd4fb.DetectorAssert.bugReporterForTesting;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.Files;
+
+import edu.umd.cs.findbugs.BugReporter;
+
+public class MetricsTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void disabledMetricsDoNothing() {
+        BugReporter bugReporter = bugReporterForTesting();
+        assertThat(Metrics.wrap(getClass(), bugReporter), is(sameInstance(bugReporter)));
+        assertThat(Metrics.forDetector(getClass()), is(sameInstance(DetectorMetrics.DISABLED)));
+        assertThat(DetectorMetrics.DISABLED.start(), is(sameInstance(DetectorMetrics.Timer.NOOP)));
+
+        CacheMetrics.DISABLED.hit();
+        assertThat(CacheMetrics.DISABLED.getHitRate(), is(0.0));
+    }
+
+    @Test
+    public void detectorCountsVisitsAndBugs() {
+        Metrics metrics = new Metrics(null);
+        DetectorMetrics detector = metrics.detector("Detector");
+        assertThat(metrics.detector("Detector"), is(sameInstance(detector)));
+
+        for (int i = 0; i < 2; ++i) {
+            DetectorMetrics.Timer timer = detector.start();
+            detector.countBug("FORBIDDEN_SYSTEM");
+            timer.stop();
+        }
+
+        assertThat(detector.getVisitedClasses(), is(2L));
+        assertThat(detector.getBugs("FORBIDDEN_SYSTEM"), is(2L));
+        assertThat(detector.getBugs("LONG_TABLE_NAME"), is(0L));
+    }
+
+    @Test
+    public void toJson() {
+        Metrics metrics = new Metrics(null);
+        CacheMetrics cache = metrics.cache("Cache \"1\"");
+        cache.miss();
+        cache.hit();
+        cache.hit();
+        cache.hit();
+        metrics.detector("Detector");
+
+        String json = metrics.toJson();
+        assertThat(json, containsString("\"detectors\":{\"Detector\":{\"visitedClasses\":0,"));
+        assertThat(json, containsString("\"bugs\":{}"));
+        assertThat(json, containsString("\"caches\":{\"Cache \\\"1\\\"\":{\"hits\":3,\"misses\":1,\"hitRate\":0.75}}"));
+        assertThat(json, not(containsString(",}")));
+    }
+
+    @Test
+    public void eachAnalysisHasOwnMetrics() {
+        MetricsFactory factory = new MetricsFactory();
+        Metrics first = factory.createDatabase();
+        first.detector("Detector").start().stop();
+
+        Metrics second = factory.createDatabase();
+        assertThat(second, is(not(sameInstance(first))));
+        assertThat(second.detector("Detector").getVisitedClasses(), is(0L));
+    }
+
+    @Test
+    public void dumpWritesJson() throws IOException {
+        File output = new File(folder.getRoot(), "metrics.json");
+        Metrics metrics = new Metrics(output);
+        metrics.cache("Cache").hit();
+
+        metrics.dump();
+        assertThat(Files.toString(output, Charsets.UTF_8), is(metrics.toJson()));
+    }
+}
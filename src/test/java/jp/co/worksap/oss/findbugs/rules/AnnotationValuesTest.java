@@ -0,0 +1,58 @@
+package jp.co.worksap.oss.findbugs.rules;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Maps;
+
+public class AnnotationValuesTest {
+    private final String reason = " reason ";
+    private AnnotationValues elements;
+
+    @Before
+    public void setup() {
+        Map<String, Object> map = Maps.newHashMap();
+        map.put("blank", " \t ");
+        map.put("reason", reason);
+        map.put("length", Integer.valueOf(255));
+        map.put("nullable", Boolean.FALSE);
+        elements = new AnnotationValues("Ljavax/persistence/Column;", map);
+    }
+
+    @Test
+    public void testGetInt() {
+        assertThat(elements.getInt("length", 0), is(255));
+        assertThat(elements.getInt("missing", -1), is(-1));
+    }
+
+    @Test
+    public void testGetBoolean() {
+        assertThat(elements.getBoolean("nullable", true), is(false));
+        assertThat(elements.getBoolean("missing", true), is(true));
+    }
+
+    @Test
+    public void testIsBlankString() {
+        assertThat(elements.isBlankString("blank"), is(true));
+        assertThat(elements.isBlankString("reason"), is(false));
+        assertThat(elements.isBlankString("missing"), is(true));
+    }
+
+    @Test
+    public void testGetString() {
+        assertThat(elements.getString("reason"), is(sameInstance(reason)));
+        assertThat(elements.getString("missing"), is((String) null));
+    }
+
+    @Test
+    public void testGetStringLength() {
+        assertThat(elements.getStringLength("reason"), is(8));
+        assertThat(elements.getStringLength("missing"), is(-1));
+    }
+}
@@ -0,0 +1,119 @@
+package jp.co.worksap.oss.findbugs.rules;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+
+import jp.co.worksap.oss.findbugs.rules.jpa.ImplicitLengthRule;
+import jp.co.worksap.oss.findbugs.rules.jpa.JpaRules;
+
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.google.common.io.ByteStreams;
+
+public class ClassModelTest {
+    @Test
+    public void testAnnotationValues() throws Exception {
+        ClassModel model = parse(AnnotatedEntity.class);
+
+        assertThat(model.getName(), is("jp/co/worksap/oss/findbugs/rules/ClassModelTest$AnnotatedEntity"));
+        assertThat(model.getAnnotation("Ljavax/persistence/Entity;").getString("name"), is("entity"));
+
+        AnnotationValues column = model.findField("name").getAnnotation("Ljavax/persistence/Column;");
+        assertThat(column.getInt("length", 0), is(64));
+        assertThat(column.getBoolean("nullable", true), is(false));
+        assertThat(column.contains("columnDefinition"), is(false));
+    }
+
+    @Test
+    public void testAccessedField() throws Exception {
+        ClassModel model = parse(AnnotatedEntity.class);
+
+        MethodModel getter = model.findMethod("getName", "()Ljava/lang/String;");
+        assertThat(getter.getAccessedFieldName(), is("name"));
+        assertThat(getter.getAnnotation("Ljavax/persistence/Column;"), is(nullValue()));
+    }
+
+    /**
+     * <p>Rules run without FindBugs, if host gives hierarchy of class.</p>
+     */
+    @Test
+    public void testRuleWithoutFindBugs() throws Exception {
+        final List<String> types = Lists.newArrayList();
+        new JpaRules(new ImplicitLengthRule())
+                .verify(new RootHierarchy(parse(AnnotatedEntity.class)), new FindingReporter() {
+                    @Override
+                    public void report(Finding finding) {
+                        types.add(finding.getType() + ":" + finding.getField().getName());
+                    }
+
+                    @Override
+                    public void reportMissingClass(String className) {
+                        throw new AssertionError(className);
+                    }
+                });
+
+        assertThat(types, is((List<String>) Lists.newArrayList("IMPLICIT_LENGTH:description")));
+    }
+
+    private ClassModel parse(Class<?> clazz) throws IOException {
+        InputStream input = clazz.getResourceAsStream("/" + clazz.getName().replace('.', '/') + ".class");
+        try {
+            return ClassModel.parse(ByteStreams.toByteArray(input));
+        } finally {
+            input.close();
+        }
+    }
+
+    /**
+     * <p>Hierarchy of class whose super class is not loaded.</p>
+     */
+    private static final class RootHierarchy implements ClassHierarchy {
+        private final ClassModel model;
+
+        RootHierarchy(ClassModel model) {
+            this.model = model;
+        }
+
+        @Override
+        public ClassModel getModel() {
+            return model;
+        }
+
+        @Override
+        public ClassHierarchy getSuperclass() {
+            return null;
+        }
+
+        @Override
+        public boolean isSuperclassMissing() {
+            return false;
+        }
+
+        @Override
+        public boolean isHierarchyFreeFromMutableFields() {
+            return model.getMutableInstanceFields().isEmpty();
+        }
+    }
+
+    @Entity(name = "entity")
+    static class AnnotatedEntity {
+        @Column(length = 64, nullable = false)
+        String name;
+
+        @Column(nullable = false)
+        String description;
+
+        String getName() {
+            return name;
+        }
+    }
+}
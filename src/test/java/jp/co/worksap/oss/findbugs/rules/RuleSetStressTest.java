@@ -0,0 +1,131 @@
+package jp.co.worksap.oss.findbugs.rules;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import com.google.common.base.Joiner;
+import com.google.common.collect.Lists;
+import com.google.common.io.ByteStreams;
+
+/**
+ * <p>Applies rules to fixtures of detector tests from many threads, which share one {@link RuleSet}
+ * and one {@link ClassHierarchies}. Each thread should find the same problems as serial run.</p>
+ */
+public class RuleSetStressTest {
+    private static final String[] FIXTURE_PACKAGES = { "findbugs", "jpa", "jsr305", "junit" };
+    private static final int THREADS = 8;
+    private static final int TASKS = 32;
+
+    private final RuleSet rules = RuleSet.all();
+
+    @Test
+    public void testParallelRunReportsSameFindingsAsSerialRun() throws Exception {
+        final List<String> fixtures = listFixtures();
+        List<String> expected = verify(new ClassHierarchies(new ResourceLoader()), fixtures, 0);
+        assertThat(expected.isEmpty(), is(false));
+
+        final ClassHierarchies hierarchies = new ClassHierarchies(new ResourceLoader());
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<List<String>>> results = Lists.newArrayList();
+            for (int i = 0; i < TASKS; ++i) {
+                final int offset = i;
+                results.add(executor.submit(new Callable<List<String>>() {
+                    @Override
+                    public List<String> call() throws IOException {
+                        return verify(hierarchies, fixtures, offset);
+                    }
+                }));
+            }
+            for (Future<List<String>> result : results) {
+                assertThat(result.get(), is(expected));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * @param offset index of fixture to start, to let threads visit classes in different order
+     * @return sorted findings
+     */
+    private List<String> verify(ClassHierarchies hierarchies, List<String> fixtures, int offset) throws IOException {
+        final List<String> findings = Lists.newArrayList();
+        FindingReporter reporter = new FindingReporter() {
+            @Override
+            public void report(Finding finding) {
+                findings.add(Joiner.on('|').useForNull("").join(finding.getType(), finding.getTargetClass().getName(),
+                        finding.getField() == null ? null : finding.getField().getName(),
+                        finding.getMethod() == null ? null : finding.getMethod().getName(),
+                        Joiner.on(',').join(finding.getStrings())));
+            }
+
+            @Override
+            public void reportMissingClass(String className) {
+                findings.add("MISSING|" + className);
+            }
+        };
+        for (int i = 0; i < fixtures.size(); ++i) {
+            String className = fixtures.get((i + offset) % fixtures.size());
+            try {
+                rules.verify(hierarchies.get(className), reporter);
+            } catch (IllegalStateException e) {
+                findings.add("ERROR|" + className);
+            }
+        }
+        Collections.sort(findings);
+        return findings;
+    }
+
+    private List<String> listFixtures() throws Exception {
+        final Path root = Paths.get(RuleSetStressTest.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        final List<String> fixtures = Lists.newArrayList();
+        for (String fixturePackage : FIXTURE_PACKAGES) {
+            Path directory = root.resolve("jp/co/worksap/oss/findbugs").resolve(fixturePackage);
+            Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                    String path = root.relativize(file).toString().replace('\\', '/');
+                    if (path.endsWith(".class")) {
+                        fixtures.add(path.substring(0, path.length() - ".class".length()));
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        }
+        Collections.sort(fixtures);
+        return fixtures;
+    }
+
+    private static final class ResourceLoader implements ClassFileLoader {
+        @Override
+        public byte[] load(String className) throws IOException {
+            InputStream input = RuleSetStressTest.class.getClassLoader().getResourceAsStream(className + ".class");
+            if (input == null) {
+                return null;
+            }
+            try {
+                return ByteStreams.toByteArray(input);
+            } finally {
+                input.close();
+            }
+        }
+    }
+}
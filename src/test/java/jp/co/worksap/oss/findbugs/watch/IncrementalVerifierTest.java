@@ -0,0 +1,143 @@
+package jp.co.worksap.oss.findbugs.watch;
+
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+
+import jp.co.worksap.oss.findbugs.jpa.LongTableName;
+import jp.co.worksap.oss.findbugs.jsr305.ExtendsMutableClass;
+import jp.co.worksap.oss.findbugs.jsr305.MutableClass;
+import jp.co.worksap.oss.findbugs.rules.ClassFileLoader;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class IncrementalVerifierTest {
+    private static final String MUTABLE = "jp/co/worksap/oss/findbugs/jsr305/MutableClass";
+    private static final String EXTENDS_MUTABLE = "jp/co/worksap/oss/findbugs/jsr305/ExtendsMutableClass";
+    private static final String LONG_TABLE_NAME = "jp/co/worksap/oss/findbugs/jpa/LongTableName";
+    private static final String COLUMN_WITHOUT_FIELD = ColumnWithoutField.class.getName().replace('.', '/');
+    private static final String BROKEN_IMMUTABILITY_OF_SUBCLASS = "BROKEN_IMMUTABILITY\tHIGH\t" + MutableClass.class.getName()
+            + "\tvalue," + MutableClass.class.getName() + "," + ExtendsMutableClass.class.getName();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    private Path directory;
+    private IncrementalVerifier verifier;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = folder.getRoot().toPath();
+        copy(MUTABLE);
+        copy(EXTENDS_MUTABLE);
+        copy(LONG_TABLE_NAME);
+        // libraries have only JDK, so deleted fixture is not loaded from classpath of test
+        verifier = new IncrementalVerifier(directory, new URLClassLoader(new URL[0], null));
+        verifier.verifyAll();
+    }
+
+    @Test
+    public void testVerifyAll() {
+        assertThat(verifier.getFindings(), hasItem(startsWith("LONG_TABLE_NAME\tHIGH\t" + LongTableName.class.getName())));
+        assertThat(verifier.getFindings(), hasItem(BROKEN_IMMUTABILITY_OF_SUBCLASS));
+    }
+
+    @Test
+    public void testDeletedSuperclassUpdatesSubclass() throws Exception {
+        Files.delete(classFile(MUTABLE));
+        assertThat(verifier.update(Collections.singleton(MUTABLE)), is(1));
+
+        assertThat(verifier.getFindings(), not(hasItem(BROKEN_IMMUTABILITY_OF_SUBCLASS)));
+        assertThat(verifier.getFindings(), hasItem("MISSING_CLASS\t" + MutableClass.class.getName()));
+        assertThat(verifier.getFindings(), hasItem(startsWith("LONG_TABLE_NAME")));
+
+        copy(MUTABLE);
+        assertThat(verifier.update(Collections.singleton(MUTABLE)), is(2));
+        assertThat(verifier.getFindings(), hasItem(BROKEN_IMMUTABILITY_OF_SUBCLASS));
+        assertThat(verifier.getFindings(), not(hasItem(startsWith("MISSING_CLASS"))));
+    }
+
+    @Test
+    public void testBrokenClassFile() throws Exception {
+        Files.write(classFile(LONG_TABLE_NAME), new byte[] { (byte) 0xCA, (byte) 0xFE });
+        assertThat(verifier.update(Collections.singleton(LONG_TABLE_NAME)), is(0));
+        assertThat(verifier.getFindings(), hasItem(startsWith("ERROR\t" + LongTableName.class.getName())));
+
+        Files.delete(classFile(LONG_TABLE_NAME));
+        verifier.verifyAll();
+        assertThat(verifier.getFindings(), not(hasItem(startsWith("ERROR"))));
+        assertThat(verifier.getFindings(), not(hasItem(startsWith("LONG_TABLE_NAME"))));
+    }
+
+    @Test
+    public void testFailingRuleIsReportedAsError() throws Exception {
+        copy(COLUMN_WITHOUT_FIELD);
+        assertThat(verifier.update(Collections.singleton(COLUMN_WITHOUT_FIELD)), is(1));
+
+        assertThat(verifier.getFindings(), hasItem(startsWith("ERROR\t" + ColumnWithoutField.class.getName()
+                + "\tjava.lang.IllegalStateException")));
+        assertThat(verifier.getFindings(), hasItem(BROKEN_IMMUTABILITY_OF_SUBCLASS));
+    }
+
+    @Test
+    public void testUnreadableClassFileIsReportedAsError() throws Exception {
+        final ClassFileLoader loader = new DirectoryClassFileLoader(directory, new URLClassLoader(new URL[0], null));
+        IncrementalVerifier verifier = new IncrementalVerifier(directory, new ClassFileLoader() {
+            @Override
+            public byte[] load(String className) throws IOException {
+                if (LONG_TABLE_NAME.equals(className)) {
+                    throw new AccessDeniedException(className);
+                }
+                return loader.load(className);
+            }
+        });
+        verifier.verifyAll();
+
+        assertThat(verifier.getFindings(), hasItem(startsWith("ERROR\t" + LongTableName.class.getName()
+                + "\tjava.nio.file.AccessDeniedException")));
+        assertThat(verifier.getFindings(), hasItem(BROKEN_IMMUTABILITY_OF_SUBCLASS));
+    }
+
+    @Test
+    public void testToClassName() {
+        assertThat(verifier.toClassName(classFile(MUTABLE)), is(MUTABLE));
+        assertThat(verifier.toClassName(directory.resolve("META-INF/MANIFEST.MF")), is((String) null));
+    }
+
+    /**
+     * <p>Rule of column name expects that getter reads field, so it fails on this class.</p>
+     */
+    @Entity
+    public static class ColumnWithoutField {
+        @Column
+        public String getName() {
+            return "name";
+        }
+    }
+
+    private Path classFile(String className) {
+        return directory.resolve(className + ".class");
+    }
+
+    private void copy(String className) throws Exception {
+        Path source = Paths.get(getClass().getClassLoader().getResource(className + ".class").toURI());
+        Files.createDirectories(classFile(className).getParent());
+        Files.copy(source, classFile(className));
+    }
+}
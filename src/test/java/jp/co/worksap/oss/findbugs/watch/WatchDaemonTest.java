@@ -0,0 +1,32 @@
+package jp.co.worksap.oss.findbugs.watch;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import org.junit.Test;
+
+public class WatchDaemonTest {
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    @Test
+    public void testInvalidArguments() throws Exception {
+        assertThat(run("target/classes"), is(2));
+        assertThat(err.toString("UTF-8"), containsString("usage: WatchDaemon"));
+
+        err.reset();
+        assertThat(run("target/classes", "target/findings.txt", "port"), is(2));
+        assertThat(err.toString("UTF-8"), containsString("usage: WatchDaemon"));
+
+        err.reset();
+        assertThat(run("target/classes", "target/findings.txt", "65536"), is(2));
+        assertThat(err.toString("UTF-8"), containsString("usage: WatchDaemon"));
+    }
+
+    private int run(String... args) throws Exception {
+        return WatchDaemon.run(args, new PrintStream(err, true, "UTF-8"));
+    }
+}